@@ -0,0 +1,92 @@
+#!/usr/bin/env bash
+# Compares start-up time and resident memory (RSS) of the application with the default settings and with
+# the prod profile (src/main/resources/application-prod.yaml), on the JVM and, with NATIVE=true, as a native
+# image (./gradlew nativeCompile, needs GraalVM for JDK 21)
+#
+# Needs the usual DB_HOST, DB_PORT, DB_NAME, DB_USERNAME and DB_PASSWORD for a PostgreSQL database
+#
+#   [NATIVE=true] ./scripts/compare-startup.sh [runs per profile] [requests after start-up]
+#
+# For each run it records:
+# - started: the "Started Application in ..." time Spring Boot logs
+# - ready:   wall-clock ms from launching the process until GET /tasks?limit=1 answers
+# - rss:     resident set size once ready, and again after the requests (GET /tasks?limit=100)
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+RUNS=${1:-5}
+REQUESTS=${2:-500}
+PORT=${PORT:-4555}
+NATIVE=${NATIVE:-false}
+JAR=build/libs/test-backend.jar
+BINARY=build/native/nativeCompile/test-backend
+LOG=build/compare-startup.log
+
+# The requests after start-up all come from one address, so turn off rate limiting, as TaskLoadBenchmark does,
+# or they get 429 once the read burst is used up. The native image has the filter built in whatever
+# RATE_LIMIT_ENABLED says, so also give it a read burst that covers every request
+APP_ARGS=(--tasks.rate-limit.enabled=false "--tasks.rate-limit.read.burst=$((REQUESTS + 10))")
+
+./gradlew -q bootJar
+if [ "$NATIVE" = true ]; then
+  ./gradlew -q nativeCompile
+fi
+
+rss_kb() {
+  ps -o rss= -p "$1" | tr -d ' '
+}
+
+now_ms() {
+  date +%s%3N
+}
+
+run() {
+  local build=$1
+  local profile=$2
+  local start pid ready started rss_ready rss_loaded
+
+  start=$(now_ms)
+  if [ "$build" = native ]; then
+    "$BINARY" --server.port="$PORT" --spring.profiles.active="$profile" "${APP_ARGS[@]}" > "$LOG" 2>&1 &
+  else
+    java -jar "$JAR" --server.port="$PORT" --spring.profiles.active="$profile" "${APP_ARGS[@]}" > "$LOG" 2>&1 &
+  fi
+  pid=$!
+
+  until curl -sf "http://localhost:$PORT/tasks?limit=1" > /dev/null; do
+    if ! kill -0 "$pid" 2> /dev/null; then
+      echo "Application exited during start-up, see $LOG" >&2
+      exit 1
+    fi
+    sleep 0.05
+  done
+  ready=$(( $(now_ms) - start ))
+  started=$(grep -o 'Started Application in [0-9.]* seconds' "$LOG" | grep -o '[0-9.]*' | head -1)
+  rss_ready=$(rss_kb "$pid")
+
+  for _ in $(seq "$REQUESTS"); do
+    curl -sf "http://localhost:$PORT/tasks?limit=100" > /dev/null
+  done
+  rss_loaded=$(rss_kb "$pid")
+
+  kill "$pid"
+  wait "$pid" 2> /dev/null || true
+
+  printf '%-7s %-8s %10ss %10sms %12sMiB %12sMiB\n' "$build" "${profile:-default}" "$started" "$ready" \
+    $(( rss_ready / 1024 )) $(( rss_loaded / 1024 ))
+}
+
+builds=(jvm)
+if [ "$NATIVE" = true ]; then
+  builds+=(native)
+fi
+
+printf '%-7s %-8s %11s %12s %15s %15s\n' build profile started ready rss-ready rss-loaded
+for build in "${builds[@]}"; do
+  for profile in "" prod; do
+    for _ in $(seq "$RUNS"); do
+      run "$build" "$profile"
+    done
+  done
+done
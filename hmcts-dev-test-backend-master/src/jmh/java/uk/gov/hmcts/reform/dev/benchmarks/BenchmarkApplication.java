@@ -0,0 +1,88 @@
+package uk.gov.hmcts.reform.dev.benchmarks;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import uk.gov.hmcts.reform.dev.Application;
+import uk.gov.hmcts.reform.dev.models.Task;
+import uk.gov.hmcts.reform.dev.repositories.TaskRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+// Boots the application for benchmarks against a file-backed H2 database in PostgreSQL mode
+// File-backed so that seeded rows live on disk rather than in the benchmark JVM's heap
+// The schema comes from the same Flyway migrations as production (db/migration/h2 in src/jmh/resources for H2)
+// Set BENCHMARK_DB_URL (plus BENCHMARK_DB_USERNAME and BENCHMARK_DB_PASSWORD) to run against PostgreSQL instead
+public final class BenchmarkApplication {
+
+    private static final int SEED_BATCH_SIZE = 5_000;
+
+    private BenchmarkApplication() {
+    }
+
+    // Start the application without a web server, extra arguments override the defaults below
+    public static ConfigurableApplicationContext start(String database, String... extraArgs) {
+        return start(WebApplicationType.NONE, database, extraArgs);
+    }
+
+    public static ConfigurableApplicationContext start(WebApplicationType webType, String database, String... extraArgs) {
+        List<String> args = new ArrayList<>(isPostgres() ? List.of(
+            "--spring.datasource.url=" + System.getenv("BENCHMARK_DB_URL"),
+            "--spring.datasource.username=" + System.getenv("BENCHMARK_DB_USERNAME"),
+            "--spring.datasource.password=" + System.getenv().getOrDefault("BENCHMARK_DB_PASSWORD", "")
+        ) : List.of(
+            "--spring.datasource.url=jdbc:h2:file:./build/jmh-db/" + database
+                + ";MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH",
+            "--spring.datasource.driver-class-name=org.h2.Driver",
+            "--spring.datasource.username=sa",
+            "--spring.datasource.password=",
+            "--spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+            // H2 has no UPDATE ... RETURNING
+            "--tasks.writes.use-returning=false",
+            // or full-text search
+            "--tasks.search.mode=memory",
+            // or FOR UPDATE SKIP LOCKED
+            "--tasks.overdue.enabled=false",
+            // or pg_current_snapshot
+            "--tasks.changes.enabled=false"
+        ));
+        args.add("--logging.level.root=WARN");
+        args.addAll(List.of(extraArgs));
+
+        SpringApplication application = new SpringApplication(Application.class);
+        application.setWebApplicationType(webType);
+        return application.run(args.toArray(String[]::new));
+    }
+
+    // True when BENCHMARK_DB_URL points the benchmarks at a real PostgreSQL database
+    public static boolean isPostgres() {
+        return System.getenv("BENCHMARK_DB_URL") != null;
+    }
+
+    // Top the task table up to at least the given number of rows
+    public static void seed(ConfigurableApplicationContext context, long rows) {
+        TaskRepository taskRepository = context.getBean(TaskRepository.class);
+        long existing = taskRepository.count();
+        LocalDateTime start = LocalDateTime.of(2025, 1, 1, 9, 0);
+        Task.Status[] statuses = Task.Status.values();
+
+        while (existing < rows) {
+            long from = existing;
+            int batch = (int) Math.min(SEED_BATCH_SIZE, rows - existing);
+            List<Task> tasks = Stream.iterate(from, i -> i + 1)
+                .limit(batch)
+                .map(i -> Task.builder()
+                    .title("Benchmark task " + i)
+                    .description("Seeded task number " + i + " used to benchmark the task API")
+                    .status(statuses[(int) (i % statuses.length)])
+                    .dueDateTime(start.plusMinutes(i))
+                    .build())
+                .toList();
+            taskRepository.saveAll(tasks);
+            existing += batch;
+        }
+    }
+}
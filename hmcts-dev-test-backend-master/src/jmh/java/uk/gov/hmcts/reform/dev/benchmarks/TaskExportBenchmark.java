@@ -0,0 +1,117 @@
+package uk.gov.hmcts.reform.dev.benchmarks;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import uk.gov.hmcts.reform.dev.controllers.TaskController;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Full-table NDJSON export through TaskController, written to a byte-counting sink
+// The fork's heap is capped well below what 1M materialised tasks would need, so the 1M run only
+// completes if memory stays flat - peak heap is reported alongside rows/s for each table size
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx192m", "-XX:+UseG1GC"})
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+public class TaskExportBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    private long rows;
+
+    private ConfigurableApplicationContext context;
+
+    private TaskController taskController;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start("export-" + rows);
+        BenchmarkApplication.seed(context, rows);
+        taskController = context.getBean(TaskController.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void exportAllTasks(ExportStats stats) throws IOException {
+        CountingOutputStream out = new CountingOutputStream();
+        taskController.exportTasks(null).getBody().writeTo(out);
+        stats.record(out);
+    }
+
+    // Extra per-iteration figures printed next to the timing
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class ExportStats {
+        public long exportedRows;
+        public long exportedBytes;
+        public long peakHeapMb;
+
+        @Setup(Level.Iteration)
+        public void resetPeaks() {
+            System.gc();
+            heapPools().forEach(MemoryPoolMXBean::resetPeakUsage);
+        }
+
+        void record(CountingOutputStream out) {
+            exportedRows += out.lines;
+            exportedBytes += out.bytes;
+            peakHeapMb = Math.max(peakHeapMb, heapPools().stream()
+                .mapToLong(pool -> pool.getPeakUsage().getUsed())
+                .sum() / (1024 * 1024));
+        }
+
+        private static List<MemoryPoolMXBean> heapPools() {
+            return ManagementFactory.getMemoryPoolMXBeans().stream()
+                .filter(pool -> pool.getType() == MemoryType.HEAP)
+                .toList();
+        }
+    }
+
+    // Discards the export but keeps count of what would have gone over the wire
+    static final class CountingOutputStream extends OutputStream {
+        long bytes;
+        long lines;
+
+        @Override
+        public void write(int b) {
+            bytes++;
+            if (b == '\n') {
+                lines++;
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            bytes += len;
+            for (int i = off; i < off + len; i++) {
+                if (b[i] == '\n') {
+                    lines++;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package uk.gov.hmcts.reform.dev.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import uk.gov.hmcts.reform.dev.config.TaskJsonWriters;
+import uk.gov.hmcts.reform.dev.controllers.TaskController;
+import uk.gov.hmcts.reform.dev.dto.request.CreateTaskRequestDto;
+import uk.gov.hmcts.reform.dev.models.Task;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+// Per-request CPU cost outside the database: reading and writing the JSON bodies of the task API,
+// and mapping a create request onto a Task
+// The ObjectMapper is built the way Spring Boot builds the application's one, without starting the application
+// The *Blackbird benchmarks use the application's current setup - the Blackbird module and the pre-built
+// writer from TaskJsonWriters - against the plain mapper writing the same value
+// The listing benchmarks write 10k tasks in one response, well past the page size limit but the scale where
+// serialisation cost shows. They go through Spring MVC's Jackson converter, as GET /tasks does, with the
+// controller's declared body type - gzipListing reports the bytes on the wire with and without compression
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class TaskJsonBenchmark {
+
+    private static final int LISTING_SIZE = 10_000;
+
+    // The body type TaskController.getAllTasks declares, which the converter resolves the writer from
+    private static final Type LISTING_TYPE = new ParameterizedTypeReference<List<?>>() {
+    }.getType();
+
+    private ObjectMapper objectMapper;
+
+    private TaskJsonWriters blackbirdWriters;
+
+    private MappingJackson2HttpMessageConverter converter;
+
+    private MappingJackson2HttpMessageConverter blackbirdConverter;
+
+    private List<Task> listing;
+
+    private Task task;
+
+    private byte[] taskJson;
+
+    private CreateTaskRequestDto createRequest;
+
+    private byte[] createRequestJson;
+
+    @Setup(Level.Trial)
+    public void setUp() throws JsonProcessingException {
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+        ObjectMapper blackbirdMapper = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .modulesToInstall(new BlackbirdModule())
+            .build();
+        blackbirdWriters = new TaskJsonWriters(blackbirdMapper);
+        converter = new MappingJackson2HttpMessageConverter(objectMapper);
+        blackbirdConverter = new MappingJackson2HttpMessageConverter(blackbirdMapper);
+
+        task = new Task(UUID.randomUUID(), "Prepare hearing bundle",
+                        "Collate the witness statements and exhibits for the hearing on Monday",
+                        Task.Status.IN_PROGRESS, LocalDateTime.of(2025, 6, 2, 10, 30), 3L);
+        taskJson = objectMapper.writeValueAsBytes(task);
+
+        createRequest = new CreateTaskRequestDto(task.getTitle(), task.getDescription(), task.getStatus(),
+                                                 task.getDueDateTime());
+        createRequestJson = objectMapper.writeValueAsBytes(createRequest);
+
+        // Distinct IDs, titles and due dates, so the compressed size isn't flattered by repetition
+        listing = new ArrayList<>(LISTING_SIZE);
+        LocalDateTime due = LocalDateTime.of(2025, 1, 1, 9, 0);
+        Task.Status[] statuses = Task.Status.values();
+        for (int i = 0; i < LISTING_SIZE; i++) {
+            listing.add(new Task(UUID.randomUUID(), "Task " + i, "Description of task " + i,
+                                 statuses[i % statuses.length], due.plusMinutes(i * 7L), (long) i % 5));
+        }
+    }
+
+    // GET /tasks/{id} response body
+    @Benchmark
+    public byte[] serializeTask() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(task);
+    }
+
+    @Benchmark
+    public byte[] serializeTaskBlackbird() throws JsonProcessingException {
+        return blackbirdWriters.task().writeValueAsBytes(task);
+    }
+
+    // GET /tasks response body, 10k tasks
+    @Benchmark
+    public byte[] serializeListing() throws IOException {
+        return writeListing(converter);
+    }
+
+    @Benchmark
+    public byte[] serializeListingBlackbird() throws IOException {
+        return writeListing(blackbirdConverter);
+    }
+
+    // The listing as Tomcat sends it with server.compression on - serialising and gzipping
+    @Benchmark
+    public byte[] gzipListing(WireStats stats) throws IOException {
+        byte[] json = writeListing(blackbirdConverter);
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(json.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(json);
+        }
+        byte[] body = compressed.toByteArray();
+        stats.record(json, body);
+        return body;
+    }
+
+    @Benchmark
+    public Task deserializeTask() throws IOException {
+        return objectMapper.readValue(taskJson, Task.class);
+    }
+
+    // POST /tasks request body
+    @Benchmark
+    public CreateTaskRequestDto deserializeCreateRequest() throws IOException {
+        return objectMapper.readValue(createRequestJson, CreateTaskRequestDto.class);
+    }
+
+    @Benchmark
+    public Task mapToTask() {
+        return TaskController.mapToTask(createRequest);
+    }
+
+    // Request body to unsaved Task - everything POST /tasks does before reaching the database
+    @Benchmark
+    public Task createRequestToTask() throws IOException {
+        return TaskController.mapToTask(objectMapper.readValue(createRequestJson, CreateTaskRequestDto.class));
+    }
+
+    // Write the listing the way Spring MVC writes a controller's return value
+    private byte[] writeListing(MappingJackson2HttpMessageConverter jsonConverter) throws IOException {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        HttpHeaders headers = new HttpHeaders();
+        jsonConverter.write(listing, LISTING_TYPE, MediaType.APPLICATION_JSON, new HttpOutputMessage() {
+            @Override
+            public OutputStream getBody() {
+                return body;
+            }
+
+            @Override
+            public HttpHeaders getHeaders() {
+                return headers;
+            }
+        });
+        return body.toByteArray();
+    }
+
+    // Response sizes printed next to the timing - the size of one response, not a total, so they are
+    // assigned rather than added up
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class WireStats {
+        public long uncompressedBytes;
+        public long gzipBytes;
+
+        void record(byte[] json, byte[] body) {
+            uncompressedBytes = json.length;
+            gzipBytes = body.length;
+        }
+    }
+}
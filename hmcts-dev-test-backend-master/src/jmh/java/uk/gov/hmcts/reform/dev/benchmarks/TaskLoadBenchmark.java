@@ -0,0 +1,123 @@
+package uk.gov.hmcts.reform.dev.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import uk.gov.hmcts.reform.dev.models.Task;
+import uk.gov.hmcts.reform.dev.repositories.TaskRepository;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Throughput and latency percentiles of the HTTP API with requests served on Tomcat's platform thread pool
+// or on virtual threads (spring.threads.virtual.enabled), with far more concurrent clients than connections
+// - 256 client threads against a 10 connection pool and a bulkhead of 10
+// - readPage is a date-filtered GET /tasks, so it skips the board cache and always queries
+// - updateStatus is PATCH /tasks/{id}
+// Client and server share the fork, so compare the two modes against each other rather than reading the
+// absolute numbers. The SampleTime p0.99 line is the tail latency to compare
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(256)
+@Fork(value = 1, jvmArgsAppend = "-Xmx1g")
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 5, time = 10)
+public class TaskLoadBenchmark {
+
+    private static final int ROWS = 10_000;
+
+    private static final int POOL_SIZE = 10;
+
+    private static final LocalDateTime FIRST_DUE = LocalDateTime.of(2025, 1, 1, 9, 0);
+
+    private static final String[] STATUSES = {"PENDING", "IN_PROGRESS", "COMPLETED"};
+
+    @Param({"false", "true"})
+    private boolean virtualThreads;
+
+    private ConfigurableApplicationContext context;
+
+    private HttpClient client;
+
+    private String baseUrl;
+
+    private List<UUID> ids;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start(
+            WebApplicationType.SERVLET, "load",
+            "--server.port=0",
+            "--spring.threads.virtual.enabled=" + virtualThreads,
+            "--spring.datasource.hikari.maximum-pool-size=" + POOL_SIZE,
+            "--spring.datasource.hikari.minimum-idle=" + POOL_SIZE,
+            "--tasks.db.bulkhead.max-concurrent=" + POOL_SIZE,
+            // Measure queueing, not rejections - every client thread shares one address
+            "--tasks.db.bulkhead.acquire-timeout=60s",
+            "--tasks.rate-limit.enabled=false");
+        BenchmarkApplication.seed(context, ROWS);
+        ids = context.getBean(TaskRepository.class).findAll(PageRequest.of(0, ROWS)).map(Task::getId).toList();
+
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        baseUrl = "http://localhost:" + port + "/tasks";
+        client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        client.close();
+        context.close();
+    }
+
+    @Benchmark
+    public int readPage() throws IOException, InterruptedException {
+        LocalDateTime dueFrom = FIRST_DUE.plusMinutes(ThreadLocalRandom.current().nextInt(ROWS));
+        return send(HttpRequest.newBuilder(URI.create(baseUrl + "?limit=20&dueFrom=" + dueFrom)).GET().build());
+    }
+
+    @Benchmark
+    public int updateStatus() throws IOException, InterruptedException {
+        UUID id = ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+        String status = STATUSES[ThreadLocalRandom.current().nextInt(STATUSES.length)];
+        return send(HttpRequest.newBuilder(URI.create(baseUrl + "/" + id))
+                        .header("Content-Type", "application/json")
+                        .method("PATCH", HttpRequest.BodyPublishers.ofString("{\"status\":\"" + status + "\"}"))
+                        .build());
+    }
+
+    private int send(HttpRequest request) throws IOException, InterruptedException {
+        HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException(request.method() + " " + request.uri() + " returned " + response.statusCode());
+        }
+        return response.body().length;
+    }
+}
@@ -0,0 +1,72 @@
+package uk.gov.hmcts.reform.dev.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.ProblemDetail;
+import uk.gov.hmcts.reform.dev.controllers.TaskExceptionHandler;
+import uk.gov.hmcts.reform.dev.exceptions.TaskNotFoundException;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+// Cost of signalling a missing task - every 404 from GET, PATCH and DELETE /tasks/{id} builds one
+// Run with -PjmhProfilers=gc and compare gc.alloc.rate.norm (bytes per 404):
+// - legacy*: the previous exception, which captured a stack trace, built its message up front and
+//   recovered the ID by splitting the message
+// - current*: the stackless exception holding the UUID
+// - *NotFoundResponse: the exception plus the problem detail the 404 handler renders from it
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class TaskNotFoundExceptionBenchmark {
+
+    private final UUID id = UUID.randomUUID();
+
+    private final TaskExceptionHandler handler = new TaskExceptionHandler();
+
+    @Benchmark
+    public Object legacyConstruct() {
+        return new LegacyTaskNotFoundException(id);
+    }
+
+    @Benchmark
+    public UUID legacyConstructAndGetTaskId() {
+        return new LegacyTaskNotFoundException(id).getTaskId();
+    }
+
+    @Benchmark
+    public TaskNotFoundException currentConstruct() {
+        return new TaskNotFoundException(id);
+    }
+
+    @Benchmark
+    public UUID currentConstructAndGetTaskId() {
+        return new TaskNotFoundException(id).getTaskId();
+    }
+
+    @Benchmark
+    public ProblemDetail currentNotFoundResponse() {
+        return handler.handleTaskNotFoundException(new TaskNotFoundException(id));
+    }
+
+    // TaskNotFoundException as it was before it was made stackless, kept here as the baseline
+    static class LegacyTaskNotFoundException extends RuntimeException {
+        LegacyTaskNotFoundException(UUID id) {
+            super("Task not found with ID: " + id);
+        }
+
+        UUID getTaskId() {
+            return UUID.fromString(getMessage().split(": ")[1]);
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package uk.gov.hmcts.reform.dev.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+// Latency of well-behaved clients while one abusive client hammers GET /tasks, with the rate limiter off and on
+// - abuser: 64 threads sharing one API key, sending date-filtered GET /tasks (a database query each) back to back
+// - client: 8 threads, each its own API key, sending the same request about 20 times a second - well within
+//   their limit. The pause between requests is in an invocation-level setup, so it isn't timed
+// Compare the client's SampleTime p0.99 between the two runs: without the limiter it queues behind the abuser for
+// the database, with it the abuser is mostly answered 429 and the client's latency stays close to an idle server's
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx1g")
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 5, time = 10)
+public class TaskRateLimitBenchmark {
+
+    private static final int ROWS = 10_000;
+
+    private static final int POOL_SIZE = 10;
+
+    private static final LocalDateTime FIRST_DUE = LocalDateTime.of(2025, 1, 1, 9, 0);
+
+    private static final long CLIENT_PAUSE_MILLIS = 50;
+
+    @Param({"false", "true"})
+    private boolean rateLimit;
+
+    private ConfigurableApplicationContext context;
+
+    private HttpClient client;
+
+    private String baseUrl;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start(
+            WebApplicationType.SERVLET, "ratelimit",
+            "--server.port=0",
+            "--spring.threads.virtual.enabled=true",
+            "--spring.datasource.hikari.maximum-pool-size=" + POOL_SIZE,
+            "--spring.datasource.hikari.minimum-idle=" + POOL_SIZE,
+            "--tasks.db.bulkhead.max-concurrent=" + POOL_SIZE,
+            "--tasks.db.bulkhead.acquire-timeout=60s",
+            "--tasks.rate-limit.enabled=" + rateLimit,
+            // Every key the benchmark sends is a known one - they all come from the same address
+            "--tasks.rate-limit.api-keys=abuser," + IntStream.rangeClosed(1, 32)
+                .mapToObj(i -> "client-" + i).collect(Collectors.joining(",")),
+            "--tasks.rate-limit.read.burst=50",
+            "--tasks.rate-limit.read.per-second=50",
+            "--tasks.rate-limit.read.max-concurrent=" + POOL_SIZE * 4);
+        BenchmarkApplication.seed(context, ROWS);
+
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        baseUrl = "http://localhost:" + port + "/tasks";
+        client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        client.close();
+        context.close();
+    }
+
+    @Benchmark
+    @Group("abuse")
+    @GroupThreads(64)
+    public int abuser() throws IOException, InterruptedException {
+        return send("abuser");
+    }
+
+    @Benchmark
+    @Group("abuse")
+    @GroupThreads(8)
+    public int client(WellBehavedClient wellBehaved) throws IOException, InterruptedException {
+        int status = send(wellBehaved.apiKey);
+        if (status != 200) {
+            throw new IllegalStateException("Well-behaved client was answered " + status);
+        }
+        return status;
+    }
+
+    // Answered 429 and 503 count as responses too - the abuser is expected to get plenty
+    private int send(String apiKey) throws IOException, InterruptedException {
+        LocalDateTime dueFrom = FIRST_DUE.plusMinutes(ThreadLocalRandom.current().nextInt(ROWS));
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "?limit=20&dueFrom=" + dueFrom))
+            .header("X-API-Key", apiKey)
+            .GET()
+            .build();
+        return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    @State(Scope.Thread)
+    public static class WellBehavedClient {
+        private static final AtomicInteger CLIENTS = new AtomicInteger();
+
+        private final String apiKey = "client-" + CLIENTS.incrementAndGet();
+
+        @Setup(Level.Invocation)
+        public void pause() throws InterruptedException {
+            Thread.sleep(CLIENT_PAUSE_MILLIS);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package uk.gov.hmcts.reform.dev.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import uk.gov.hmcts.reform.dev.config.SearchProperties;
+import uk.gov.hmcts.reform.dev.dto.response.TaskSearchPage;
+import uk.gov.hmcts.reform.dev.models.Task;
+import uk.gov.hmcts.reform.dev.repositories.TaskSearchRepositoryImpl;
+import uk.gov.hmcts.reform.dev.services.TaskService;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// TaskService.searchTasks at 100k and 1M tasks - the in-memory index on H2, PostgreSQL full-text search with
+// BENCHMARK_DB_URL. Every seeded task is "Benchmark task <n>" / "Seeded task number <n> used to ..."
+// - searchOneTask matches a single task by its number, alongside a word every task has
+// - searchEveryTask matches every task, the worst case for ranking
+// - searchEveryTaskByStatus is the same within one status column
+// On PostgreSQL the plan and timing of searchEveryTask's statement are printed once seeded, to check that the
+// candidates come from walking the due date index backwards (Index Scan Backward, then Limit) rather than from
+// a bitmap scan of every match followed by a sort
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class TaskSearchBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+
+    // Every seeded task has both words
+    private static final String BROAD_QUERY = "benchmark task";
+
+    @Param({"100000", "1000000"})
+    private int rows;
+
+    private ConfigurableApplicationContext context;
+
+    private TaskService taskService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start("search-" + rows);
+        BenchmarkApplication.seed(context, rows);
+        // The in-memory index loads at startup, before the seed - restart so it sees every row
+        context.close();
+        context = BenchmarkApplication.start("search-" + rows);
+        taskService = context.getBean(TaskService.class);
+        if (BenchmarkApplication.isPostgres()) {
+            printPlan();
+        }
+    }
+
+    // EXPLAIN ANALYZE the broad search, with the same parameters searchEveryTask passes
+    private void printPlan() {
+        int maxCandidates = context.getBean(SearchProperties.class).maxCandidates();
+        List<String> plan = context.getBean(JdbcTemplate.class).queryForList(
+            "explain (analyze, buffers) " + TaskSearchRepositoryImpl.sql(false, false), String.class,
+            BROAD_QUERY, maxCandidates, BROAD_QUERY, PAGE_SIZE);
+        System.out.println("Plan for \"" + BROAD_QUERY + "\" at " + rows + " tasks:");
+        plan.forEach(System.out::println);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public TaskSearchPage searchOneTask() {
+        int number = ThreadLocalRandom.current().nextInt(rows);
+        return taskService.searchTasks("seeded " + number, null, null, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public TaskSearchPage searchEveryTask() {
+        return taskService.searchTasks(BROAD_QUERY, null, null, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public TaskSearchPage searchEveryTaskByStatus() {
+        return taskService.searchTasks(BROAD_QUERY, Task.Status.IN_PROGRESS, null, PAGE_SIZE);
+    }
+}
@@ -0,0 +1,119 @@
+package uk.gov.hmcts.reform.dev.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import uk.gov.hmcts.reform.dev.dto.request.TaskField;
+import uk.gov.hmcts.reform.dev.dto.request.TaskQuery;
+import uk.gov.hmcts.reform.dev.dto.response.TaskFieldsPage;
+import uk.gov.hmcts.reform.dev.dto.response.TaskPage;
+import uk.gov.hmcts.reform.dev.models.Task;
+import uk.gov.hmcts.reform.dev.repositories.TaskRepository;
+import uk.gov.hmcts.reform.dev.services.TaskService;
+
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// TaskService operations end to end, through the Spring proxies, cache and JPA, against H2 in PostgreSQL mode
+// (or PostgreSQL with BENCHMARK_DB_URL)
+// - getTaskById mostly hits the task cache once warmed, as it would for a busy board
+// - getFirstPage is a board column load, served from the board cache between writes
+// - getFilteredPage uses a due date range, so it always queries
+// - getFilteredPageFields is the same page with only the board card fields (?fields=), read as tuples
+//   rather than entities - compare the two with -PjmhProfilers=gc
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class TaskServiceBenchmark {
+
+    private static final int ROWS = 10_000;
+
+    private static final LocalDateTime FIRST_DUE = LocalDateTime.of(2025, 1, 1, 9, 0);
+
+    private static final Set<TaskField> CARD_FIELDS =
+        EnumSet.of(TaskField.ID, TaskField.TITLE, TaskField.STATUS, TaskField.DUE_DATE_TIME);
+
+    private ConfigurableApplicationContext context;
+
+    private TaskService taskService;
+
+    private List<UUID> ids;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start("service");
+        BenchmarkApplication.seed(context, ROWS);
+        taskService = context.getBean(TaskService.class);
+        ids = context.getBean(TaskRepository.class).findAll(PageRequest.of(0, ROWS)).map(Task::getId).toList();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Task getTaskById() {
+        return taskService.getTaskById(randomId().toString());
+    }
+
+    @Benchmark
+    public TaskPage getFirstPage() {
+        return taskService.getTasks(TaskQuery.builder().status(randomStatus()).limit(100).build());
+    }
+
+    @Benchmark
+    public TaskPage getFilteredPage() {
+        LocalDateTime dueFrom = FIRST_DUE.plusMinutes(ThreadLocalRandom.current().nextInt(ROWS));
+        return taskService.getTasks(TaskQuery.builder().dueFrom(dueFrom).limit(100).build());
+    }
+
+    @Benchmark
+    public TaskFieldsPage getFilteredPageFields() {
+        LocalDateTime dueFrom = FIRST_DUE.plusMinutes(ThreadLocalRandom.current().nextInt(ROWS));
+        return taskService.getTaskFields(TaskQuery.builder().dueFrom(dueFrom).limit(100).build(), CARD_FIELDS);
+    }
+
+    @Benchmark
+    public Task createTask() {
+        return taskService.createTask(Task.builder()
+            .title("Benchmark task")
+            .description("Created by TaskServiceBenchmark")
+            .status(Task.Status.PENDING)
+            .dueDateTime(FIRST_DUE.plusMinutes(ThreadLocalRandom.current().nextInt(ROWS)))
+            .build());
+    }
+
+    @Benchmark
+    public Task updateTaskStatus() {
+        return taskService.updateTaskStatus(randomId().toString(), randomStatus());
+    }
+
+    private UUID randomId() {
+        return ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+    }
+
+    private static Task.Status randomStatus() {
+        Task.Status[] statuses = Task.Status.values();
+        return statuses[ThreadLocalRandom.current().nextInt(statuses.length)];
+    }
+}
@@ -0,0 +1,82 @@
+package uk.gov.hmcts.reform.dev.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import uk.gov.hmcts.reform.dev.models.Task;
+import uk.gov.hmcts.reform.dev.repositories.TaskRepository;
+import uk.gov.hmcts.reform.dev.services.TaskService;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Latency of the Kanban drag-and-drop write path (PATCH /tasks/{id}) for each way of issuing it:
+//  - read-modify-write: the previous implementation, findById then save() (SELECT, merge SELECT, UPDATE)
+//  - update-then-read:  UPDATE by ID then findById for the response
+//  - update-returning:  a single UPDATE ... RETURNING (PostgreSQL only - set BENCHMARK_DB_URL)
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.AverageTime, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class TaskStatusUpdateBenchmark {
+
+    private static final int ROWS = 10_000;
+
+    @Param({"read-modify-write", "update-then-read", "update-returning"})
+    private String strategy;
+
+    private ConfigurableApplicationContext context;
+
+    private TaskService taskService;
+
+    private TaskRepository taskRepository;
+
+    private List<UUID> ids;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        if ("update-returning".equals(strategy) && !BenchmarkApplication.isPostgres()) {
+            throw new IllegalStateException("update-returning needs PostgreSQL - set BENCHMARK_DB_URL");
+        }
+        context = BenchmarkApplication.start(
+            "status-update", "--tasks.writes.use-returning=" + "update-returning".equals(strategy));
+        BenchmarkApplication.seed(context, ROWS);
+        taskService = context.getBean(TaskService.class);
+        taskRepository = context.getBean(TaskRepository.class);
+        ids = taskRepository.findAll(PageRequest.of(0, ROWS)).map(Task::getId).toList();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Task updateStatus() {
+        UUID id = ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+        Task.Status status = Task.Status.values()[ThreadLocalRandom.current().nextInt(Task.Status.values().length)];
+
+        if ("read-modify-write".equals(strategy)) {
+            Task task = taskRepository.findById(id).orElseThrow();
+            task.setStatus(status);
+            return taskRepository.save(task);
+        }
+        return taskService.updateTaskStatus(id.toString(), status);
+    }
+}
@@ -0,0 +1,15 @@
+-- H2 copy of db/migration/postgresql/V1__create_task.sql for the benchmarks
+-- H2 has no partial indexes, so the open-tasks index is left out
+
+CREATE TABLE IF NOT EXISTS task (
+    id            UUID         NOT NULL PRIMARY KEY,
+    title         VARCHAR(255),
+    description   VARCHAR(255),
+    status        VARCHAR(255) CHECK (status IN ('PENDING', 'IN_PROGRESS', 'COMPLETED')),
+    due_date_time TIMESTAMP(6),
+    version       BIGINT       NOT NULL DEFAULT 0
+);
+
+CREATE INDEX IF NOT EXISTS idx_task_due_date_time_id ON task (due_date_time, id);
+
+CREATE INDEX IF NOT EXISTS idx_task_status_due_date_time_id ON task (status, due_date_time, id);
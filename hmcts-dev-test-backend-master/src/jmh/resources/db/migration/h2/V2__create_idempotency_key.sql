@@ -0,0 +1,11 @@
+-- H2 copy of db/migration/postgresql/V2__create_idempotency_key.sql for the benchmarks
+-- H2 has no TEXT type that maps to a String, so the response body is an unbounded VARCHAR
+
+CREATE TABLE IF NOT EXISTS idempotency_key (
+    idempotency_key VARCHAR(255) NOT NULL PRIMARY KEY,
+    request_hash    VARCHAR(64)  NOT NULL,
+    response_body   VARCHAR      NOT NULL,
+    created_at      TIMESTAMP(6) NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_idempotency_key_created_at ON idempotency_key (created_at);
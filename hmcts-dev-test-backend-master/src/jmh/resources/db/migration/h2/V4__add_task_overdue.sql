@@ -0,0 +1,4 @@
+-- H2 copy of db/migration/postgresql/V4__add_task_overdue.sql for the benchmarks
+-- H2 has no partial indexes, so neither index is created. The sweeper is off in the benchmarks
+
+ALTER TABLE task ADD COLUMN IF NOT EXISTS overdue BOOLEAN NOT NULL DEFAULT FALSE;
@@ -0,0 +1,14 @@
+package uk.gov.hmcts.reform.dev.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+// Largest number of items accepted by a single /tasks/batch request
+@ConfigurationProperties(prefix = "tasks.batch")
+public record BatchProperties(int maxSize) {
+
+    public BatchProperties {
+        if (maxSize <= 0) {
+            maxSize = 1000;
+        }
+    }
+}
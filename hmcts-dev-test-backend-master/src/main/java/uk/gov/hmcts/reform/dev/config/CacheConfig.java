@@ -0,0 +1,37 @@
+package uk.gov.hmcts.reform.dev.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import uk.gov.hmcts.reform.dev.services.TaskCache;
+
+import java.util.List;
+
+// Bounded Caffeine caches for task reads. Both record stats, which Spring Boot publishes
+// to Micrometer as cache.gets (hit/miss), cache.evictions and cache.size
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    @Bean
+    public CacheManager cacheManager(TaskCacheProperties properties) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.registerCustomCache(TaskCache.TASKS, build(properties.tasks()));
+        cacheManager.registerCustomCache(TaskCache.BOARD, build(properties.board()));
+        // Only the caches above - don't create unbounded ones on demand
+        cacheManager.setCacheNames(List.of());
+        return cacheManager;
+    }
+
+    private static Cache<Object, Object> build(TaskCacheProperties.Limits limits) {
+        return Caffeine.newBuilder()
+            .maximumSize(limits.maximumSize())
+            .expireAfterWrite(limits.expireAfterWrite())
+            .recordStats()
+            .build();
+    }
+}
@@ -0,0 +1,33 @@
+package uk.gov.hmcts.reform.dev.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+// The task change log behind GET /tasks/changes (see TaskChangeLog)
+// - enabled: record changes in the task_events table. PostgreSQL only, as reads check which transactions are
+//   still running (see TaskChangeLog)
+// - retention: how long changes are kept. A consumer that falls further behind than this has to reload
+// - compactAfter: changes older than this are dropped once a later change to the same task carries the whole
+//   task, so a consumer catching up gets each task's latest state rather than every step on the way
+// - pruneInterval: time between the end of one prune and the start of the next
+// - chunkSize: most rows deleted per statement and transaction while pruning
+@ConfigurationProperties(prefix = "tasks.changes")
+public record ChangeLogProperties(boolean enabled, Duration retention, Duration compactAfter,
+                                  Duration pruneInterval, int chunkSize) {
+
+    public ChangeLogProperties {
+        if (retention == null) {
+            retention = Duration.ofDays(7);
+        }
+        if (compactAfter == null) {
+            compactAfter = Duration.ofDays(1);
+        }
+        if (pruneInterval == null) {
+            pruneInterval = Duration.ofHours(1);
+        }
+        if (chunkSize <= 0) {
+            chunkSize = 1000;
+        }
+    }
+}
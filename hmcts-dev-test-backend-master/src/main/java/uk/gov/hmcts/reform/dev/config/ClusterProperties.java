@@ -0,0 +1,30 @@
+package uk.gov.hmcts.reform.dev.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.regex.Pattern;
+
+// Task change notifications between instances over PostgreSQL LISTEN/NOTIFY (see PostgresTaskChangeBus)
+// - enabled: turn on when running more than one instance, so each one's caches and event streams follow
+//   the others' writes
+// - channel: the NOTIFY channel - instances sharing a database and channel hear each other
+// - reconnectDelay: wait between attempts to reopen the listening connection
+@ConfigurationProperties(prefix = "tasks.cluster")
+public record ClusterProperties(boolean enabled, String channel, Duration reconnectDelay) {
+
+    // The channel goes into LISTEN as an identifier, so it can't be a bind parameter
+    private static final Pattern IDENTIFIER = Pattern.compile("[a-z_][a-z0-9_]{0,62}");
+
+    public ClusterProperties {
+        if (channel == null) {
+            channel = "task_changes";
+        }
+        if (!IDENTIFIER.matcher(channel).matches()) {
+            throw new IllegalArgumentException("tasks.cluster.channel must be a lower case identifier: " + channel);
+        }
+        if (reconnectDelay == null) {
+            reconnectDelay = Duration.ofSeconds(5);
+        }
+    }
+}
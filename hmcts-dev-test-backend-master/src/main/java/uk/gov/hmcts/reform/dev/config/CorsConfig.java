@@ -1,19 +1,49 @@
 package uk.gov.hmcts.reform.dev.config;
 
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.web.servlet.config.annotation.CorsRegistry;
-import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.cors.CorsConfiguration;
+import org.springframework.web.cors.CorsConfigurationSource;
+import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
+import org.springframework.web.filter.CorsFilter;
+import uk.gov.hmcts.reform.dev.controllers.TaskController;
 
+import java.util.List;
+
+// CORS for the browser board, as a servlet filter rather than a WebMvcConfigurer so that it runs before
+// RateLimitFilter - its 429 and 503 responses are written before Spring MVC, and without the headers the
+// browser wouldn't let the board read their status or Retry-After
 @Configuration
-public class CorsConfig implements WebMvcConfigurer {
+public class CorsConfig {
+
+    // Ahead of RateLimitConfig's filter, behind only the observation filter
+    public static final int ORDER = Ordered.HIGHEST_PRECEDENCE + 5;
+
+    @Bean
+    public FilterRegistrationBean<CorsFilter> corsFilter() {
+        FilterRegistrationBean<CorsFilter> registration = new FilterRegistrationBean<>(
+            new CorsFilter(corsConfigurationSource()));
+        registration.setOrder(ORDER);
+        return registration;
+    }
+
+    public static CorsConfigurationSource corsConfigurationSource() {
+        CorsConfiguration configuration = new CorsConfiguration();
+        configuration.setAllowedOrigins(List.of("http://localhost:3000")); // Specify allowed origins
+        configuration.setAllowedMethods(List.of("GET", "POST", "PUT", "PATCH", "DELETE")); // Allowed HTTP methods
+        configuration.addAllowedHeader("*"); // Allow all headers
+        // Let the browser read the pagination cursor, task versions, whether a create was replayed and how long
+        // to wait after a 429 or 503
+        configuration.setExposedHeaders(List.of(TaskController.NEXT_CURSOR_HEADER, HttpHeaders.ETAG,
+                                                TaskController.IDEMPOTENT_REPLAYED_HEADER, HttpHeaders.RETRY_AFTER));
+        configuration.setAllowCredentials(true); // If you need to handle cookies or authorization headers
+        configuration.setMaxAge(3600L); // Cache duration for preflight requests
 
-    @Override
-    public void addCorsMappings(CorsRegistry registry) {
-        registry.addMapping("/**") // Apply to all paths under /api/
-            .allowedOrigins("http://localhost:3000") // Specify allowed origins
-            .allowedMethods("GET", "POST", "PUT", "PATCH", "DELETE") // Specify allowed HTTP methods
-            .allowedHeaders("*") // Allow all headers
-            .allowCredentials(true) // If you need to handle cookies or authorization headers
-            .maxAge(3600); // Cache duration for preflight requests
+        UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
+        source.registerCorsConfiguration("/**", configuration);
+        return source;
     }
 }
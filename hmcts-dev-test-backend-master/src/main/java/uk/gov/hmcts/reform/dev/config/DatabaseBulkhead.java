@@ -0,0 +1,126 @@
+package uk.gov.hmcts.reform.dev.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import uk.gov.hmcts.reform.dev.exceptions.DatabaseBusyException;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+// Caps how many threads use the database at once, so surplus requests wait here - fairly, and for at most
+// tasks.db.bulkhead.acquire-timeout - instead of inside the connection pool
+// With virtual threads there is no Tomcat thread limit in front of Hikari, so a burst would otherwise
+// turn into thousands of threads all blocked on getConnection()
+// Covers the repositories and the @Transactional service methods (which hold one connection across several
+// repository calls). Only the outermost call on a thread takes a permit, and it is taken before the
+// transaction interceptor gets a connection. Background work that opens its own transactions (write-behind,
+// overdue sweeps, change log pruning) goes through call/run, so it takes a permit before its transaction too
+// Exports hold their connection for as long as the client takes to read them, so they have their own permits
+// (tasks.db.bulkhead.max-exports) out of the same total - a burst of exports can't starve other requests
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class DatabaseBulkhead {
+
+    private static final ThreadLocal<Boolean> HOLDS_PERMIT = new ThreadLocal<>();
+
+    private final Semaphore permits;
+
+    private final Semaphore exportPermits;
+
+    private final Duration acquireTimeout;
+
+    private final Counter rejected;
+
+    public DatabaseBulkhead(DatabaseBulkheadProperties properties, MeterRegistry meterRegistry) {
+        this.permits = new Semaphore(Math.max(1, properties.maxConcurrent() - properties.maxExports()), true);
+        this.exportPermits = new Semaphore(properties.maxExports(), true);
+        this.acquireTimeout = properties.acquireTimeout();
+        Gauge.builder("tasks.db.bulkhead.available", permits, Semaphore::availablePermits)
+            .description("Database permits not currently in use")
+            .register(meterRegistry);
+        Gauge.builder("tasks.db.bulkhead.waiting", permits, Semaphore::getQueueLength)
+            .description("Threads waiting for a database permit")
+            .register(meterRegistry);
+        Gauge.builder("tasks.db.bulkhead.exports.available", exportPermits, Semaphore::availablePermits)
+            .description("Database permits for exports not currently in use")
+            .register(meterRegistry);
+        this.rejected = Counter.builder("tasks.db.bulkhead.rejected")
+            .description("Calls that gave up waiting for a database permit")
+            .register(meterRegistry);
+    }
+
+    @Around("(this(org.springframework.data.repository.Repository)"
+        + " || (within(uk.gov.hmcts.reform.dev.services..)"
+        + " && @annotation(org.springframework.transaction.annotation.Transactional)))"
+        + " && !execution(* uk.gov.hmcts.reform.dev.services.TaskService.exportTasks(..))")
+    public Object limit(ProceedingJoinPoint joinPoint) throws Throwable {
+        return withPermit(permits, joinPoint::proceed);
+    }
+
+    @Around("execution(* uk.gov.hmcts.reform.dev.services.TaskService.exportTasks(..))")
+    public Object limitExport(ProceedingJoinPoint joinPoint) throws Throwable {
+        return withPermit(exportPermits, joinPoint::proceed);
+    }
+
+    // Run background work under a permit, taken before the work opens its transaction
+    public <T> T call(Supplier<T> work) {
+        try {
+            return withPermit(permits, work::get);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            // A Supplier can't throw checked exceptions
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public void run(Runnable work) {
+        call(() -> {
+            work.run();
+            return null;
+        });
+    }
+
+    private <T> T withPermit(Semaphore semaphore, Work<T> work) throws Throwable {
+        if (HOLDS_PERMIT.get() != null) {
+            return work.run();
+        }
+
+        acquire(semaphore);
+        HOLDS_PERMIT.set(Boolean.TRUE);
+        try {
+            return work.run();
+        } finally {
+            HOLDS_PERMIT.remove();
+            semaphore.release();
+        }
+    }
+
+    private void acquire(Semaphore semaphore) {
+        try {
+            if (!semaphore.tryAcquire(acquireTimeout.toNanos(), TimeUnit.NANOSECONDS)) {
+                rejected.increment();
+                throw new DatabaseBusyException(acquireTimeout);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DatabaseBusyException(acquireTimeout);
+        }
+    }
+
+    // A join point's proceed, or a Supplier's get
+    @FunctionalInterface
+    private interface Work<T> {
+        T run() throws Throwable;
+    }
+}
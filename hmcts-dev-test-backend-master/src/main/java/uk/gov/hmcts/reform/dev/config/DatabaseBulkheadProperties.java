@@ -0,0 +1,25 @@
+package uk.gov.hmcts.reform.dev.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+// How many threads may use the database at once (keep in step with the Hikari pool size),
+// how long a request waits for a turn before giving up with 503, and how many of those turns are kept for
+// exports - at most half, so long exports can never take every connection
+@ConfigurationProperties(prefix = "tasks.db.bulkhead")
+public record DatabaseBulkheadProperties(int maxConcurrent, Duration acquireTimeout, int maxExports) {
+
+    public DatabaseBulkheadProperties {
+        if (maxConcurrent <= 0) {
+            maxConcurrent = 10;
+        }
+        if (acquireTimeout == null) {
+            acquireTimeout = Duration.ofSeconds(5);
+        }
+        if (maxExports <= 0) {
+            maxExports = 2;
+        }
+        maxExports = Math.min(maxExports, Math.max(1, maxConcurrent / 2));
+    }
+}
@@ -0,0 +1,38 @@
+package uk.gov.hmcts.reform.dev.config;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.env.EnvironmentPostProcessor;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.MapPropertySource;
+
+import java.util.Map;
+
+// Works out a connection pool size from the cores available and the connections the database allows,
+// and publishes it as tasks.db.pool.auto-size for the prod profile to use when DB_POOL_SIZE isn't set
+// - cores * 2 + 1: enough to keep every core busy while other connections wait on the database
+// - capped at this instance's share of the database's connections, after the reserved ones
+//   (DB_MAX_CONNECTIONS - DB_RESERVED_CONNECTIONS) / DB_INSTANCES
+// Registered in META-INF/spring.factories, so it runs before the datasource is configured
+public class DatabasePoolSizing implements EnvironmentPostProcessor {
+
+    public static final String AUTO_SIZE_PROPERTY = "tasks.db.pool.auto-size";
+
+    private static final int MIN_POOL_SIZE = 2;
+
+    @Override
+    public void postProcessEnvironment(ConfigurableEnvironment environment, SpringApplication application) {
+        int size = poolSize(
+            Runtime.getRuntime().availableProcessors(),
+            environment.getProperty("tasks.db.pool.max-connections", Integer.class, 100),
+            environment.getProperty("tasks.db.pool.reserved-connections", Integer.class, 10),
+            environment.getProperty("tasks.db.pool.instances", Integer.class, 1));
+        // Lowest precedence, so an explicit tasks.db.pool.auto-size still wins
+        environment.getPropertySources().addLast(new MapPropertySource("taskDatabasePoolSizing",
+            Map.of(AUTO_SIZE_PROPERTY, size)));
+    }
+
+    public static int poolSize(int cores, int maxConnections, int reservedConnections, int instances) {
+        int share = (maxConnections - reservedConnections) / Math.max(instances, 1);
+        return Math.max(MIN_POOL_SIZE, Math.min(cores * 2 + 1, share));
+    }
+}
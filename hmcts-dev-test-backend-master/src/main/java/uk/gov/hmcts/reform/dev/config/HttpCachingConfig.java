@@ -0,0 +1,25 @@
+package uk.gov.hmcts.reform.dev.config;
+
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+
+// Conditional GETs for the task listings and search results
+// GET /tasks/{id} has the task's version as its ETag already. A page or the board summary has no single
+// version, so its ETag is a hash of the body - the response is still built, but a client that already
+// has it gets 304 Not Modified with no body
+@Configuration
+public class HttpCachingConfig {
+
+    @Bean
+    public FilterRegistrationBean<ShallowEtagHeaderFilter> taskListETagFilter() {
+        ShallowEtagHeaderFilter filter = new ShallowEtagHeaderFilter();
+        // Weak, as the hash is of the uncompressed body and Tomcat may gzip it afterwards
+        filter.setWriteWeakETag(true);
+        FilterRegistrationBean<ShallowEtagHeaderFilter> registration = new FilterRegistrationBean<>(filter);
+        // Exact paths only - not the export or event streams, which must not be buffered
+        registration.addUrlPatterns("/tasks", "/tasks/summary", "/tasks/search");
+        return registration;
+    }
+}
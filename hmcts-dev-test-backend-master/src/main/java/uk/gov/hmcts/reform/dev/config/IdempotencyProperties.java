@@ -0,0 +1,23 @@
+package uk.gov.hmcts.reform.dev.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+// Idempotency-Key handling for POST /tasks (see IdempotencyService)
+// - maximumSize: keys remembered in memory per instance, oldest dropped first
+// - ttl: how long a key is remembered, in memory and in the idempotency_key table
+// - persistent: also record keys in the idempotency_key table, for retries that reach another instance or
+//   arrive after a restart
+@ConfigurationProperties(prefix = "tasks.idempotency")
+public record IdempotencyProperties(long maximumSize, Duration ttl, boolean persistent) {
+
+    public IdempotencyProperties {
+        if (maximumSize <= 0) {
+            maximumSize = 10_000;
+        }
+        if (ttl == null) {
+            ttl = Duration.ofHours(24);
+        }
+    }
+}
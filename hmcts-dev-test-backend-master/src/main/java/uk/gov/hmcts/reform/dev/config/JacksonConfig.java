@@ -0,0 +1,22 @@
+package uk.gov.hmcts.reform.dev.config;
+
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.springframework.core.NativeDetector;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// Spring Boot registers every Module bean with the application's ObjectMapper
+@Configuration
+public class JacksonConfig {
+
+    // Reads and writes properties through generated lambdas instead of reflection - the Task getters
+    // and setters are called for every task in every listing
+    // A native image can't define classes at run time, and its reflection is compiled ahead of time anyway,
+    // so there it is left out
+    @Bean
+    public Module blackbirdModule() {
+        return NativeDetector.inNativeImage() ? new SimpleModule("no-blackbird") : new BlackbirdModule();
+    }
+}
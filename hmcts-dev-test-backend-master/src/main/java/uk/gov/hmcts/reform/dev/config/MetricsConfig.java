@@ -0,0 +1,64 @@
+package uk.gov.hmcts.reform.dev.config;
+
+import io.micrometer.core.aop.MeterTagAnnotationHandler;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.config.MeterFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// Timers for every TaskController and TaskService call, from the class-level @Timed on each
+// Tags are kept low-cardinality: class, method, exception and the task status - never the task ID -
+// so the number of time series stays fixed however many tasks there are
+@Configuration
+public class MetricsConfig {
+
+    public static final String CONTROLLER_TIMER = "tasks.controller";
+
+    public static final String SERVICE_TIMER = "tasks.service";
+
+    public static final String STATUS_TAG = "status";
+
+    // Status tag value on calls that don't involve a status, e.g. GET /tasks/{id}
+    public static final String NO_STATUS = "none";
+
+    // Most distinct values a status tag should ever have - the statuses, "all" and "none", with room to spare
+    private static final int MAX_STATUS_TAG_VALUES = 10;
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry registry) {
+        TimedAspect timedAspect = new TimedAspect(registry);
+        // @MeterTag(key = "status", resolver = TaskStatusTag.class) on a parameter adds the status tag
+        TaskStatusTag statusTag = new TaskStatusTag();
+        timedAspect.setMeterTagAnnotationHandler(
+            new MeterTagAnnotationHandler(resolverClass -> statusTag, expressionResolverClass -> null));
+        return timedAspect;
+    }
+
+    // Prometheus needs every series of a meter to have the same tag keys, so calls without a status
+    // parameter get status=none
+    @Bean
+    public MeterFilter taskStatusTagDefault() {
+        return new MeterFilter() {
+            @Override
+            public Meter.Id map(Meter.Id id) {
+                if (isTaskTimer(id) && id.getTag(STATUS_TAG) == null) {
+                    return id.withTag(Tag.of(STATUS_TAG, NO_STATUS));
+                }
+                return id;
+            }
+        };
+    }
+
+    // Backstop - stop recording new task timers if the status tag ever takes more values than it should
+    @Bean
+    public MeterFilter taskStatusTagLimit() {
+        return MeterFilter.maximumAllowableTags("tasks.", STATUS_TAG, MAX_STATUS_TAG_VALUES, MeterFilter.deny());
+    }
+
+    private static boolean isTaskTimer(Meter.Id id) {
+        return id.getName().equals(CONTROLLER_TIMER) || id.getName().equals(SERVICE_TIMER);
+    }
+}
@@ -0,0 +1,23 @@
+package uk.gov.hmcts.reform.dev.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+// The overdue sweeper (see OverdueSweeper)
+// - enabled: run it on this instance. Safe on every instance at once - PostgreSQL only, as it relies on
+//   UPDATE ... RETURNING and FOR UPDATE SKIP LOCKED
+// - interval: time between the end of one sweep and the start of the next
+// - chunkSize: most tasks changed per statement and transaction, so no pass holds many row locks for long
+@ConfigurationProperties(prefix = "tasks.overdue")
+public record OverdueSweepProperties(boolean enabled, Duration interval, int chunkSize) {
+
+    public OverdueSweepProperties {
+        if (interval == null) {
+            interval = Duration.ofMinutes(1);
+        }
+        if (chunkSize <= 0) {
+            chunkSize = 1000;
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package uk.gov.hmcts.reform.dev.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+// Page sizes used by GET /tasks when the client doesn't ask for one, and the most it is allowed to ask for
+@ConfigurationProperties(prefix = "tasks.pagination")
+public record PaginationProperties(int defaultPageSize, int maxPageSize) {
+
+    public PaginationProperties {
+        if (defaultPageSize <= 0) {
+            defaultPageSize = 100;
+        }
+        if (maxPageSize <= 0) {
+            maxPageSize = 500;
+        }
+        defaultPageSize = Math.min(defaultPageSize, maxPageSize);
+    }
+}
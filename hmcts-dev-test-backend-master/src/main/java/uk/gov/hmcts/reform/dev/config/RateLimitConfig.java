@@ -0,0 +1,27 @@
+package uk.gov.hmcts.reform.dev.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// Puts RateLimitFilter in front of the task API, unless tasks.rate-limit.enabled is false
+@Configuration
+@ConditionalOnProperty(prefix = "tasks.rate-limit", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class RateLimitConfig {
+
+    @Bean
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilter(RateLimitProperties properties,
+                                                                   MeterRegistry meterRegistry,
+                                                                   ObjectMapper objectMapper) {
+        FilterRegistrationBean<RateLimitFilter> registration = new FilterRegistrationBean<>(
+            new RateLimitFilter(properties, meterRegistry, objectMapper, System::nanoTime));
+        registration.addUrlPatterns("/tasks", "/tasks/*");
+        // Ahead of everything but the observation filter, so rejections still show up in http.server.requests,
+        // and the CORS filter, so the browser can read them
+        registration.setOrder(CorsConfig.ORDER + 5);
+        return registration;
+    }
+}
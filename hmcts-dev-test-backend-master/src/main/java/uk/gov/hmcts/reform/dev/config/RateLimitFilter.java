@@ -0,0 +1,178 @@
+package uk.gov.hmcts.reform.dev.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ProblemDetail;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+// Sheds excess load at the door, before it reaches the controllers or queues for the database
+// - Each client has a token bucket per kind of request (reads, writes). A client over its rate gets 429 with
+//   Retry-After, and other clients are unaffected
+// - Each kind of request has a cap on how many may be in progress at once. Past it, new requests get 503 straight
+//   away instead of piling up in front of the database bulkhead and timing out there
+// - GET /tasks/events and GET /tasks/export are rate limited but don't count towards the cap - they stay open
+//   for minutes, and the event stream doesn't use the database at all
+// Rejections are counted as tasks.ratelimit.rejected, tagged by kind and reason
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final String STREAM_PATH_PREFIX = "/tasks/";
+
+    private final RateLimitProperties properties;
+
+    private final ObjectMapper objectMapper;
+
+    private final LongSupplier nanoClock;
+
+    private final Cache<ClientKey, TokenBucket> buckets;
+
+    private final Map<Kind, Semaphore> inFlight = new EnumMap<>(Kind.class);
+
+    private final Map<Kind, Counter> rateRejected = new EnumMap<>(Kind.class);
+
+    private final Map<Kind, Counter> concurrencyRejected = new EnumMap<>(Kind.class);
+
+    public RateLimitFilter(RateLimitProperties properties, MeterRegistry meterRegistry, ObjectMapper objectMapper,
+                           LongSupplier nanoClock) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.nanoClock = nanoClock;
+        this.buckets = Caffeine.newBuilder()
+            .maximumSize(properties.maxClients())
+            .build();
+        Gauge.builder("tasks.ratelimit.clients", buckets, Cache::estimatedSize)
+            .description("Clients with a rate limit bucket")
+            .register(meterRegistry);
+
+        for (Kind kind : Kind.values()) {
+            int maxConcurrent = kind.limits(properties).maxConcurrent();
+            Semaphore permits = new Semaphore(maxConcurrent);
+            inFlight.put(kind, permits);
+            Gauge.builder("tasks.ratelimit.in_flight", permits, p -> maxConcurrent - p.availablePermits())
+                .description("Requests in progress, counted towards the concurrency cap")
+                .tag("kind", kind.tag())
+                .register(meterRegistry);
+            rateRejected.put(kind, rejectedCounter(meterRegistry, kind, "rate"));
+            concurrencyRejected.put(kind, rejectedCounter(meterRegistry, kind, "concurrency"));
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        // CORS preflights are answered by the CORS filter in front of this one (see CorsConfig)
+        return HttpMethod.OPTIONS.matches(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+        throws ServletException, IOException {
+        Kind kind = Kind.of(request);
+        RateLimitProperties.Limits limits = kind.limits(properties);
+
+        TokenBucket bucket = buckets.get(new ClientKey(clientOf(request), kind), key -> new TokenBucket(
+            limits.burst(), limits.perSecond(), nanoClock.getAsLong()));
+        long waitNanos = bucket.tryConsume(nanoClock.getAsLong());
+        if (waitNanos > 0) {
+            rateRejected.get(kind).increment();
+            reject(request, response, HttpStatus.TOO_MANY_REQUESTS, "Rate limit exceeded",
+                   "Too many requests from this client - slow down", retryAfterSeconds(waitNanos));
+            return;
+        }
+
+        if (isStream(request)) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        Semaphore permits = inFlight.get(kind);
+        if (!permits.tryAcquire()) {
+            concurrencyRejected.get(kind).increment();
+            reject(request, response, HttpStatus.SERVICE_UNAVAILABLE, "Server busy",
+                   "Too many requests in progress - try again shortly", 1);
+            return;
+        }
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            permits.release();
+        }
+    }
+
+    // The client's API key if it is one of tasks.rate-limit.api-keys, otherwise its address
+    // Behind a proxy, set server.forward-headers-strategy so the address is the client's rather than the proxy's
+    private String clientOf(HttpServletRequest request) {
+        String key = request.getHeader(properties.clientHeader());
+        return key != null && properties.apiKeys().contains(key) ? "key:" + key : "addr:" + request.getRemoteAddr();
+    }
+
+    private static boolean isStream(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return path.equals(STREAM_PATH_PREFIX + "events") || path.equals(STREAM_PATH_PREFIX + "export");
+    }
+
+    private static long retryAfterSeconds(long waitNanos) {
+        return Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + Duration.ofSeconds(1).toNanos() - 1));
+    }
+
+    // Answer with a problem detail, the same shape TaskExceptionHandler gives errors raised further in
+    private void reject(HttpServletRequest request, HttpServletResponse response, HttpStatus status, String title,
+                        String detail, long retryAfterSeconds) throws IOException {
+        ProblemDetail problem = ProblemDetail.forStatusAndDetail(status, detail);
+        problem.setTitle(title);
+        problem.setInstance(URI.create(request.getRequestURI()));
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_PROBLEM_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), problem);
+    }
+
+    private static Counter rejectedCounter(MeterRegistry meterRegistry, Kind kind, String reason) {
+        return Counter.builder("tasks.ratelimit.rejected")
+            .description("Requests turned away by the rate limiter")
+            .tag("kind", kind.tag())
+            .tag("reason", reason)
+            .register(meterRegistry);
+    }
+
+    private enum Kind {
+        READ,
+        WRITE;
+
+        private static Kind of(HttpServletRequest request) {
+            return HttpMethod.GET.matches(request.getMethod()) || HttpMethod.HEAD.matches(request.getMethod())
+                ? READ : WRITE;
+        }
+
+        private RateLimitProperties.Limits limits(RateLimitProperties properties) {
+            return this == READ ? properties.read() : properties.write();
+        }
+
+        private String tag() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    private record ClientKey(String client, Kind kind) {
+    }
+}
@@ -0,0 +1,40 @@
+package uk.gov.hmcts.reform.dev.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.Set;
+
+// Per-client request rates and in-flight request caps for the task API (see RateLimitFilter)
+// tasks.rate-limit.enabled=false turns the filter off altogether (see RateLimitConfig)
+// - clientHeader: header carrying the client's API key
+// - apiKeys: the keys that get a bucket of their own - a request without one of these, or with a key that isn't
+//   listed, is told apart by its address, so a client can't get a fresh bucket by making up a new key
+// - maxClients: clients tracked at once, least recently seen dropped first, so memory stays bounded
+// - read (GET) and write (everything else) each have their own limits
+@ConfigurationProperties(prefix = "tasks.rate-limit")
+public record RateLimitProperties(String clientHeader, Set<String> apiKeys, long maxClients, Limits read,
+                                  Limits write) {
+
+    public RateLimitProperties {
+        if (clientHeader == null) {
+            clientHeader = "X-API-Key";
+        }
+        apiKeys = apiKeys == null ? Set.of() : Set.copyOf(apiKeys);
+        if (maxClients <= 0) {
+            maxClients = 100_000;
+        }
+        if (read == null) {
+            read = new Limits(100, 50, 100);
+        }
+        if (write == null) {
+            write = new Limits(20, 10, 50);
+        }
+    }
+
+    // - burst: requests a client can make at once after a quiet spell
+    // - perSecond: sustained requests per second per client
+    // - maxConcurrent: requests of this kind in progress at once across all clients, beyond which new ones
+    //   are turned away with 503 rather than queued
+    public record Limits(int burst, double perSecond, int maxConcurrent) {
+    }
+}
@@ -0,0 +1,62 @@
+package uk.gov.hmcts.reform.dev.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+// Sends read-only transactions to a read replica when tasks.db.replica.url is set, everything else to the primary
+// - Repository reads run in read-only transactions (see TaskRepository), so board and task reads go to the
+//   replica while writes, and reads made inside a write, stay on the primary
+// - The connection is only fetched once the transaction has been marked read-only, by
+//   LazyConnectionDataSourceProxy, which is what lets it pick the pool
+// - Reads fall back to the primary while the replica is unreachable (ReplicaFallbackDataSource)
+// Without a replica Spring Boot's usual single pool is used unchanged
+@Configuration
+@ConditionalOnProperty(prefix = "tasks.db.replica", name = "url")
+public class ReadReplicaConfig {
+
+    // The usual spring.datasource pool, no longer the application's DataSource bean itself
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    public HikariDataSource replicaDataSource(DataSourceProperties primary, ReadReplicaProperties replica) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName("TaskReplicaHikariCP");
+        dataSource.setDriverClassName(primary.determineDriverClassName());
+        dataSource.setJdbcUrl(replica.url());
+        dataSource.setUsername(replica.username() != null ? replica.username() : primary.determineUsername());
+        dataSource.setPassword(replica.password() != null ? replica.password() : primary.determinePassword());
+        dataSource.setMaximumPoolSize(replica.poolSize());
+        dataSource.setMinimumIdle(replica.poolSize());
+        dataSource.setConnectionTimeout(replica.connectionTimeout().toMillis());
+        dataSource.setReadOnly(true);
+        // Start even if the replica is down - reads use the primary until it comes back
+        dataSource.setInitializationFailTimeout(-1);
+        return dataSource;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, HikariDataSource replicaDataSource,
+                                 ReadReplicaProperties replica) {
+        return routing(primaryDataSource, replicaDataSource, replica.retryInterval());
+    }
+
+    public static DataSource routing(DataSource primary, DataSource replica, Duration retryInterval) {
+        LazyConnectionDataSourceProxy routing = new LazyConnectionDataSourceProxy(primary);
+        routing.setReadOnlyDataSource(new ReplicaFallbackDataSource(replica, primary, retryInterval));
+        return routing;
+    }
+}
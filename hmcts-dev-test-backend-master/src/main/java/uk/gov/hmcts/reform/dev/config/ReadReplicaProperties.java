@@ -0,0 +1,25 @@
+package uk.gov.hmcts.reform.dev.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+// Optional read replica for read-only transactions - routing is only switched on when url is set
+// username and password default to the primary's. connectionTimeout is kept short so a replica that is
+// down fails over to the primary quickly, and isn't tried again for retryInterval
+@ConfigurationProperties(prefix = "tasks.db.replica")
+public record ReadReplicaProperties(String url, String username, String password, int poolSize,
+                                    Duration connectionTimeout, Duration retryInterval) {
+
+    public ReadReplicaProperties {
+        if (poolSize <= 0) {
+            poolSize = 10;
+        }
+        if (connectionTimeout == null) {
+            connectionTimeout = Duration.ofSeconds(2);
+        }
+        if (retryInterval == null) {
+            retryInterval = Duration.ofSeconds(30);
+        }
+    }
+}
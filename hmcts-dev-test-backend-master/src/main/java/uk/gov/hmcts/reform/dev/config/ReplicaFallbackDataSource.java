@@ -0,0 +1,50 @@
+package uk.gov.hmcts.reform.dev.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+
+// Hands out replica connections, falling back to the primary when the replica can't be reached
+// After a failure the replica is left alone for retryInterval, so reads don't each wait out a connection
+// timeout while it is down
+@Slf4j
+public class ReplicaFallbackDataSource extends DelegatingDataSource {
+
+    private final DataSource primary;
+
+    private final long retryIntervalNanos;
+
+    // System.nanoTime() before which the primary is used without trying the replica
+    private volatile long replicaRetryAt;
+
+    public ReplicaFallbackDataSource(DataSource replica, DataSource primary, Duration retryInterval) {
+        super(replica);
+        this.primary = primary;
+        this.retryIntervalNanos = retryInterval.toNanos();
+        this.replicaRetryAt = System.nanoTime();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (System.nanoTime() - replicaRetryAt < 0) {
+            return primary.getConnection();
+        }
+        try {
+            return obtainTargetDataSource().getConnection();
+        } catch (SQLException e) {
+            replicaRetryAt = System.nanoTime() + retryIntervalNanos;
+            log.warn("Read replica unavailable, reading from the primary for {}s: {}",
+                     retryIntervalNanos / 1_000_000_000, e.getMessage());
+            return primary.getConnection();
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return getConnection();
+    }
+}
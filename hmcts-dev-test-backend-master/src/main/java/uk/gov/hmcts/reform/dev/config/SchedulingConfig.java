@@ -0,0 +1,10 @@
+package uk.gov.hmcts.reform.dev.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+// Runs @Scheduled methods on Spring Boot's task scheduler (spring.task.scheduling.*)
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,30 @@
+package uk.gov.hmcts.reform.dev.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+// Full-text search for GET /tasks/search (see TaskSearchIndex)
+// - mode: DATABASE searches the task table's search_vector column with its GIN index - PostgreSQL only.
+//   MEMORY keeps an inverted index in the JVM, for H2 and tests (see InMemoryTaskSearchIndex)
+// - maxCandidates: most matching rows ranked per query in DATABASE mode, so a query matching much of the table
+//   costs no more than one matching this many. Past it, the ranking is over the latest-due matches only
+// - maxQueryLength: longest q accepted
+@ConfigurationProperties(prefix = "tasks.search")
+public record SearchProperties(Mode mode, int maxCandidates, int maxQueryLength) {
+
+    public enum Mode {
+        DATABASE,
+        MEMORY
+    }
+
+    public SearchProperties {
+        if (mode == null) {
+            mode = Mode.DATABASE;
+        }
+        if (maxCandidates <= 0) {
+            maxCandidates = 10_000;
+        }
+        if (maxQueryLength <= 0) {
+            maxQueryLength = 200;
+        }
+    }
+}
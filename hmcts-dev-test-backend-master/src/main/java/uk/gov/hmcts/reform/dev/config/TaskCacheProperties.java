@@ -0,0 +1,22 @@
+package uk.gov.hmcts.reform.dev.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+// Size and time limits for the in-process task caches (see CacheConfig)
+@ConfigurationProperties(prefix = "tasks.cache")
+public record TaskCacheProperties(Limits tasks, Limits board) {
+
+    public TaskCacheProperties {
+        if (tasks == null) {
+            tasks = new Limits(10_000, Duration.ofMinutes(10));
+        }
+        if (board == null) {
+            board = new Limits(100, Duration.ofSeconds(30));
+        }
+    }
+
+    public record Limits(long maximumSize, Duration expireAfterWrite) {
+    }
+}
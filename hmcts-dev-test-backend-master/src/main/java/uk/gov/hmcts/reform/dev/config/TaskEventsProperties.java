@@ -0,0 +1,34 @@
+package uk.gov.hmcts.reform.dev.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+// Limits for the GET /tasks/events change feed
+// - bufferSize: events queued per subscriber before it is told to resync
+// - historySize: recent events kept for Last-Event-ID resume
+// - heartbeatInterval: how often idle streams get a comment, so proxies don't close them
+// - timeout: how long one stream stays open before the client has to reconnect
+// - writeTimeout: how long a write to one subscriber may block before it is dropped
+@ConfigurationProperties(prefix = "tasks.events")
+public record TaskEventsProperties(int bufferSize, int historySize, Duration heartbeatInterval, Duration timeout,
+                                   Duration writeTimeout) {
+
+    public TaskEventsProperties {
+        if (bufferSize <= 0) {
+            bufferSize = 256;
+        }
+        if (historySize <= 0) {
+            historySize = 1000;
+        }
+        if (heartbeatInterval == null) {
+            heartbeatInterval = Duration.ofSeconds(15);
+        }
+        if (timeout == null) {
+            timeout = Duration.ofMinutes(30);
+        }
+        if (writeTimeout == null) {
+            writeTimeout = Duration.ofSeconds(30);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package uk.gov.hmcts.reform.dev.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.stereotype.Component;
+import uk.gov.hmcts.reform.dev.models.Task;
+
+// ObjectWriters for task JSON, built once from the application's ObjectMapper
+// Each is bound to its type, so writing a value skips looking up the root serializer
+// Spring MVC builds its own writer per response, which only costs a few small objects as the mapper
+// caches serializers - these are for code that writes tasks itself, like the export
+@Component
+public class TaskJsonWriters {
+
+    private final ObjectWriter task;
+
+    private final ObjectWriter exportLine;
+
+    public TaskJsonWriters(ObjectMapper objectMapper) {
+        this.task = objectMapper.writerFor(Task.class);
+        // One task per line - don't flush after every task, the generator's buffer is flushed as it fills
+        this.exportLine = task
+            .withRootValueSeparator("\n")
+            .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    public ObjectWriter task() {
+        return task;
+    }
+
+    // Writes tasks as newline-delimited JSON, for GET /tasks/export
+    public ObjectWriter exportLine() {
+        return exportLine;
+    }
+}
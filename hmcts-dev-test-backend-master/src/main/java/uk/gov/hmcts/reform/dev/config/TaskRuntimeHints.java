@@ -0,0 +1,37 @@
+package uk.gov.hmcts.reform.dev.config;
+
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.util.ClassUtils;
+import uk.gov.hmcts.reform.dev.dto.response.TaskChangesPage;
+import uk.gov.hmcts.reform.dev.events.PostgresTaskChangeBus;
+import uk.gov.hmcts.reform.dev.events.TaskChangeEvent;
+import uk.gov.hmcts.reform.dev.models.Task;
+import uk.gov.hmcts.reform.dev.models.TaskChange;
+
+// What the native image (./gradlew nativeCompile) needs beyond what Spring AOT works out for itself
+// AOT already covers the entity, the request and response types of every controller method, configuration
+// properties and beans. Lombok's getters, setters and constructors are ordinary compiled methods, so they only
+// need reflection where Jackson finds them by it. That leaves:
+// - types our own code turns into JSON or reads back with the ObjectMapper, outside any controller
+// - the Flyway migrations, which are read from the classpath at startup
+public class TaskRuntimeHints implements RuntimeHintsRegistrar {
+
+    private final BindingReflectionHintsRegistrar bindings = new BindingReflectionHintsRegistrar();
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        bindings.registerReflectionHints(
+            hints.reflection(),
+            // Stored and read back by IdempotencyKeyStore, stored by the change log
+            Task.class,
+            // Written by TaskChangeFeed, written and read by PostgresTaskChangeBus
+            TaskChangeEvent.class,
+            // Private to PostgresTaskChangeBus - what one notification carries
+            ClassUtils.resolveClassName(PostgresTaskChangeBus.class.getName() + "$Notification", classLoader),
+            TaskChangesPage.class,
+            TaskChange.class);
+        hints.resources().registerPattern("db/migration/postgresql/*.sql");
+    }
+}
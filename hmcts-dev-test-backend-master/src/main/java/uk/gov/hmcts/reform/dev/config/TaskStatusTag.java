@@ -0,0 +1,26 @@
+package uk.gov.hmcts.reform.dev.config;
+
+import io.micrometer.common.annotation.ValueResolver;
+import uk.gov.hmcts.reform.dev.dto.request.TaskQuery;
+import uk.gov.hmcts.reform.dev.dto.request.UpdateStatusRequestDto;
+import uk.gov.hmcts.reform.dev.models.Task;
+
+// Value of the status tag for a parameter annotated @MeterTag(key = "status", resolver = TaskStatusTag.class)
+// Always one of the Task.Status names or "all", never anything derived from a task ID or free text
+public class TaskStatusTag implements ValueResolver {
+
+    public static final String ALL = "all";
+
+    @Override
+    public String resolve(Object parameter) {
+        Task.Status status = null;
+        if (parameter instanceof Task.Status value) {
+            status = value;
+        } else if (parameter instanceof TaskQuery query) {
+            status = query.getStatus();
+        } else if (parameter instanceof UpdateStatusRequestDto dto) {
+            status = dto.getStatus();
+        }
+        return status == null ? ALL : status.name();
+    }
+}
@@ -0,0 +1,34 @@
+package uk.gov.hmcts.reform.dev.config;
+
+// Holds up to capacity tokens, topped up continuously at refillPerSecond - each request takes one,
+// so a client can burst up to capacity and then keep up a steady refillPerSecond
+// Times are System.nanoTime() values, passed in so tests can control the clock
+public class TokenBucket {
+
+    private final double capacity;
+
+    private final double tokensPerNano;
+
+    private double tokens;
+
+    private long refilledAt;
+
+    public TokenBucket(double capacity, double refillPerSecond, long now) {
+        this.capacity = capacity;
+        this.tokensPerNano = refillPerSecond / 1_000_000_000d;
+        this.tokens = capacity;
+        this.refilledAt = now;
+    }
+
+    // Take a token - returns 0 if there was one, otherwise how many nanoseconds until there will be
+    // Synchronized is fine here: the lock is held for a few arithmetic operations, never across I/O
+    public synchronized long tryConsume(long now) {
+        tokens = Math.min(capacity, tokens + (now - refilledAt) * tokensPerNano);
+        refilledAt = now;
+        if (tokens >= 1) {
+            tokens -= 1;
+            return 0;
+        }
+        return (long) Math.ceil((1 - tokens) / tokensPerNano);
+    }
+}
@@ -0,0 +1,35 @@
+package uk.gov.hmcts.reform.dev.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+// Write-behind for POST /tasks (see TaskWriteBehind)
+// - enabled: answer creates with 202 Accepted once queued, and write them in batches in the background
+// - queueCapacity: tasks accepted but not yet written, per instance
+// - batchSize: most tasks written in one transaction
+// - linger: how long the flusher waits after the first task of a batch for more to arrive
+// - offerTimeout: how long a create waits for room in a full queue before it is answered with 503
+// - awaitTimeout: how long an update or delete of a queued task waits for it to be written
+@ConfigurationProperties(prefix = "tasks.write-behind")
+public record WriteBehindProperties(boolean enabled, int queueCapacity, int batchSize, Duration linger,
+                                    Duration offerTimeout, Duration awaitTimeout) {
+
+    public WriteBehindProperties {
+        if (queueCapacity <= 0) {
+            queueCapacity = 10_000;
+        }
+        if (batchSize <= 0) {
+            batchSize = 500;
+        }
+        if (linger == null) {
+            linger = Duration.ofMillis(20);
+        }
+        if (offerTimeout == null) {
+            offerTimeout = Duration.ofMillis(100);
+        }
+        if (awaitTimeout == null) {
+            awaitTimeout = Duration.ofSeconds(5);
+        }
+    }
+}
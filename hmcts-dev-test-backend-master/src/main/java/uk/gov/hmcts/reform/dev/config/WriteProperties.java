@@ -0,0 +1,10 @@
+package uk.gov.hmcts.reform.dev.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+// How task writes are issued. useReturning makes PATCH /tasks/{id} a single UPDATE ... RETURNING statement, and
+// batch updates and deletes one statement per chunk that returns the IDs it changed - PostgreSQL only, turn it
+// off for databases without RETURNING
+@ConfigurationProperties(prefix = "tasks.writes")
+public record WriteProperties(boolean useReturning) {
+}
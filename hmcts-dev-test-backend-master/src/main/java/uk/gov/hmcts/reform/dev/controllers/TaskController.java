@@ -1,48 +1,293 @@
 package uk.gov.hmcts.reform.dev.controllers;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.aop.MeterTag;
+import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Valid;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.validation.BindingResult;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import uk.gov.hmcts.reform.dev.config.BatchProperties;
+import uk.gov.hmcts.reform.dev.config.MetricsConfig;
+import uk.gov.hmcts.reform.dev.config.PaginationProperties;
+import uk.gov.hmcts.reform.dev.config.SearchProperties;
+import uk.gov.hmcts.reform.dev.config.TaskJsonWriters;
+import uk.gov.hmcts.reform.dev.config.TaskStatusTag;
+import uk.gov.hmcts.reform.dev.config.WriteBehindProperties;
+import uk.gov.hmcts.reform.dev.dto.request.BatchStatusUpdateDto;
 import uk.gov.hmcts.reform.dev.dto.request.CreateTaskRequestDto;
-import uk.gov.hmcts.reform.dev.exceptions.TaskNotFoundException;
+import uk.gov.hmcts.reform.dev.dto.request.TaskField;
+import uk.gov.hmcts.reform.dev.dto.request.TaskQuery;
+import uk.gov.hmcts.reform.dev.dto.request.UpdateStatusRequestDto;
+import uk.gov.hmcts.reform.dev.dto.response.BatchItemResult;
+import uk.gov.hmcts.reform.dev.dto.response.BatchResult;
+import uk.gov.hmcts.reform.dev.dto.response.TaskChangesPage;
+import uk.gov.hmcts.reform.dev.dto.response.TaskFieldsPage;
+import uk.gov.hmcts.reform.dev.dto.response.TaskPage;
+import uk.gov.hmcts.reform.dev.dto.response.TaskSearchPage;
+import uk.gov.hmcts.reform.dev.dto.response.TaskSummary;
+import uk.gov.hmcts.reform.dev.events.TaskChangeFeed;
 import uk.gov.hmcts.reform.dev.models.Task;
+import uk.gov.hmcts.reform.dev.models.TaskCursor;
+import uk.gov.hmcts.reform.dev.models.TaskSearchCursor;
+import uk.gov.hmcts.reform.dev.services.IdempotencyService;
+import uk.gov.hmcts.reform.dev.services.TaskChangeLog;
 import uk.gov.hmcts.reform.dev.services.TaskService;
 
 import org.springframework.http.ResponseEntity;
-import static org.springframework.http.ResponseEntity.ok;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
 
+// Every endpoint is timed as tasks.controller, which leaves out writing the response body -
+// compare with http.server.requests for the time spent serialising
 @RestController
 @RequestMapping("/tasks")
 @RequiredArgsConstructor
+@Timed(value = MetricsConfig.CONTROLLER_TIMER, histogram = true)
 public class TaskController {
 
+    // Response header carrying the cursor for the next page of GET /tasks (absent on the last page)
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    // Request header making POST /tasks safe to retry - any unique value, e.g. a UUID, per task to be created
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
+    // Response header set to true when POST /tasks answers with a task an earlier request created
+    public static final String IDEMPOTENT_REPLAYED_HEADER = "Idempotent-Replayed";
+
+    // Longest Idempotency-Key accepted - the size of the idempotency_key column
+    private static final int MAX_IDEMPOTENCY_KEY_LENGTH = 255;
+
+    // Tasks listed per column by GET /tasks/summary when no limit is given
+    private static final int DEFAULT_SUMMARY_ITEMS = 5;
+
+    // Tasks change at any time, so a client may keep a response but must revalidate it (with its ETag)
+    // before using it again. Private, as a shared cache has no business holding task data
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
     private final TaskService taskService;
 
+    private final IdempotencyService idempotencyService;
+
+    private final PaginationProperties paginationProperties;
+
+    private final ObjectMapper objectMapper;
+
+    private final TaskJsonWriters taskJsonWriters;
+
+    private final BatchProperties batchProperties;
+
+    private final WriteBehindProperties writeBehindProperties;
+
+    private final SearchProperties searchProperties;
+
+    private final Validator validator;
+
+    private final TaskChangeFeed taskChangeFeed;
+
+    private final TaskChangeLog taskChangeLog;
+
     // Create a new task
+    // With an Idempotency-Key, retries of the request get the task the first one created (see IdempotencyService)
+    // In write-behind mode, creates without a key are queued and answered with 202 Accepted (see TaskWriteBehind)
     @PostMapping(consumes = "application/json", produces = "application/json")
-    public ResponseEntity<Task> createTask(@Valid @RequestBody CreateTaskRequestDto requestDto, BindingResult result) {
+    public ResponseEntity<Task> createTask(@Valid @RequestBody CreateTaskRequestDto requestDto, BindingResult result,
+                                           @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false)
+                                           String idempotencyKey) {
         // Checks if the request body is valid based on the DTO's requirements
         if (result.hasErrors()) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid request data");
         }
 
+        if (idempotencyKey != null) {
+            checkIdempotencyKey(idempotencyKey);
+            IdempotencyService.Result created = idempotencyService.createTask(
+                idempotencyKey, requestDto, () -> taskService.createTask(mapToTask(requestDto)));
+            ResponseEntity.BodyBuilder response = ResponseEntity.status(HttpStatus.CREATED)
+                .eTag(TaskETags.of(created.task()));
+            if (created.replayed()) {
+                response.header(IDEMPOTENT_REPLAYED_HEADER, "true");
+            }
+            return response.body(created.task());
+        }
+
         // Create a Task object using the data in the request DTO
         Task newTask = mapToTask(requestDto);
 
+        if (writeBehindProperties.enabled()) {
+            // Queued with its ID assigned - the Location can be read straight away, and is written shortly
+            Task accepted = taskService.submitTask(newTask);
+            return ResponseEntity.accepted()
+                .location(ServletUriComponentsBuilder.fromCurrentRequestUri()
+                              .path("/{id}").buildAndExpand(accepted.getId()).toUri())
+                .eTag(TaskETags.of(accepted))
+                .body(accepted);
+        }
+
         // Save the task to the database through the service method
         Task createdTask = taskService.createTask(newTask);
 
-        // Return the created task with a 201 Created status
-        return new ResponseEntity<>(createdTask, HttpStatus.CREATED);
+        // Return the created task with a 201 Created status and its ETag
+        return ResponseEntity.status(HttpStatus.CREATED)
+            .eTag(TaskETags.of(createdTask))
+            .body(createdTask);
+    }
+
+    // Create many tasks in one request - invalid items are reported and skipped, the rest are inserted together
+    @PostMapping(value = "/batch", consumes = "application/json", produces = "application/json")
+    public ResponseEntity<BatchResult> createTasks(@RequestBody List<CreateTaskRequestDto> requestDtos) {
+        checkBatchSize(requestDtos);
+
+        List<BatchItemResult> results = new ArrayList<>();
+        List<Integer> validIndexes = new ArrayList<>();
+        List<Task> newTasks = new ArrayList<>();
+        for (int i = 0; i < requestDtos.size(); i++) {
+            List<String> errors = validate(requestDtos.get(i));
+            if (errors.isEmpty()) {
+                validIndexes.add(i);
+                newTasks.add(mapToTask(requestDtos.get(i)));
+            } else {
+                results.add(BatchItemResult.invalid(i, null, errors));
+            }
+        }
+
+        // saveAll returns the tasks in the order they were given
+        List<Task> createdTasks = newTasks.isEmpty() ? List.of() : taskService.createTasks(newTasks);
+        for (int i = 0; i < createdTasks.size(); i++) {
+            results.add(BatchItemResult.of(validIndexes.get(i), createdTasks.get(i).getId(),
+                                           BatchItemResult.Outcome.CREATED));
+        }
+
+        results.sort(Comparator.comparingInt(BatchItemResult::index));
+        return ResponseEntity.ok(BatchResult.of(results));
+    }
+
+    // Update the status of many tasks in one request - one UPDATE statement per target status
+    @PatchMapping(value = "/batch", consumes = "application/json", produces = "application/json")
+    public ResponseEntity<BatchResult> updateTaskStatuses(@RequestBody List<BatchStatusUpdateDto> updateDtos) {
+        checkBatchSize(updateDtos);
+
+        // An ID given more than once is ambiguous, so every item with that ID is rejected rather than
+        // picking one of its statuses
+        Map<UUID, Integer> occurrences = new HashMap<>();
+        updateDtos.stream()
+            .filter(Objects::nonNull)
+            .map(BatchStatusUpdateDto::getId)
+            .filter(Objects::nonNull)
+            .forEach(id -> occurrences.merge(id, 1, Integer::sum));
+
+        Map<UUID, Task.Status> updates = new LinkedHashMap<>();
+        Map<Integer, List<String>> invalid = new LinkedHashMap<>();
+        for (int i = 0; i < updateDtos.size(); i++) {
+            List<String> errors = validate(updateDtos.get(i));
+            if (errors.isEmpty() && occurrences.get(updateDtos.get(i).getId()) > 1) {
+                errors = List.of("ID must not appear more than once in the batch");
+            }
+            if (errors.isEmpty()) {
+                updates.put(updateDtos.get(i).getId(), updateDtos.get(i).getStatus());
+            } else {
+                invalid.put(i, errors);
+            }
+        }
+
+        // As for a single update - a task accepted with 202 and still queued would otherwise be NOT_FOUND
+        taskService.awaitWritten(updates.keySet());
+        Set<UUID> updated = updates.isEmpty() ? Set.of() : taskService.updateTaskStatuses(updates);
+
+        List<BatchItemResult> results = new ArrayList<>();
+        for (int i = 0; i < updateDtos.size(); i++) {
+            UUID id = updateDtos.get(i) == null ? null : updateDtos.get(i).getId();
+            if (invalid.containsKey(i)) {
+                results.add(BatchItemResult.invalid(i, id, invalid.get(i)));
+            } else {
+                results.add(BatchItemResult.of(i, id, updated.contains(id)
+                    ? BatchItemResult.Outcome.UPDATED : BatchItemResult.Outcome.NOT_FOUND));
+            }
+        }
+        return ResponseEntity.ok(BatchResult.of(results));
+    }
+
+    // Delete many tasks in one request - the body is a JSON array of task IDs
+    @DeleteMapping(value = "/batch", consumes = "application/json", produces = "application/json")
+    public ResponseEntity<BatchResult> deleteTasks(@RequestBody List<UUID> ids) {
+        checkBatchSize(ids);
+
+        List<UUID> validIds = ids.stream().filter(Objects::nonNull).toList();
+        // As for a single delete - a still-queued task would be NOT_FOUND here and then written anyway
+        taskService.awaitWritten(validIds);
+        Set<UUID> deleted = validIds.isEmpty() ? Set.of() : taskService.deleteTasks(validIds);
+
+        List<BatchItemResult> results = new ArrayList<>();
+        for (int i = 0; i < ids.size(); i++) {
+            UUID id = ids.get(i);
+            if (id == null) {
+                results.add(BatchItemResult.invalid(i, null, List.of("ID must not be null")));
+            } else {
+                results.add(BatchItemResult.of(i, id, deleted.contains(id)
+                    ? BatchItemResult.Outcome.DELETED : BatchItemResult.Outcome.NOT_FOUND));
+            }
+        }
+        return ResponseEntity.ok(BatchResult.of(results));
+    }
+
+    // Helper method to reject empty batches and batches larger than tasks.batch.max-size
+    private void checkBatchSize(List<?> items) {
+        if (items.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Batch must contain at least one item");
+        }
+        if (items.size() > batchProperties.maxSize()) {
+            throw new ResponseStatusException(
+                HttpStatus.BAD_REQUEST, "Batch must not contain more than " + batchProperties.maxSize() + " items");
+        }
+    }
+
+    // Helper method to reject Idempotency-Keys that are empty or too long to record
+    private static void checkIdempotencyKey(String idempotencyKey) {
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_IDEMPOTENCY_KEY_LENGTH) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, IDEMPOTENCY_KEY_HEADER
+                + " must be between 1 and " + MAX_IDEMPOTENCY_KEY_LENGTH + " characters");
+        }
+    }
+
+    // Helper method to validate one batch item the same way @Valid validates a single request body
+    private List<String> validate(Object item) {
+        if (item == null) {
+            return List.of("Item must not be null");
+        }
+        return validator.validate(item).stream()
+            .map(ConstraintViolation::getMessage)
+            .sorted()
+            .toList();
     }
 
     // Helper method to map the data from CreateTaskRequestDto into a Task object
-    private Task mapToTask(CreateTaskRequestDto requestDto) {
+    // Public and static so the JMH benchmarks can measure it on its own
+    public static Task mapToTask(CreateTaskRequestDto requestDto) {
         return Task.builder()
             .title(requestDto.getTitle())
             .description(requestDto.getDescription()) // Will still work if description is null
@@ -51,39 +296,217 @@ public class TaskController {
             .build();
     }
 
-    // Get all tasks
+    // Get a page of tasks, optionally filtered by status, due date range and overdue flag
+    // Pass the X-Next-Cursor header of one response as the cursor parameter to get the next page
+    // With fields (e.g. fields=id,title,status,dueDateTime) each task has only those fields, and only
+    // those columns are read from the database
     @GetMapping()
-    public List<Task> getAllTasks() {
-        List<Task> allTasks = taskService.getAllTasks();
-        return ok(allTasks).getBody();
+    public ResponseEntity<List<?>> getAllTasks(
+        @RequestParam(required = false) @MeterTag(key = MetricsConfig.STATUS_TAG, resolver = TaskStatusTag.class)
+        Task.Status status,
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime dueFrom,
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime dueTo,
+        @RequestParam(required = false) Boolean overdue,
+        @RequestParam(required = false) String cursor,
+        @RequestParam(required = false) Integer limit,
+        @RequestParam(required = false) String fields) {
+
+        TaskQuery query = TaskQuery.builder()
+            .status(status)
+            .dueFrom(dueFrom)
+            .dueTo(dueTo)
+            .overdue(overdue)
+            .after(parseCursor(cursor))
+            .limit(resolveLimit(limit))
+            .build();
+
+        if (fields != null) {
+            TaskFieldsPage page = taskService.getTaskFields(query, parseFields(fields));
+            return pageResponse(page.nextCursor()).body(page.tasks());
+        }
+        TaskPage page = taskService.getTasks(query);
+        return pageResponse(page.nextCursor()).body(page.tasks());
+    }
+
+    // Helper method to start a page response, with the next page's cursor when there is one
+    private static ResponseEntity.BodyBuilder pageResponse(String nextCursor) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().cacheControl(REVALIDATE);
+        if (nextCursor != null) {
+            response.header(NEXT_CURSOR_HEADER, nextCursor);
+        }
+        return response;
+    }
+
+    // Helper method to parse the fields parameter, rejecting names that aren't task fields
+    private static Set<TaskField> parseFields(String fields) {
+        try {
+            return TaskField.parse(fields);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    // Helper method to decode the client's cursor, rejecting anything we didn't hand out
+    private TaskCursor parseCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            return TaskCursor.decode(cursor);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+        }
+    }
+
+    // Helper method to apply the default page size and cap requests at the configured maximum
+    private int resolveLimit(Integer limit) {
+        if (limit == null) {
+            return paginationProperties.defaultPageSize();
+        }
+        if (limit < 1) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Limit must be at least 1");
+        }
+        return Math.min(limit, paginationProperties.maxPageSize());
+    }
+
+    // Search task titles and descriptions, best match first, optionally within one status
+    // q takes words, "quoted phrases", OR and -excluded words (PostgreSQL's websearch syntax)
+    // Pages work as for GET /tasks - pass X-Next-Cursor back as cursor
+    @GetMapping("/search")
+    public ResponseEntity<List<Task>> searchTasks(
+        @RequestParam String q,
+        @RequestParam(required = false) @MeterTag(key = MetricsConfig.STATUS_TAG, resolver = TaskStatusTag.class)
+        Task.Status status,
+        @RequestParam(required = false) String cursor,
+        @RequestParam(required = false) Integer limit) {
+        if (q.isBlank() || q.length() > searchProperties.maxQueryLength()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                "q must be between 1 and " + searchProperties.maxQueryLength() + " characters");
+        }
+        TaskSearchPage page = taskService.searchTasks(q, status, parseSearchCursor(cursor), resolveLimit(limit));
+        return pageResponse(page.nextCursor()).body(page.tasks());
     }
 
-    // Get a task by ID
+    // Helper method to decode a search cursor, rejecting anything we didn't hand out
+    private static TaskSearchCursor parseSearchCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            return TaskSearchCursor.decode(cursor);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+        }
+    }
+
+    // Counts and overdue counts per status, with the first few tasks due in each column (limit, default 5)
+    // Enough to draw the board header and columns without fetching every task
+    @GetMapping(value = "/summary", produces = "application/json")
+    public ResponseEntity<TaskSummary> getTaskSummary(@RequestParam(required = false) Integer limit) {
+        int items = limit == null ? DEFAULT_SUMMARY_ITEMS : resolveLimit(limit);
+        return ResponseEntity.ok().cacheControl(REVALIDATE).body(taskService.getSummary(items));
+    }
+
+    // Export all tasks (optionally only those with the given status) as newline-delimited JSON
+    // Tasks are written as they are read from the database, so the response can be any size
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportTasks(
+        @RequestParam(required = false) @MeterTag(key = MetricsConfig.STATUS_TAG, resolver = TaskStatusTag.class)
+        Task.Status status) {
+        ObjectWriter writer = taskJsonWriters.exportLine();
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = objectMapper.createGenerator(outputStream)) {
+                long exported = taskService.exportTasks(status, task -> writeTask(writer, generator, task));
+                if (exported > 0) {
+                    generator.writeRaw('\n');
+                }
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        };
+
+        // A snapshot of the whole table - not worth keeping
+        return ResponseEntity.ok()
+            .cacheControl(CacheControl.noStore())
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .body(body);
+    }
+
+    // Helper method to write one task to the export stream
+    private void writeTask(ObjectWriter writer, JsonGenerator generator, Task task) {
+        try {
+            writer.writeValue(generator, task);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Stream task changes as Server-Sent Events (created, status-changed, deleted) instead of polling GET /tasks
+    // A new stream starts with a ready event, after which the client loads the board and applies changes to it
+    // Reconnecting with Last-Event-ID replays what was missed, or sends resync if that is no longer possible
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamTaskEvents(@RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        return taskChangeFeed.subscribe(lastEventId);
+    }
+
+    // Changes recorded after the since sequence, oldest first, for consumers that keep their own copy of the tasks
+    // Pass next back as since to continue. 410 Gone if retention has removed changes the consumer hasn't seen
+    @GetMapping(value = "/changes", produces = "application/json")
+    public ResponseEntity<TaskChangesPage> getTaskChanges(@RequestParam(defaultValue = "0") long since,
+                                                          @RequestParam(required = false) Integer limit) {
+        if (!taskChangeLog.isEnabled()) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "The change log is turned off");
+        }
+        if (since < 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "since must not be negative");
+        }
+        return ResponseEntity.ok()
+            .cacheControl(CacheControl.noStore())
+            .body(taskChangeLog.changesSince(since, resolveLimit(limit)));
+    }
+
+    // Get a task by ID, with its version as the ETag
+    // If-None-Match is checked against the stored version first, so an unchanged task is answered
+    // with 304 Not Modified without loading or serialising it
     @GetMapping("/{id}")
-    public ResponseEntity<Task> getTaskById(@PathVariable String id) {
+    public ResponseEntity<Task> getTaskById(@PathVariable String id,
+                                            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false)
+                                            String ifNoneMatch,
+                                            WebRequest request) {
+        if (ifNoneMatch != null) {
+            String currentETag = TaskETags.of(taskService.getTaskVersion(id)); // throws TaskNotFoundException if not found
+            if (request.checkNotModified(currentETag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(currentETag)
+                    .cacheControl(REVALIDATE)
+                    .build();
+            }
+        }
+
         Task task = taskService.getTaskById(id); // throws TaskNotFoundException if not found
-        return ResponseEntity.ok(task);
+        return ResponseEntity.ok().eTag(TaskETags.of(task)).cacheControl(REVALIDATE).body(task);
     }
 
 
-    // Update the status of a task
+    // Update the status of a task - with If-Match the update only happens if the task is still at that version
     @PatchMapping("/{id}")
-    public ResponseEntity<Task> updateTaskStatus(@PathVariable String id, @Valid @RequestBody uk.gov.hmcts.reform.dev.dto.request.UpdateStatusRequestDto dto) {
-        Task updatedTask = taskService.updateTaskStatus(id, dto.getStatus());
-        return ResponseEntity.ok(updatedTask);
+    public ResponseEntity<Task> updateTaskStatus(
+        @PathVariable String id,
+        @Valid @RequestBody @MeterTag(key = MetricsConfig.STATUS_TAG, resolver = TaskStatusTag.class)
+        UpdateStatusRequestDto dto,
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        taskService.awaitWritten(id);
+        Task updatedTask = taskService.updateTaskStatus(id, dto.getStatus(), TaskETags.expectedVersion(ifMatch));
+        return ResponseEntity.ok().eTag(TaskETags.of(updatedTask)).body(updatedTask);
     }
 
-    // Delete a task
+    // Delete a task - with If-Match the delete only happens if the task is still at that version
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> deleteTask(@PathVariable String id) {
-        taskService.deleteTask(id);
+    public ResponseEntity<Void> deleteTask(@PathVariable String id,
+                                           @RequestHeader(value = HttpHeaders.IF_MATCH, required = false)
+                                           String ifMatch) {
+        taskService.awaitWritten(id);
+        taskService.deleteTask(id, TaskETags.expectedVersion(ifMatch));
         return ResponseEntity.noContent().build();
     }
-
-
-    // Exception handler for TaskNotFoundException
-    @ExceptionHandler(TaskNotFoundException.class)
-    public ResponseEntity<Object> handleTaskNotFoundException(TaskNotFoundException ex) {
-        return new ResponseEntity<>(HttpStatus.NOT_FOUND);
-    }
 }
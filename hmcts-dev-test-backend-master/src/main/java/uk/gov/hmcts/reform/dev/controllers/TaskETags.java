@@ -0,0 +1,39 @@
+package uk.gov.hmcts.reform.dev.controllers;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+import uk.gov.hmcts.reform.dev.models.Task;
+
+// Converts between a task's version and its ETag header value, e.g. version 3 <-> "3"
+final class TaskETags {
+
+    private TaskETags() {
+    }
+
+    static String of(long version) {
+        return "\"" + version + "\"";
+    }
+
+    // Null for a task that has no version yet
+    static String of(Task task) {
+        return task.getVersion() == null ? null : of(task.getVersion());
+    }
+
+    // The version an If-Match header asks for, or null if the header is absent or "*" (any version)
+    // Conditional writes compare against a single version, so a list of ETags is rejected
+    static Long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || "*".equals(ifMatch.trim())) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.length() < 3 || !tag.startsWith("\"") || !tag.endsWith("\"")) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "If-Match must be a single strong ETag");
+        }
+        try {
+            return Long.parseLong(tag.substring(1, tag.length() - 1));
+        } catch (NumberFormatException e) {
+            // Not an ETag we handed out, so it can't match the current version
+            throw new ResponseStatusException(HttpStatus.PRECONDITION_FAILED, "If-Match does not match this task");
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package uk.gov.hmcts.reform.dev.controllers;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExceptionHandler;
+import uk.gov.hmcts.reform.dev.exceptions.ChangesExpiredException;
+import uk.gov.hmcts.reform.dev.exceptions.DatabaseBusyException;
+import uk.gov.hmcts.reform.dev.exceptions.IdempotencyKeyReusedException;
+import uk.gov.hmcts.reform.dev.exceptions.TaskNotFoundException;
+import uk.gov.hmcts.reform.dev.exceptions.TaskVersionConflictException;
+
+// Turns errors from every controller into RFC 7807 problem details (application/problem+json)
+// The base class does the same for Spring's own exceptions, including the ResponseStatusExceptions
+// the controllers throw for bad input
+@RestControllerAdvice
+public class TaskExceptionHandler extends ResponseEntityExceptionHandler {
+
+    // No task with that ID - 404
+    @ExceptionHandler(TaskNotFoundException.class)
+    public ProblemDetail handleTaskNotFoundException(TaskNotFoundException ex) {
+        ProblemDetail problem = ProblemDetail.forStatusAndDetail(HttpStatus.NOT_FOUND, ex.getMessage());
+        problem.setTitle("Task not found");
+        problem.setProperty("taskId", ex.getTaskId());
+        return problem;
+    }
+
+    // The If-Match precondition failed - 412
+    @ExceptionHandler(TaskVersionConflictException.class)
+    public ProblemDetail handleTaskVersionConflictException(TaskVersionConflictException ex) {
+        ProblemDetail problem = ProblemDetail.forStatusAndDetail(HttpStatus.PRECONDITION_FAILED, ex.getMessage());
+        problem.setTitle("Task has changed");
+        problem.setProperty("taskId", ex.getTaskId());
+        problem.setProperty("expectedVersion", ex.getExpectedVersion());
+        return problem;
+    }
+
+    // An Idempotency-Key sent again with a different request body - 422
+    @ExceptionHandler(IdempotencyKeyReusedException.class)
+    public ProblemDetail handleIdempotencyKeyReusedException(IdempotencyKeyReusedException ex) {
+        ProblemDetail problem = ProblemDetail.forStatusAndDetail(HttpStatus.UNPROCESSABLE_ENTITY, ex.getMessage());
+        problem.setTitle("Idempotency key reused");
+        problem.setProperty("idempotencyKey", ex.getIdempotencyKey());
+        return problem;
+    }
+
+    // GET /tasks/changes from a sequence retention has passed - 410, reload the tasks and resume from purgedThrough
+    @ExceptionHandler(ChangesExpiredException.class)
+    public ProblemDetail handleChangesExpiredException(ChangesExpiredException ex) {
+        ProblemDetail problem = ProblemDetail.forStatusAndDetail(HttpStatus.GONE, ex.getMessage());
+        problem.setTitle("Changes expired");
+        problem.setProperty("since", ex.getSince());
+        problem.setProperty("purgedThrough", ex.getPurgedThrough());
+        return problem;
+    }
+
+    // Too many requests already waiting on the database - 503, try again shortly
+    @ExceptionHandler(DatabaseBusyException.class)
+    public ResponseEntity<ProblemDetail> handleDatabaseBusyException(DatabaseBusyException ex) {
+        ProblemDetail problem = ProblemDetail.forStatusAndDetail(HttpStatus.SERVICE_UNAVAILABLE, ex.getMessage());
+        problem.setTitle("Database busy");
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+            .header(HttpHeaders.RETRY_AFTER, "1")
+            .body(problem);
+    }
+}
@@ -0,0 +1,24 @@
+package uk.gov.hmcts.reform.dev.dto.request;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import uk.gov.hmcts.reform.dev.models.Task;
+
+import java.util.UUID;
+
+// One item of a PATCH /tasks/batch request
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchStatusUpdateDto {
+
+    @NotNull(message = "ID must not be null")
+    private UUID id;
+
+    @NotNull(message = "Status must not be null")
+    private Task.Status status;
+}
@@ -0,0 +1,65 @@
+package uk.gov.hmcts.reform.dev.dto.request;
+
+import uk.gov.hmcts.reform.dev.models.Task;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+// A task field that can be asked for with GET /tasks?fields=, named as it appears in the JSON
+public enum TaskField {
+    ID("id", Task::getId),
+    TITLE("title", Task::getTitle),
+    DESCRIPTION("description", Task::getDescription),
+    STATUS("status", Task::getStatus),
+    DUE_DATE_TIME("dueDateTime", Task::getDueDateTime),
+    VERSION("version", Task::getVersion),
+    OVERDUE("overdue", Task::isOverdue);
+
+    private final String property;
+
+    private final Function<Task, Object> getter;
+
+    TaskField(String property, Function<Task, Object> getter) {
+        this.property = property;
+        this.getter = getter;
+    }
+
+    // The entity property, which is also the JSON field name
+    public String property() {
+        return property;
+    }
+
+    public Object valueOf(Task task) {
+        return getter.apply(task);
+    }
+
+    // Parse a comma separated list such as "id,title,status"
+    // Throws IllegalArgumentException for a name that isn't a task field, or an empty list
+    public static Set<TaskField> parse(String fields) {
+        Set<TaskField> parsed = EnumSet.noneOf(TaskField.class);
+        for (String name : fields.split(",")) {
+            String trimmed = name.trim();
+            if (!trimmed.isEmpty()) {
+                parsed.add(Arrays.stream(values())
+                               .filter(field -> field.property.equals(trimmed))
+                               .findFirst()
+                               .orElseThrow(() -> new IllegalArgumentException("Unknown field: " + trimmed)));
+            }
+        }
+        if (parsed.isEmpty()) {
+            throw new IllegalArgumentException("No fields given");
+        }
+        return parsed;
+    }
+
+    // Just the given fields of a task, in declaration order
+    public static Map<String, Object> project(Task task, Set<TaskField> fields) {
+        Map<String, Object> projected = new LinkedHashMap<>();
+        fields.forEach(field -> projected.put(field.property, field.valueOf(task)));
+        return projected;
+    }
+}
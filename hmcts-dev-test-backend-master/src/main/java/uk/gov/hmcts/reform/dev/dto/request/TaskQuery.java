@@ -0,0 +1,26 @@
+package uk.gov.hmcts.reform.dev.dto.request;
+
+import lombok.Builder;
+import lombok.Getter;
+import uk.gov.hmcts.reform.dev.models.Task;
+import uk.gov.hmcts.reform.dev.models.TaskCursor;
+
+import java.time.LocalDateTime;
+
+// Filters and keyset position for a single page of GET /tasks
+@Getter
+@Builder
+public class TaskQuery {
+
+    private Task.Status status; // Optional - all statuses when null
+
+    private LocalDateTime dueFrom; // Optional - inclusive lower bound on dueDateTime
+
+    private LocalDateTime dueTo; // Optional - exclusive upper bound on dueDateTime
+
+    private Boolean overdue; // Optional - only tasks with this overdue flag when set
+
+    private TaskCursor after; // Optional - null for the first page
+
+    private int limit;
+}
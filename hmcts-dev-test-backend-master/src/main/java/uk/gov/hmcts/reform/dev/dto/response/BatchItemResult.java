@@ -0,0 +1,31 @@
+package uk.gov.hmcts.reform.dev.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+import java.util.UUID;
+
+// Outcome for one item of a /tasks/batch request, index is the item's position in the request body
+@JsonInclude(JsonInclude.Include.NON_EMPTY)
+public record BatchItemResult(int index, UUID id, Outcome outcome, List<String> errors) {
+
+    public enum Outcome {
+        CREATED,
+        UPDATED,
+        DELETED,
+        NOT_FOUND,
+        INVALID
+    }
+
+    public static BatchItemResult of(int index, UUID id, Outcome outcome) {
+        return new BatchItemResult(index, id, outcome, List.of());
+    }
+
+    public static BatchItemResult invalid(int index, UUID id, List<String> errors) {
+        return new BatchItemResult(index, id, Outcome.INVALID, errors);
+    }
+
+    public boolean succeeded() {
+        return outcome == Outcome.CREATED || outcome == Outcome.UPDATED || outcome == Outcome.DELETED;
+    }
+}
@@ -0,0 +1,12 @@
+package uk.gov.hmcts.reform.dev.dto.response;
+
+import java.util.List;
+
+// Response body of the /tasks/batch endpoints - one result per request item, in request order
+public record BatchResult(int succeeded, int failed, List<BatchItemResult> results) {
+
+    public static BatchResult of(List<BatchItemResult> results) {
+        int succeeded = (int) results.stream().filter(BatchItemResult::succeeded).count();
+        return new BatchResult(succeeded, results.size() - succeeded, results);
+    }
+}
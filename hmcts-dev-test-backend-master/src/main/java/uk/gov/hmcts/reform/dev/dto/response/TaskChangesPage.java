@@ -0,0 +1,10 @@
+package uk.gov.hmcts.reform.dev.dto.response;
+
+import uk.gov.hmcts.reform.dev.models.TaskChange;
+
+import java.util.List;
+
+// One page of the change log, oldest first. Pass next back as since for the following page, or to poll for
+// new changes once hasMore is false
+public record TaskChangesPage(List<TaskChange> changes, long next, boolean hasMore) {
+}
@@ -0,0 +1,13 @@
+package uk.gov.hmcts.reform.dev.dto.response;
+
+import java.util.List;
+import java.util.Map;
+
+// One page of GET /tasks?fields=, each task holding only the requested fields, in the same order
+// and with the same cursor as TaskPage
+public record TaskFieldsPage(List<Map<String, Object>> tasks, String nextCursor) {
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+}
@@ -0,0 +1,13 @@
+package uk.gov.hmcts.reform.dev.dto.response;
+
+import uk.gov.hmcts.reform.dev.models.Task;
+
+import java.util.List;
+
+// One page of search results, best match first; nextCursor is null on the last page
+public record TaskSearchPage(List<Task> tasks, String nextCursor) {
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+}
@@ -0,0 +1,15 @@
+package uk.gov.hmcts.reform.dev.dto.response;
+
+import uk.gov.hmcts.reform.dev.models.Task;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+// GET /tasks/summary - totals for the board header and, per status column, its count, how many are overdue
+// and the first tasks due. asOf is the time overdue was measured against
+public record TaskSummary(LocalDateTime asOf, long total, long overdue, Map<Task.Status, Column> columns) {
+
+    public record Column(long count, long overdue, List<Task> nextDue) {
+    }
+}
@@ -0,0 +1,315 @@
+package uk.gov.hmcts.reform.dev.events;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import uk.gov.hmcts.reform.dev.config.ClusterProperties;
+import uk.gov.hmcts.reform.dev.config.DatabaseBulkhead;
+import uk.gov.hmcts.reform.dev.services.TaskCache;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.UUID;
+
+// Keeps instances that share a database in step, with PostgreSQL LISTEN/NOTIFY instead of a separate broker
+// - Sending: every TaskChangeEvent and TaskEvictionEvent is sent with pg_notify. Inside a transaction they are
+//   collected and sent just before commit, on the transaction's connection, so they go out if and only if it
+//   commits
+// - Receiving: a thread holds one connection of its own (not from the pool) listening on the channel. For each
+//   change another instance made, the task is evicted from the cache, the board cache is cleared and the change
+//   is pushed to this instance's GET /tasks/events subscribers. Evictions only evict and clear the board
+// - While the listening connection is down changes are missed, so after reconnecting every cache is cleared and
+//   every subscriber is told to resync
+// A notification carries its sender's node ID, so an instance ignores its own
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "tasks.cluster", name = "enabled", havingValue = "true")
+public class PostgresTaskChangeBus implements SmartLifecycle {
+
+    // NOTIFY payloads must be under 8000 bytes - changes are packed into as few notifications as fit
+    private static final int MAX_PAYLOAD_BYTES = 7_500;
+
+    // How long the listener waits for notifications before checking whether it has been stopped
+    private static final int POLL_MILLIS = 500;
+
+    private final ClusterProperties properties;
+
+    private final DataSourceProperties dataSourceProperties;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // Sends outside a transaction take a pool connection of their own, so they take a permit first
+    private final DatabaseBulkhead databaseBulkhead;
+
+    private final ObjectMapper objectMapper;
+
+    private final TaskCache taskCache;
+
+    private final TaskChangeFeed taskChangeFeed;
+
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final Counter sent;
+
+    private final Counter received;
+
+    private final Counter reconnects;
+
+    private volatile boolean running;
+
+    private Thread listener;
+
+    public PostgresTaskChangeBus(ClusterProperties properties, DataSourceProperties dataSourceProperties,
+                                 JdbcTemplate jdbcTemplate, DatabaseBulkhead databaseBulkhead,
+                                 ObjectMapper objectMapper, TaskCache taskCache, TaskChangeFeed taskChangeFeed,
+                                 MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.dataSourceProperties = dataSourceProperties;
+        this.jdbcTemplate = jdbcTemplate;
+        this.databaseBulkhead = databaseBulkhead;
+        this.objectMapper = objectMapper;
+        this.taskCache = taskCache;
+        this.taskChangeFeed = taskChangeFeed;
+        this.sent = Counter.builder("tasks.cluster.notifications")
+            .description("Task change notifications sent to or received from other instances")
+            .tag("direction", "sent")
+            .register(meterRegistry);
+        this.received = Counter.builder("tasks.cluster.notifications")
+            .description("Task change notifications sent to or received from other instances")
+            .tag("direction", "received")
+            .register(meterRegistry);
+        this.reconnects = Counter.builder("tasks.cluster.reconnects")
+            .description("Times the listening connection was reopened, each followed by a full cache clear")
+            .register(meterRegistry);
+    }
+
+    // Runs as the change is published, so a change made in a transaction can be held back until it commits
+    @EventListener
+    public void onChange(TaskChangeEvent event) {
+        if (inTransaction()) {
+            pendingInTransaction().changes().add(event);
+        } else {
+            send(List.of(event));
+        }
+    }
+
+    @EventListener
+    public void onEviction(TaskEvictionEvent event) {
+        if (inTransaction()) {
+            pendingInTransaction().evicted().addAll(event.ids());
+        } else {
+            sendEvictions(event.ids());
+        }
+    }
+
+    private static boolean inTransaction() {
+        return TransactionSynchronizationManager.isSynchronizationActive()
+            && TransactionSynchronizationManager.isActualTransactionActive();
+    }
+
+    // Changes and evictions collected in the current transaction, sent together just before it commits
+    private Pending pendingInTransaction() {
+        Pending pending = (Pending) TransactionSynchronizationManager.getResource(this);
+        if (pending != null) {
+            return pending;
+        }
+        Pending created = new Pending(new ArrayList<>(), new ArrayList<>());
+        TransactionSynchronizationManager.bindResource(this, created);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                send(created.changes());
+                sendEvictions(created.evicted());
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(PostgresTaskChangeBus.this);
+            }
+        });
+        return created;
+    }
+
+    // Send the changes in as few notifications as fit, on the current transaction's connection if there is one
+    public void send(List<TaskChangeEvent> changes) {
+        pack("changes", changes.stream().map(this::toJson).toList());
+    }
+
+    // Tell the other instances to drop these tasks from their caches, packed as for send
+    public void sendEvictions(List<UUID> ids) {
+        pack("evicted", ids.stream().map(id -> "\"" + id + "\"").toList());
+    }
+
+    // Send JSON values as arrays under the given field, as many to a notification as fit
+    private void pack(String field, List<String> values) {
+        StringBuilder batch = new StringBuilder();
+        int batchBytes = 0;
+        for (String json : values) {
+            int bytes = json.getBytes(StandardCharsets.UTF_8).length + 1;
+            if (batchBytes > 0 && batchBytes + bytes > MAX_PAYLOAD_BYTES) {
+                notify(field, batch);
+                batch.setLength(0);
+                batchBytes = 0;
+            }
+            if (batchBytes > 0) {
+                batch.append(',');
+            }
+            batch.append(json);
+            batchBytes += bytes;
+        }
+        if (batchBytes > 0) {
+            notify(field, batch);
+        }
+    }
+
+    private void notify(String field, CharSequence values) {
+        String payload = "{\"node\":\"" + nodeId + "\",\"" + field + "\":[" + values + "]}";
+        databaseBulkhead.run(() -> jdbcTemplate.queryForList("select pg_notify(?, ?)", properties.channel(), payload));
+        sent.increment();
+    }
+
+    // Apply one notification - ignored if this instance sent it
+    public void receive(String payload) {
+        Notification notification;
+        try {
+            notification = objectMapper.readValue(payload, Notification.class);
+        } catch (JsonProcessingException e) {
+            log.warn("Ignoring unreadable task change notification", e);
+            return;
+        }
+        if (nodeId.equals(notification.node())) {
+            return;
+        }
+        received.increment();
+        if (notification.changes() != null) {
+            notification.changes().forEach(change -> {
+                taskCache.evictNow(change.id());
+                taskChangeFeed.publish(change);
+            });
+        }
+        if (notification.evicted() != null) {
+            notification.evicted().forEach(taskCache::evictNow);
+        }
+        taskCache.invalidateBoard();
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        listener = new Thread(this::listen, "task-change-listener");
+        listener.setDaemon(true);
+        listener.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (listener == null) {
+            return;
+        }
+        try {
+            listener.join(POLL_MILLIS * 2L);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // The listener thread - reconnects until stopped
+    private void listen() {
+        boolean connectedBefore = false;
+        while (running) {
+            try (Connection connection = connect()) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + properties.channel());
+                }
+                if (connectedBefore) {
+                    resync();
+                }
+                connectedBefore = true;
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(POLL_MILLIS);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            receive(notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException | RuntimeException e) {
+                if (running) {
+                    log.warn("Task change listener lost its connection, reconnecting in {}ms",
+                             properties.reconnectDelay().toMillis(), e);
+                    sleep(properties.reconnectDelay().toMillis());
+                }
+            }
+        }
+    }
+
+    // Straight from the driver rather than the pool - it is held for as long as the application runs
+    private Connection connect() throws SQLException {
+        Properties info = new Properties();
+        info.setProperty("user", dataSourceProperties.determineUsername());
+        String password = dataSourceProperties.determinePassword();
+        if (password != null) {
+            info.setProperty("password", password);
+        }
+        // Notice a dead connection even though nothing is sent on it
+        info.setProperty("tcpKeepAlive", "true");
+        info.setProperty("ApplicationName", "task-change-listener");
+        return DriverManager.getConnection(dataSourceProperties.determineUrl(), info);
+    }
+
+    // Anything could have changed while we weren't listening
+    private void resync() {
+        reconnects.increment();
+        taskCache.evictAll();
+        taskCache.invalidateBoard();
+        taskChangeFeed.resyncAll();
+    }
+
+    private String toJson(TaskChangeEvent change) {
+        try {
+            return objectMapper.writeValueAsString(change);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialise task change " + change.id(), e);
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // One of changes and evicted is set
+    private record Notification(String node, List<TaskChangeEvent> changes, List<UUID> evicted) {
+    }
+
+    private record Pending(List<TaskChangeEvent> changes, List<UUID> evicted) {
+    }
+}
@@ -0,0 +1,47 @@
+package uk.gov.hmcts.reform.dev.events;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import uk.gov.hmcts.reform.dev.models.Task;
+
+import java.util.UUID;
+
+// One committed change to a task, published by TaskService and pushed to GET /tasks/events subscribers
+// - CREATED carries the new task
+// - STATUS_CHANGED carries the new status, and the whole task when the write read it back
+// - DELETED carries just the ID
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record TaskChangeEvent(Type type, UUID id, Task.Status status, Task task) {
+
+    public enum Type {
+        CREATED("created"),
+        STATUS_CHANGED("status-changed"),
+        DELETED("deleted");
+
+        private final String eventName;
+
+        Type(String eventName) {
+            this.eventName = eventName;
+        }
+
+        // SSE event name, so clients can addEventListener per type
+        public String eventName() {
+            return eventName;
+        }
+    }
+
+    public static TaskChangeEvent created(Task task) {
+        return new TaskChangeEvent(Type.CREATED, task.getId(), task.getStatus(), task);
+    }
+
+    public static TaskChangeEvent statusChanged(Task task) {
+        return new TaskChangeEvent(Type.STATUS_CHANGED, task.getId(), task.getStatus(), task);
+    }
+
+    public static TaskChangeEvent statusChanged(UUID id, Task.Status status) {
+        return new TaskChangeEvent(Type.STATUS_CHANGED, id, status, null);
+    }
+
+    public static TaskChangeEvent deleted(UUID id) {
+        return new TaskChangeEvent(Type.DELETED, id, null, null);
+    }
+}
@@ -0,0 +1,350 @@
+package uk.gov.hmcts.reform.dev.events;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import uk.gov.hmcts.reform.dev.config.TaskEventsProperties;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Fans committed task changes out to GET /tasks/events subscribers as Server-Sent Events
+// - Every change gets a sequence number, sent as the SSE id. A reconnecting client sends the last one
+//   back as Last-Event-ID and is replayed what it missed from a bounded history
+// - Each subscriber has a bounded queue, drained on a virtual thread of its own while there is anything to
+//   send, so a slow client never holds up writers or other clients. A client that falls a whole queue behind
+//   has its queue dropped and is sent a resync event instead, telling it to reload the board
+// - A client that stops reading altogether blocks its write once the socket buffers fill. After
+//   writeTimeout it is dropped, and its stream ends when the write fails or the stream times out
+// - Idle subscribers hold no thread, just their emitter and an empty queue
+@Component
+public class TaskChangeFeed {
+
+    // First event on a new stream - the client should load the board, then apply changes as they arrive
+    public static final String READY_EVENT = "ready";
+
+    // The client missed changes we can no longer replay - it should reload the board
+    public static final String RESYNC_EVENT = "resync";
+
+    private final TaskEventsProperties properties;
+
+    private final ObjectMapper objectMapper;
+
+    private final Executor dispatcher;
+
+    // Sends heartbeats and drops subscribers whose writes have stalled, null when a test drives them
+    private final ScheduledExecutorService scheduler;
+
+    // Event IDs are prefixed with the instance's start time, so IDs handed out before a restart
+    // are never mistaken for ones from this run
+    private final String epoch = Long.toString(System.currentTimeMillis(), Character.MAX_RADIX);
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+    // Guards sequence, history and fan-out, so every subscriber sees changes in sequence order
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final Deque<Sequenced> history = new ArrayDeque<>();
+
+    private volatile long sequence;
+
+    @Autowired
+    public TaskChangeFeed(TaskEventsProperties properties, ObjectMapper objectMapper) {
+        this(properties, objectMapper,
+             Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("task-events-", 0).factory()),
+             Executors.newSingleThreadScheduledExecutor(runnable -> {
+                 Thread thread = new Thread(runnable, "task-events-heartbeat");
+                 thread.setDaemon(true);
+                 return thread;
+             }));
+    }
+
+    // Tests pass their own dispatcher to control when queued events are written
+    public TaskChangeFeed(TaskEventsProperties properties, ObjectMapper objectMapper, Executor dispatcher) {
+        this(properties, objectMapper, dispatcher, null);
+    }
+
+    private TaskChangeFeed(TaskEventsProperties properties, ObjectMapper objectMapper, Executor dispatcher,
+                           ScheduledExecutorService scheduler) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.dispatcher = dispatcher;
+        this.scheduler = scheduler;
+    }
+
+    @PostConstruct
+    void startHeartbeats() {
+        if (scheduler != null) {
+            long interval = properties.heartbeatInterval().toMillis();
+            scheduler.scheduleAtFixedRate(this::sendHeartbeats, interval, interval, TimeUnit.MILLISECONDS);
+            long check = Math.max(properties.writeTimeout().toMillis() / 2, 1);
+            scheduler.scheduleAtFixedRate(this::dropStalledSubscribers, check, check, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    // Close every stream so graceful shutdown isn't held up waiting for them
+    @PreDestroy
+    void shutdown() {
+        subscribers.forEach(subscriber -> {
+            subscriber.close();
+            subscriber.emitter.complete();
+        });
+        if (dispatcher instanceof ExecutorService executor) {
+            executor.shutdownNow();
+        }
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    // Open a stream, resuming after lastEventId when the client sends one
+    public SseEmitter subscribe(String lastEventId) {
+        return subscribe(lastEventId, new SseEmitter(properties.timeout().toMillis()));
+    }
+
+    public SseEmitter subscribe(String lastEventId, SseEmitter emitter) {
+        Subscriber subscriber = new Subscriber(emitter);
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(e -> subscriber.close());
+
+        lock.lock();
+        try {
+            subscribers.add(subscriber);
+            if (lastEventId == null) {
+                subscriber.offer(new Sequenced(sequence, READY_EVENT, eventId(sequence)));
+            } else {
+                List<Sequenced> missed = missedSince(lastEventId);
+                if (missed == null || missed.size() > properties.bufferSize()) {
+                    subscriber.resync();
+                } else {
+                    missed.forEach(subscriber::offer);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        return emitter;
+    }
+
+    // Called once the write that produced the change has committed (or straight away outside a transaction)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void publish(TaskChangeEvent event) {
+        // Serialise once here rather than once per subscriber
+        String data = toJson(event);
+
+        lock.lock();
+        try {
+            long next = sequence + 1;
+            Sequenced sequenced = new Sequenced(next, event.type().eventName(), data);
+            history.addLast(sequenced);
+            if (history.size() > properties.historySize()) {
+                history.removeFirst();
+            }
+            sequence = next;
+            subscribers.forEach(subscriber -> subscriber.offer(sequenced));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Tell every subscriber to reload the board - for when changes may have been missed rather than dropped
+    // for one slow client, such as another instance's changes while the connection to hear them was down
+    public void resyncAll() {
+        lock.lock();
+        try {
+            subscribers.forEach(Subscriber::resync);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    public void sendHeartbeats() {
+        subscribers.forEach(Subscriber::heartbeat);
+    }
+
+    // Drop subscribers stuck in one write for longer than writeTimeout - the client has stopped reading.
+    // The blocked write is left to fail on its own: completing the emitter would wait on the same write
+    public void dropStalledSubscribers() {
+        long now = System.nanoTime();
+        long timeout = properties.writeTimeout().toNanos();
+        subscribers.forEach(subscriber -> {
+            long since = subscriber.sendingSince;
+            if (since != 0 && now - since > timeout) {
+                subscriber.close();
+            }
+        });
+    }
+
+    // Changes after lastEventId still in history, or null if it isn't one we can resume from
+    // Called with the lock held
+    private List<Sequenced> missedSince(String lastEventId) {
+        long last = parseEventId(lastEventId);
+        if (last < 0 || last > sequence) {
+            return null;
+        }
+        if (last < sequence && (history.isEmpty() || history.peekFirst().sequence() > last + 1)) {
+            return null;
+        }
+        List<Sequenced> missed = new ArrayList<>();
+        for (Sequenced sequenced : history) {
+            if (sequenced.sequence() > last) {
+                missed.add(sequenced);
+            }
+        }
+        return missed;
+    }
+
+    private String eventId(long sequence) {
+        return epoch + "-" + sequence;
+    }
+
+    // The sequence number in one of our event IDs, or -1 if it is malformed or from another run
+    private long parseEventId(String eventId) {
+        int separator = eventId.lastIndexOf('-');
+        if (separator < 0 || !eventId.substring(0, separator).equals(epoch)) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(eventId.substring(separator + 1));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private String toJson(TaskChangeEvent event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialise task change " + event.id(), e);
+        }
+    }
+
+    private record Sequenced(long sequence, String name, String data) {
+    }
+
+    private final class Subscriber {
+        private final SseEmitter emitter;
+
+        private final BlockingQueue<Sequenced> queue = new ArrayBlockingQueue<>(properties.bufferSize());
+
+        // Set while a drain is queued or running - at most one per subscriber, so events go out in order
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        private volatile boolean resyncPending;
+
+        private volatile boolean heartbeatPending;
+
+        private volatile boolean closed;
+
+        // System.nanoTime() when the write in progress started, 0 when not writing
+        private volatile long sendingSince;
+
+        private Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        // Called with the feed lock held
+        private void offer(Sequenced sequenced) {
+            if (!queue.offer(sequenced)) {
+                // Too far behind - drop what it hasn't read yet and tell it to reload instead
+                resync();
+                return;
+            }
+            schedule();
+        }
+
+        private void resync() {
+            resyncPending = true;
+            queue.clear();
+            schedule();
+        }
+
+        private void heartbeat() {
+            heartbeatPending = true;
+            schedule();
+        }
+
+        private void close() {
+            closed = true;
+            subscribers.remove(this);
+        }
+
+        private void schedule() {
+            if (!closed && draining.compareAndSet(false, true)) {
+                try {
+                    dispatcher.execute(this::drain);
+                } catch (RejectedExecutionException e) {
+                    // Shutting down
+                    draining.set(false);
+                }
+            }
+        }
+
+        private void drain() {
+            try {
+                while (!closed) {
+                    if (resyncPending) {
+                        resyncPending = false;
+                        queue.clear();
+                        // Everything up to this ID is covered by the reload
+                        String resyncId = eventId(sequence);
+                        send(SseEmitter.event().id(resyncId).name(RESYNC_EVENT).data(resyncId));
+                        continue;
+                    }
+                    Sequenced next = queue.poll();
+                    if (next == null) {
+                        break;
+                    }
+                    send(SseEmitter.event().id(eventId(next.sequence())).name(next.name()).data(next.data()));
+                }
+                if (heartbeatPending && !closed) {
+                    heartbeatPending = false;
+                    send(SseEmitter.event().comment("heartbeat"));
+                }
+            } catch (IOException | IllegalStateException e) {
+                // The client has gone away or the stream already completed
+                close();
+            } finally {
+                draining.set(false);
+            }
+            // Pick up anything that arrived after the last poll
+            if (resyncPending || heartbeatPending || !queue.isEmpty()) {
+                schedule();
+            }
+        }
+
+        private void send(SseEmitter.SseEventBuilder event) throws IOException {
+            sendingSince = System.nanoTime();
+            try {
+                emitter.send(event);
+            } finally {
+                sendingSince = 0;
+            }
+        }
+    }
+}
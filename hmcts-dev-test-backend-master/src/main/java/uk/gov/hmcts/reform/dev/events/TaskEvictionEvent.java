@@ -0,0 +1,9 @@
+package uk.gov.hmcts.reform.dev.events;
+
+import java.util.List;
+import java.util.UUID;
+
+// Tasks changed without a TaskChangeEvent of their own - the overdue sweeper's flag changes - so other
+// instances only need to drop them from their caches. Published inside the transaction that changed them
+public record TaskEvictionEvent(List<UUID> ids) {
+}
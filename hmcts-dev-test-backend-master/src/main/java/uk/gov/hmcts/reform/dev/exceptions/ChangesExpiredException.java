@@ -0,0 +1,22 @@
+package uk.gov.hmcts.reform.dev.exceptions;
+
+// Thrown when a change log consumer asks for changes since a sequence whose successors retention has removed
+public class ChangesExpiredException extends RuntimeException {
+    private final long since;
+
+    private final long purgedThrough;
+
+    public ChangesExpiredException(long since, long purgedThrough) {
+        super("Changes up to " + purgedThrough + " are no longer kept, so some after " + since + " are missing");
+        this.since = since;
+        this.purgedThrough = purgedThrough;
+    }
+
+    public long getSince() {
+        return since;
+    }
+
+    public long getPurgedThrough() {
+        return purgedThrough;
+    }
+}
@@ -0,0 +1,10 @@
+package uk.gov.hmcts.reform.dev.exceptions;
+
+import java.time.Duration;
+
+// Thrown when a request waited tasks.db.bulkhead.acquire-timeout for database capacity without getting it
+public class DatabaseBusyException extends RuntimeException {
+    public DatabaseBusyException(Duration waited) {
+        super("No database capacity after waiting " + waited.toMillis() + "ms");
+    }
+}
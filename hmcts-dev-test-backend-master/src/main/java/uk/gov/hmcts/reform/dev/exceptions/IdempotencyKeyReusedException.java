@@ -0,0 +1,15 @@
+package uk.gov.hmcts.reform.dev.exceptions;
+
+// Thrown when an Idempotency-Key comes back with a different request body from the one it was first used with
+public class IdempotencyKeyReusedException extends RuntimeException {
+    private final String idempotencyKey;
+
+    public IdempotencyKeyReusedException(String idempotencyKey) {
+        super("Idempotency key " + idempotencyKey + " was already used for a different request");
+        this.idempotencyKey = idempotencyKey;
+    }
+
+    public String getIdempotencyKey() {
+        return idempotencyKey;
+    }
+}
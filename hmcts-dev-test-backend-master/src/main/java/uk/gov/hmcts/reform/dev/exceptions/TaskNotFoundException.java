@@ -2,12 +2,23 @@ package uk.gov.hmcts.reform.dev.exceptions;
 
 import java.util.UUID;
 
+// Thrown when there is no task with the requested ID
+// Clients probing for deleted cards make this a hot path, so it is cheap to throw: no stack trace is captured
+// (it is always handled as a 404, never logged as a fault) and the message is only built if someone asks for it
 public class TaskNotFoundException extends RuntimeException {
+    private final UUID taskId;
+
     public TaskNotFoundException(UUID id) {
-        super("Task not found with ID: " + id);
+        super(null, null, false, false);
+        this.taskId = id;
     }
 
     public UUID getTaskId() {
-        return UUID.fromString(getMessage().split(": ")[1]);
+        return taskId;
+    }
+
+    @Override
+    public String getMessage() {
+        return "Task not found with ID: " + taskId;
     }
 }
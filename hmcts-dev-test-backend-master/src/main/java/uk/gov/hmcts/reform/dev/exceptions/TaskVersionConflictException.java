@@ -0,0 +1,24 @@
+package uk.gov.hmcts.reform.dev.exceptions;
+
+import java.util.UUID;
+
+// Thrown when a conditional (If-Match) write finds the task has moved on from the version the client saw
+public class TaskVersionConflictException extends RuntimeException {
+    private final UUID taskId;
+
+    private final long expectedVersion;
+
+    public TaskVersionConflictException(UUID id, long expectedVersion) {
+        super("Task " + id + " is no longer at version " + expectedVersion);
+        this.taskId = id;
+        this.expectedVersion = expectedVersion;
+    }
+
+    public UUID getTaskId() {
+        return taskId;
+    }
+
+    public long getExpectedVersion() {
+        return expectedVersion;
+    }
+}
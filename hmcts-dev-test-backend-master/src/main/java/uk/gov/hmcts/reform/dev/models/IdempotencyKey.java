@@ -0,0 +1,32 @@
+package uk.gov.hmcts.reform.dev.models;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// An Idempotency-Key sent with POST /tasks and the task it created, as it was returned
+// Only written with tasks.idempotency.persistent on (see IdempotencyKeyStore)
+@Entity
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "idempotency_key")
+public class IdempotencyKey {
+    @Id
+    @Column(name = "idempotency_key", updatable = false, nullable = false)
+    private String key;
+
+    // SHA-256 of the request body, so a key reused for a different task is caught
+    private String requestHash;
+
+    // The created task as JSON
+    private String responseBody;
+
+    private LocalDateTime createdAt;
+}
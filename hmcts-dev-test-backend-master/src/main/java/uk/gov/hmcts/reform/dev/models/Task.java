@@ -2,6 +2,7 @@ package uk.gov.hmcts.reform.dev.models;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.UuidGenerator;
 
 import java.time.LocalDateTime;
@@ -15,10 +16,13 @@ import java.util.UUID;
 @Builder
 @AllArgsConstructor
 @NoArgsConstructor
+// Schema and indexes are owned by the Flyway migrations in db/migration
 @Table(name = "task")
 public class Task {
+    // Time-ordered UUIDs generated in the JVM - no database round trip, so inserts can be batched,
+    // and new rows land at the right-hand edge of the primary key index
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidGenerator(style = UuidGenerator.Style.TIME)
     @Column(updatable = false, nullable = false)
     private UUID id;
 
@@ -31,6 +35,27 @@ public class Task {
 
     private LocalDateTime dueDateTime;
 
+    // Optimistic lock - bumped by every write and exposed to clients as the ETag
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
+    // Past its due date and not completed - set and cleared by OverdueSweeper, so it can lag by one sweep
+    @ColumnDefault("false")
+    @Column(nullable = false)
+    private boolean overdue;
+
+    // Convenience constructor for a task that hasn't been versioned yet
+    public Task(UUID id, String title, String description, Status status, LocalDateTime dueDateTime) {
+        this(id, title, description, status, dueDateTime, null);
+    }
+
+    // Convenience constructor for a task that isn't overdue
+    public Task(UUID id, String title, String description, Status status, LocalDateTime dueDateTime, Long version) {
+        this(id, title, description, status, dueDateTime, version, false);
+    }
+
     public enum Status {
         PENDING,
         IN_PROGRESS,
@@ -0,0 +1,15 @@
+package uk.gov.hmcts.reform.dev.models;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import uk.gov.hmcts.reform.dev.events.TaskChangeEvent;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// One row of the task change log (GET /tasks/changes), in sequence order
+// task is the JSON recorded with the change, passed through as it was stored
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record TaskChange(long sequence, TaskChangeEvent.Type type, UUID id, Task.Status status,
+                         @JsonRawValue String task, LocalDateTime at) {
+}
@@ -0,0 +1,37 @@
+package uk.gov.hmcts.reform.dev.models;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.UUID;
+
+// Keyset position in the (dueDateTime, id) ordering of tasks, handed to clients as an opaque string
+// Tasks without a due date sort after every dated task (see TaskSpecifications), and their cursors carry an
+// empty due date
+public record TaskCursor(LocalDateTime dueDateTime, UUID id) {
+
+    private static final String SEPARATOR = "|";
+
+    public static TaskCursor of(Task task) {
+        return new TaskCursor(task.getDueDateTime(), task.getId());
+    }
+
+    public String encode() {
+        String raw = (dueDateTime == null ? "" : dueDateTime.toString()) + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // Throws IllegalArgumentException if the cursor was not produced by encode()
+    public static TaskCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            return new TaskCursor(
+                separator == 0 ? null : LocalDateTime.parse(raw.substring(0, separator)),
+                UUID.fromString(raw.substring(separator + 1))
+            );
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor, e);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package uk.gov.hmcts.reform.dev.models;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.UUID;
+
+// Keyset position in the (rank descending, id) ordering of search results, handed to clients as an opaque string
+public record TaskSearchCursor(float rank, UUID id) {
+
+    private static final String SEPARATOR = "|";
+
+    public static TaskSearchCursor of(TaskSearchHit hit) {
+        return new TaskSearchCursor(hit.rank(), hit.task().getId());
+    }
+
+    // Float.toString round-trips exactly, so the next page starts right after this hit
+    public String encode() {
+        String raw = rank + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // Throws IllegalArgumentException if the cursor was not produced by encode()
+    public static TaskSearchCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            return new TaskSearchCursor(
+                Float.parseFloat(raw.substring(0, separator)),
+                UUID.fromString(raw.substring(separator + 1))
+            );
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor, e);
+        }
+    }
+}
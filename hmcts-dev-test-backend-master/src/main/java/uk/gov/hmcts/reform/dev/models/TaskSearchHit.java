@@ -0,0 +1,5 @@
+package uk.gov.hmcts.reform.dev.models;
+
+// A task matching a search query, with how well it matched - higher is better
+public record TaskSearchHit(Task task, float rank) {
+}
@@ -0,0 +1,6 @@
+package uk.gov.hmcts.reform.dev.models;
+
+// One row of the GROUP BY status behind GET /tasks/summary
+// overdue counts tasks due before the given time that aren't completed
+public record TaskStatusCount(Task.Status status, long count, long overdue) {
+}
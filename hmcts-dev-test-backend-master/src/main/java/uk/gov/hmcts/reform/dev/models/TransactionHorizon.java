@@ -0,0 +1,6 @@
+package uk.gov.hmcts.reform.dev.models;
+
+// From a PostgreSQL snapshot (pg_current_snapshot): the oldest transaction still running, and the first
+// transaction ID not yet assigned. Every transaction with an ID below oldestRunning has finished
+public record TransactionHorizon(long oldestRunning, long nextUnassigned) {
+}
@@ -0,0 +1,34 @@
+package uk.gov.hmcts.reform.dev.repositories;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+import uk.gov.hmcts.reform.dev.models.IdempotencyKey;
+
+import java.time.LocalDateTime;
+
+public interface IdempotencyKeyRepository extends JpaRepository<IdempotencyKey, String> {
+
+    // Record a key with a plain INSERT - save() would look for the key first and then overwrite it, where a key
+    // another instance has just recorded needs to fail here on the primary key
+    @Transactional
+    @Modifying
+    @Query(value = "insert into idempotency_key (idempotency_key, request_hash, response_body, created_at) "
+        + "values (:key, :requestHash, :responseBody, :createdAt)", nativeQuery = true)
+    int insert(@Param("key") String key, @Param("requestHash") String requestHash,
+               @Param("responseBody") String responseBody, @Param("createdAt") LocalDateTime createdAt);
+
+    // Delete one key if it was recorded before the cutoff, so it can be used again
+    @Transactional
+    @Modifying
+    @Query("delete from IdempotencyKey k where k.key = :key and k.createdAt < :cutoff")
+    int deleteByKeyIfCreatedBefore(@Param("key") String key, @Param("cutoff") LocalDateTime cutoff);
+
+    // Delete every key recorded before the cutoff, returns how many went
+    @Transactional
+    @Modifying
+    @Query("delete from IdempotencyKey k where k.createdAt < :cutoff")
+    int deleteCreatedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
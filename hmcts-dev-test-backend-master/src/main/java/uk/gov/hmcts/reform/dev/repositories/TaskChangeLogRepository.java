@@ -0,0 +1,42 @@
+package uk.gov.hmcts.reform.dev.repositories;
+
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import uk.gov.hmcts.reform.dev.events.TaskChangeEvent;
+import uk.gov.hmcts.reform.dev.models.TaskChange;
+import uk.gov.hmcts.reform.dev.models.TransactionHorizon;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Part of TaskRepository - the task_events change log, implemented in TaskChangeLogRepositoryImpl
+public interface TaskChangeLogRepository {
+
+    // Append the changes in the caller's transaction - they are committed or rolled back with the write
+    @Transactional(propagation = Propagation.MANDATORY)
+    void appendChanges(List<TaskChangeEvent> changes);
+
+    // Up to limit changes after since and up to through, in sequence order
+    List<TaskChange> findChangesSince(long since, long through, int limit);
+
+    // The last sequence number handed out, whether its transaction has committed or not, 0 if none
+    long findLastSequenceIssued();
+
+    // The transactions running now, as far as a reader's snapshot can tell
+    TransactionHorizon findTransactionHorizon();
+
+    // The last sequence retention has removed, 0 if none
+    long findChangesPurgedThrough();
+
+    // The last sequence recorded before the given time, 0 if none
+    long findLastChangeBefore(LocalDateTime before);
+
+    // Delete up to limit changes at or before through and record it as purged, returns the rows deleted
+    @Transactional
+    int purgeChanges(long through, int limit);
+
+    // Delete up to limit changes recorded before the given time that a later change to the same task supersedes,
+    // returns the rows deleted
+    @Transactional
+    int compactChanges(LocalDateTime before, int limit);
+}
@@ -0,0 +1,135 @@
+package uk.gov.hmcts.reform.dev.repositories;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import uk.gov.hmcts.reform.dev.config.TaskJsonWriters;
+import uk.gov.hmcts.reform.dev.events.TaskChangeEvent;
+import uk.gov.hmcts.reform.dev.models.Task;
+import uk.gov.hmcts.reform.dev.models.TaskChange;
+import uk.gov.hmcts.reform.dev.models.TransactionHorizon;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+// Appends are one JDBC batch on the write's connection, with no lock. Sequence numbers are taken in insert order
+// but transactions commit in any order, so readers only go as far as TaskChangeLog says nothing can still
+// commit behind (see findLastSequenceIssued and findTransactionHorizon). PostgreSQL only
+public class TaskChangeLogRepositoryImpl implements TaskChangeLogRepository {
+
+    private static final String APPEND = "insert into task_events (task_id, type, status, task, created_at) "
+        + "values (?, ?, ?, ?, ?)";
+
+    private static final String FIND_SINCE = "select sequence, task_id, type, status, task, created_at "
+        + "from task_events where sequence > ? and sequence <= ? order by sequence limit ?";
+
+    private static final String LAST_SEQUENCE_ISSUED = "select coalesce(pg_sequence_last_value("
+        + "pg_get_serial_sequence('task_events', 'sequence')::regclass), 0)";
+
+    private static final String TRANSACTION_HORIZON = "select pg_snapshot_xmin(s)::text::bigint as oldest_running, "
+        + "pg_snapshot_xmax(s)::text::bigint as next_unassigned from pg_current_snapshot() as s";
+
+    private static final String PURGE = "delete from task_events where sequence in ("
+        + "select sequence from task_events where sequence <= ? order by sequence limit ? for update skip locked)";
+
+    // A change is superseded once a later one carries the whole task, or the task has been deleted
+    private static final String COMPACT = "delete from task_events where sequence in ("
+        + "select e.sequence from task_events e where e.created_at < ? and exists ("
+        + "select 1 from task_events later where later.task_id = e.task_id and later.sequence > e.sequence "
+        + "and (later.task is not null or later.type = 'DELETED')) "
+        + "limit ? for update of e skip locked)";
+
+    private static final RowMapper<TaskChange> ROW_MAPPER = (rs, rowNum) -> new TaskChange(
+        rs.getLong("sequence"),
+        TaskChangeEvent.Type.valueOf(rs.getString("type")),
+        rs.getObject("task_id", UUID.class),
+        rs.getString("status") == null ? null : Task.Status.valueOf(rs.getString("status")),
+        rs.getString("task"),
+        rs.getTimestamp("created_at").toLocalDateTime()
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TaskJsonWriters taskJsonWriters;
+
+    public TaskChangeLogRepositoryImpl(JdbcTemplate jdbcTemplate, TaskJsonWriters taskJsonWriters) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.taskJsonWriters = taskJsonWriters;
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void appendChanges(List<TaskChangeEvent> changes) {
+        if (changes.isEmpty()) {
+            return;
+        }
+        // Make sure the transaction has its ID before drawing sequence numbers (see TaskChangeLog)
+        jdbcTemplate.queryForList("select pg_current_xact_id()");
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(APPEND, changes, changes.size(), (statement, change) -> {
+            statement.setObject(1, change.id());
+            statement.setString(2, change.type().name());
+            statement.setString(3, change.status() == null ? null : change.status().name());
+            statement.setString(4, change.task() == null ? null : toJson(change.task()));
+            statement.setTimestamp(5, now);
+        });
+    }
+
+    @Override
+    public List<TaskChange> findChangesSince(long since, long through, int limit) {
+        return jdbcTemplate.query(FIND_SINCE, ROW_MAPPER, since, through, limit);
+    }
+
+    @Override
+    public long findLastSequenceIssued() {
+        Long last = jdbcTemplate.queryForObject(LAST_SEQUENCE_ISSUED, Long.class);
+        return last == null ? 0 : last;
+    }
+
+    @Override
+    public TransactionHorizon findTransactionHorizon() {
+        return jdbcTemplate.queryForObject(TRANSACTION_HORIZON, (rs, rowNum) -> new TransactionHorizon(
+            rs.getLong("oldest_running"), rs.getLong("next_unassigned")));
+    }
+
+    @Override
+    public long findChangesPurgedThrough() {
+        Long purgedThrough = jdbcTemplate.queryForObject(
+            "select purged_through from task_events_horizon where id = 1", Long.class);
+        return purgedThrough == null ? 0 : purgedThrough;
+    }
+
+    @Override
+    public long findLastChangeBefore(LocalDateTime before) {
+        Long last = jdbcTemplate.queryForObject(
+            "select max(sequence) from task_events where created_at < ?", Long.class, Timestamp.valueOf(before));
+        return last == null ? 0 : last;
+    }
+
+    @Override
+    @Transactional
+    public int purgeChanges(long through, int limit) {
+        // In the same transaction as the delete, so no consumer sees rows gone without being told
+        jdbcTemplate.update("update task_events_horizon set purged_through = greatest(purged_through, ?) "
+                                + "where id = 1", through);
+        return jdbcTemplate.update(PURGE, through, limit);
+    }
+
+    @Override
+    @Transactional
+    public int compactChanges(LocalDateTime before, int limit) {
+        return jdbcTemplate.update(COMPACT, Timestamp.valueOf(before), limit);
+    }
+
+    private String toJson(Task task) {
+        try {
+            return taskJsonWriters.task().writeValueAsString(task);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialise task " + task.getId(), e);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package uk.gov.hmcts.reform.dev.repositories;
+
+import jakarta.persistence.Tuple;
+import org.springframework.data.jpa.domain.Specification;
+import uk.gov.hmcts.reform.dev.dto.request.TaskField;
+import uk.gov.hmcts.reform.dev.models.Task;
+
+import java.util.List;
+import java.util.Set;
+
+// Part of TaskRepository - reads of selected task columns, implemented in TaskFieldsRepositoryImpl
+public interface TaskFieldsRepository {
+
+    // Up to limit rows matching the specification in KEYSET_SORT order, with only the given fields plus the
+    // keyset columns (id, dueDateTime) selected. Each tuple element is aliased with TaskField.property()
+    List<Tuple> findFields(Specification<Task> specification, Set<TaskField> fields, int limit);
+}
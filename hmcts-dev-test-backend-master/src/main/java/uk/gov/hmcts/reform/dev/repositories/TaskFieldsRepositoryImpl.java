@@ -0,0 +1,55 @@
+package uk.gov.hmcts.reform.dev.repositories;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.transaction.annotation.Transactional;
+import uk.gov.hmcts.reform.dev.dto.request.TaskField;
+import uk.gov.hmcts.reform.dev.models.Task;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+// Selects just the requested columns as tuples, so a listing never creates Task entities or puts them
+// in the persistence context to be dirty checked, and a long description is only read when asked for
+// Spring Data's projections don't fit here: as() and project() on a Specification query still select
+// whole rows
+@Transactional(readOnly = true)
+public class TaskFieldsRepositoryImpl implements TaskFieldsRepository {
+
+    private final EntityManager entityManager;
+
+    public TaskFieldsRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public List<Tuple> findFields(Specification<Task> specification, Set<TaskField> fields, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Task> root = query.from(Task.class);
+
+        // The keyset columns are always selected, so the next cursor can be built from the last row
+        Set<TaskField> selected = EnumSet.of(TaskField.ID, TaskField.DUE_DATE_TIME);
+        selected.addAll(fields);
+        List<Selection<?>> selections = selected.stream()
+            .<Selection<?>>map(field -> root.get(field.property()).alias(field.property()))
+            .toList();
+        query.multiselect(selections);
+
+        Predicate predicate = specification.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(QueryUtils.toOrders(TaskSpecifications.KEYSET_SORT, root, cb));
+
+        return entityManager.createQuery(query).setMaxResults(limit).getResultList();
+    }
+}
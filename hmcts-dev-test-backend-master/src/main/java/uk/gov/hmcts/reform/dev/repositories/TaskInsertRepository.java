@@ -0,0 +1,14 @@
+package uk.gov.hmcts.reform.dev.repositories;
+
+import org.springframework.transaction.annotation.Transactional;
+import uk.gov.hmcts.reform.dev.models.Task;
+
+import java.util.List;
+
+// Part of TaskRepository - plain JDBC batch inserts, implemented in TaskInsertRepositoryImpl
+public interface TaskInsertRepository {
+
+    // Insert tasks that already have their IDs as new rows at version 0, in one transaction
+    @Transactional
+    void insertAll(List<Task> tasks);
+}
@@ -0,0 +1,19 @@
+package uk.gov.hmcts.reform.dev.repositories;
+
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+// Part of TaskRepository - the overdue sweeper's set-based passes, implemented in TaskOverdueRepositoryImpl
+public interface TaskOverdueRepository {
+
+    // Flag up to limit open tasks due before now that aren't flagged yet, returns their IDs
+    @Transactional
+    List<UUID> markOverdue(LocalDateTime now, int limit);
+
+    // Clear the flag on up to limit tasks that have since been completed or are no longer due, returns their IDs
+    @Transactional
+    List<UUID> clearOverdue(LocalDateTime now, int limit);
+}
@@ -0,0 +1,43 @@
+package uk.gov.hmcts.reform.dev.repositories;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+// One chunk per call, each in its own short transaction. The inner SELECT ... FOR UPDATE SKIP LOCKED passes
+// over rows another instance's sweep (or a user's write) has locked, so sweepers running together split the
+// work between them instead of queueing on the same rows. Each change bumps the version, as the task's JSON -
+// and so its ETag - has changed. PostgreSQL only
+public class TaskOverdueRepositoryImpl implements TaskOverdueRepository {
+
+    private static final String MARK = "update task set overdue = true, version = version + 1 where id in ("
+        + "select id from task where status <> 'COMPLETED' and not overdue and due_date_time < ? "
+        + "order by due_date_time limit ? for update skip locked) returning id";
+
+    private static final String CLEAR = "update task set overdue = false, version = version + 1 where id in ("
+        + "select id from task where overdue "
+        + "and (status = 'COMPLETED' or due_date_time >= ? or due_date_time is null) "
+        + "limit ? for update skip locked) returning id";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public TaskOverdueRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    @Transactional
+    public List<UUID> markOverdue(LocalDateTime now, int limit) {
+        return jdbcTemplate.queryForList(MARK, UUID.class, Timestamp.valueOf(now), limit);
+    }
+
+    @Override
+    @Transactional
+    public List<UUID> clearOverdue(LocalDateTime now, int limit) {
+        return jdbcTemplate.queryForList(CLEAR, UUID.class, Timestamp.valueOf(now), limit);
+    }
+}
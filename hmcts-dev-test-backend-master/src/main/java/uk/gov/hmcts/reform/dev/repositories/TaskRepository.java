@@ -1,11 +1,136 @@
 package uk.gov.hmcts.reform.dev.repositories;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 import uk.gov.hmcts.reform.dev.models.Task;
+import uk.gov.hmcts.reform.dev.models.TaskStatusCount;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
-public interface TaskRepository extends JpaRepository<Task, UUID> {
+// Reads run in read-only transactions: Hibernate skips snapshots and dirty checking for what they load, and
+// with a replica configured they are served from it (see ReadReplicaConfig). Inside a write they join the
+// write's transaction on the primary. Methods that write override this with @Transactional
+@Transactional(readOnly = true)
+public interface TaskRepository extends JpaRepository<Task, UUID>, JpaSpecificationExecutor<Task>,
+    TaskFieldsRepository, TaskInsertRepository, TaskSearchRepository, TaskOverdueRepository,
+    TaskChangeLogRepository {
     // Automatically creates basic CRUD operations for Task entity - no need to define them explicitly
+    // Filtered, keyset-paginated listings are built from TaskSpecifications
+    // Listings of selected fields (GET /tasks?fields=) come from TaskFieldsRepository
+    // Write-behind batch inserts come from TaskInsertRepository
+    // Full-text search (GET /tasks/search) comes from TaskSearchRepository
+    // The overdue sweeper's passes come from TaskOverdueRepository
+    // The change log behind GET /tasks/changes comes from TaskChangeLogRepository
+
+    // Rows to pull from the database per round trip when streaming
+    String EXPORT_FETCH_SIZE = "1000";
+
+    // Stream every task through a JDBC cursor - must be consumed and closed inside a transaction
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select t from Task t order by t.dueDateTime, t.id")
+    Stream<Task> streamAll();
+
+    // Stream the tasks with the given status through a JDBC cursor - must be consumed and closed inside a transaction
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select t from Task t where t.status = :status order by t.dueDateTime, t.id")
+    Stream<Task> streamByStatus(@Param("status") Task.Status status);
+
+    // Number of tasks and overdue tasks (due before now and not completed) per status, in one GROUP BY
+    @Query("select new uk.gov.hmcts.reform.dev.models.TaskStatusCount(t.status, count(t), "
+        + "sum(case when t.dueDateTime < :now and t.status <> uk.gov.hmcts.reform.dev.models.Task.Status.COMPLETED "
+        + "then 1 else 0 end)) "
+        + "from Task t group by t.status")
+    List<TaskStatusCount> countByStatus(@Param("now") LocalDateTime now);
+
+    // Current version of a task without loading the rest of it - enough to answer If-None-Match
+    @Query("select t.version from Task t where t.id = :id")
+    Optional<Long> findVersionById(@Param("id") UUID id);
+
+    // Set the status of one task with a single UPDATE, returns the number of rows changed (0 if it doesn't exist)
+    @Transactional
+    @Modifying
+    @Query("update Task t set t.status = :status, t.version = t.version + 1 where t.id = :id")
+    int updateStatusById(@Param("id") UUID id, @Param("status") Task.Status status);
+
+    // As updateStatusById, but only if the task is still at the expected version
+    @Transactional
+    @Modifying
+    @Query("update Task t set t.status = :status, t.version = t.version + 1 where t.id = :id and t.version = :version")
+    int updateStatusByIdAndVersion(@Param("id") UUID id, @Param("status") Task.Status status,
+                                   @Param("version") long version);
+
+    // Set the status of one task and read it back in the same statement (PostgreSQL only)
+    @Transactional
+    @Query(value = "update task set status = :status, version = version + 1 where id = :id returning *",
+        nativeQuery = true)
+    Optional<Task> updateStatusReturning(@Param("id") UUID id, @Param("status") String status);
+
+    // As updateStatusReturning, but only if the task is still at the expected version
+    @Transactional
+    @Query(value = "update task set status = :status, version = version + 1 where id = :id and version = :version "
+        + "returning *", nativeQuery = true)
+    Optional<Task> updateStatusByVersionReturning(@Param("id") UUID id, @Param("status") String status,
+                                                  @Param("version") long version);
+
+    // Delete one task with a single DELETE, returns the number of rows removed (0 if it doesn't exist)
+    @Transactional
+    @Modifying
+    @Query("delete from Task t where t.id = :id")
+    int deleteTaskById(@Param("id") UUID id);
+
+    // As deleteTaskById, but only if the task is still at the expected version
+    @Transactional
+    @Modifying
+    @Query("delete from Task t where t.id = :id and t.version = :version")
+    int deleteTaskByIdAndVersion(@Param("id") UUID id, @Param("version") long version);
+
+    // Which of the given IDs exist - lets set-based updates and deletes report per-ID results where there is no
+    // RETURNING (see updateStatusByIdInReturning)
+    @Query("select t.id from Task t where t.id in :ids")
+    List<UUID> findExistingIds(@Param("ids") Collection<UUID> ids);
+
+    // Set the status of every task in the list with a single UPDATE, returns the number of rows changed
+    @Transactional
+    @Modifying
+    @Query("update Task t set t.status = :status, t.version = t.version + 1 where t.id in :ids")
+    int updateStatusByIdIn(@Param("ids") Collection<UUID> ids, @Param("status") Task.Status status);
+
+    // Delete every task in the list with a single DELETE, returns the number of rows removed
+    @Transactional
+    @Modifying
+    @Query("delete from Task t where t.id in :ids")
+    int deleteByIdIn(@Param("ids") Collection<UUID> ids);
+
+    // Set the status of every task in the list with a single UPDATE, returns the IDs of the rows it changed
+    // (PostgreSQL only). Per-ID results come from the statement itself, so a task deleted concurrently isn't
+    // reported as updated
+    @Transactional
+    @Query(value = "update task set status = :status, version = version + 1 where id in (:ids) returning id",
+        nativeQuery = true)
+    List<UUID> updateStatusByIdInReturning(@Param("ids") Collection<UUID> ids, @Param("status") String status);
+
+    // Delete every task in the list with a single DELETE, returns the IDs of the rows it removed (PostgreSQL only)
+    // Of two overlapping deletes, only the one that removed a row reports it
+    @Transactional
+    @Query(value = "delete from task where id in (:ids) returning id", nativeQuery = true)
+    List<UUID> deleteByIdInReturning(@Param("ids") Collection<UUID> ids);
 }
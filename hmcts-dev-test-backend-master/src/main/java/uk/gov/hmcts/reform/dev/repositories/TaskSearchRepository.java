@@ -0,0 +1,17 @@
+package uk.gov.hmcts.reform.dev.repositories;
+
+import uk.gov.hmcts.reform.dev.models.Task;
+import uk.gov.hmcts.reform.dev.models.TaskSearchCursor;
+import uk.gov.hmcts.reform.dev.models.TaskSearchHit;
+
+import java.util.List;
+
+// Part of TaskRepository - full-text search over search_vector, implemented in TaskSearchRepositoryImpl
+public interface TaskSearchRepository {
+
+    // Up to limit tasks matching the query (PostgreSQL websearch syntax), optionally with the given status,
+    // ordered by rank descending then ID and starting after the cursor when there is one
+    // At most maxCandidates matching rows are ranked
+    List<TaskSearchHit> search(String query, Task.Status status, TaskSearchCursor after, int limit,
+                               int maxCandidates);
+}
@@ -0,0 +1,91 @@
+package uk.gov.hmcts.reform.dev.repositories;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+import uk.gov.hmcts.reform.dev.models.Task;
+import uk.gov.hmcts.reform.dev.models.TaskSearchCursor;
+import uk.gov.hmcts.reform.dev.models.TaskSearchHit;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+// Matches come from the GIN index on search_vector, and only the first maxCandidates of them by due date, latest
+// first, are ranked - ts_rank reads each matching row's vector, so ranking every row of a broad query is what
+// would make it slow. Taking them in due date order makes the candidates the same on every request, so pages
+// of one query fit together, and keeps recent and upcoming work ahead of long-finished tasks.
+// The order is the due date indexes read backwards, so for a broad query the planner walks the index and stops
+// after maxCandidates matches rather than fetching and sorting every match. A narrow query is cheaper through
+// the GIN index, and its few matches are sorted. The tsquery is written inline rather than joined in, so the
+// planner can estimate how many rows it matches and choose between the two.
+// Past maxCandidates the ranking is only over those candidates, so it is approximate.
+// Rows are mapped straight to detached Tasks, as nothing is written back
+@Transactional(readOnly = true)
+public class TaskSearchRepositoryImpl implements TaskSearchRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public TaskSearchRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public List<TaskSearchHit> search(String query, Task.Status status, TaskSearchCursor after, int limit,
+                                      int maxCandidates) {
+        List<Object> parameters = new ArrayList<>();
+        parameters.add(query);
+        if (status != null) {
+            parameters.add(status.name());
+        }
+        parameters.add(maxCandidates);
+        parameters.add(query);
+        if (after != null) {
+            parameters.add(after.rank());
+            parameters.add(after.rank());
+            parameters.add(after.id());
+        }
+        parameters.add(limit);
+
+        return jdbcTemplate.query(sql(status != null, after != null), TaskSearchRepositoryImpl::mapHit,
+                                  parameters.toArray());
+    }
+
+    // The search statement. Parameters in order: query, status (if byStatus), maxCandidates, query again,
+    // the cursor's rank, rank and id (if afterCursor), limit. Public so the search benchmark can EXPLAIN it
+    public static String sql(boolean byStatus, boolean afterCursor) {
+        StringBuilder sql = new StringBuilder()
+            .append("with candidates as (")
+            .append("select t.id, t.title, t.description, t.status, t.due_date_time, t.version, t.overdue, ")
+            .append("t.search_vector from task t ")
+            .append("where t.search_vector @@ websearch_to_tsquery('english', ?)");
+        if (byStatus) {
+            sql.append(" and t.status = ?");
+        }
+        // Ranked after the limit, so only the candidates are ranked
+        sql.append(" order by t.due_date_time desc, t.id desc limit ?), ranked as (")
+            .append("select id, title, description, status, due_date_time, version, overdue, ")
+            .append("ts_rank(search_vector, websearch_to_tsquery('english', ?)) as rank from candidates) ")
+            .append("select * from ranked");
+        if (afterCursor) {
+            sql.append(" where rank < ? or (rank = ? and id > ?)");
+        }
+        return sql.append(" order by rank desc, id limit ?").toString();
+    }
+
+    private static TaskSearchHit mapHit(ResultSet row, int rowNumber) throws SQLException {
+        Timestamp dueDateTime = row.getTimestamp("due_date_time");
+        String status = row.getString("status");
+        Task task = new Task(
+            row.getObject("id", UUID.class),
+            row.getString("title"),
+            row.getString("description"),
+            status == null ? null : Task.Status.valueOf(status),
+            dueDateTime == null ? null : dueDateTime.toLocalDateTime(),
+            row.getLong("version"),
+            row.getBoolean("overdue"));
+        return new TaskSearchHit(task, row.getFloat("rank"));
+    }
+}
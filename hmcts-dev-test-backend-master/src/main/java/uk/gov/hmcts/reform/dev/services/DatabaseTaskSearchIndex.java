@@ -0,0 +1,31 @@
+package uk.gov.hmcts.reform.dev.services;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import uk.gov.hmcts.reform.dev.config.SearchProperties;
+import uk.gov.hmcts.reform.dev.models.Task;
+import uk.gov.hmcts.reform.dev.models.TaskSearchCursor;
+import uk.gov.hmcts.reform.dev.models.TaskSearchHit;
+import uk.gov.hmcts.reform.dev.repositories.TaskRepository;
+
+import java.util.List;
+
+// Searches with PostgreSQL full-text search (see TaskSearchRepositoryImpl) - the default
+@Component
+@ConditionalOnProperty(prefix = "tasks.search", name = "mode", havingValue = "database", matchIfMissing = true)
+public class DatabaseTaskSearchIndex implements TaskSearchIndex {
+
+    private final TaskRepository taskRepository;
+
+    private final SearchProperties properties;
+
+    public DatabaseTaskSearchIndex(TaskRepository taskRepository, SearchProperties properties) {
+        this.taskRepository = taskRepository;
+        this.properties = properties;
+    }
+
+    @Override
+    public List<TaskSearchHit> search(String query, Task.Status status, TaskSearchCursor after, int limit) {
+        return taskRepository.search(query, status, after, limit, properties.maxCandidates());
+    }
+}
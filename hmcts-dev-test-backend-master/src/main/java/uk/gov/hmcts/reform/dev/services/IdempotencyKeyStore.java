@@ -0,0 +1,86 @@
+package uk.gov.hmcts.reform.dev.services;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import uk.gov.hmcts.reform.dev.config.IdempotencyProperties;
+import uk.gov.hmcts.reform.dev.config.TaskJsonWriters;
+import uk.gov.hmcts.reform.dev.models.Task;
+import uk.gov.hmcts.reform.dev.repositories.IdempotencyKeyRepository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+// The idempotency_key table behind IdempotencyService, with tasks.idempotency.persistent on
+// A key is recorded in the same transaction as the task it creates, so either both are committed or neither is.
+// Two instances racing on one key both insert it - the second waits on the first's primary key entry, then
+// fails and rolls its task back
+@Component
+@ConditionalOnProperty(prefix = "tasks.idempotency", name = "persistent", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class IdempotencyKeyStore {
+
+    private final IdempotencyKeyRepository repository;
+
+    private final IdempotencyProperties properties;
+
+    private final TaskJsonWriters taskJsonWriters;
+
+    private final ObjectMapper objectMapper;
+
+    // The request and response recorded against the key, unless it has expired
+    // Read-write, so it is read on the primary - a replica may not have a key recorded a moment ago yet
+    @Transactional
+    public Optional<IdempotencyService.Recorded> find(String key) {
+        return repository.findById(key)
+            .filter(row -> row.getCreatedAt().isAfter(cutoff()))
+            .map(row -> new IdempotencyService.Recorded(row.getRequestHash(), readTask(row.getResponseBody())));
+    }
+
+    // Create the task and record the key against it
+    // Throws DataIntegrityViolationException, with the task rolled back, if the key was recorded meanwhile
+    @Transactional
+    public Task createAndRecord(String key, String requestHash, Supplier<Task> create) {
+        // An expired row would otherwise block the key from being used again until the next purge
+        repository.deleteByKeyIfCreatedBefore(key, cutoff());
+        Task task = create.get();
+        repository.insert(key, requestHash, writeTask(task), LocalDateTime.now());
+        return task;
+    }
+
+    @Transactional
+    @Scheduled(fixedDelayString = "${tasks.idempotency.purge-interval:1h}")
+    public void purgeExpired() {
+        int purged = repository.deleteCreatedBefore(cutoff());
+        if (purged > 0) {
+            log.info("Purged {} expired idempotency keys", purged);
+        }
+    }
+
+    private LocalDateTime cutoff() {
+        return LocalDateTime.now().minus(properties.ttl());
+    }
+
+    private String writeTask(Task task) {
+        try {
+            return taskJsonWriters.task().writeValueAsString(task);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialise task " + task.getId(), e);
+        }
+    }
+
+    private Task readTask(String json) {
+        try {
+            return objectMapper.readValue(json, Task.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not read recorded task", e);
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package uk.gov.hmcts.reform.dev.services;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import uk.gov.hmcts.reform.dev.config.IdempotencyProperties;
+import uk.gov.hmcts.reform.dev.dto.request.CreateTaskRequestDto;
+import uk.gov.hmcts.reform.dev.exceptions.IdempotencyKeyReusedException;
+import uk.gov.hmcts.reform.dev.models.Task;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+// Idempotency-Key support for POST /tasks, so a client can retry a create that timed out without
+// creating the task twice
+// - The first request with a key creates the task. A retry with the same key and body gets that task back,
+//   as it was created, without going near the database. The same key with a different body is rejected
+// - A retry that arrives while the first request is still running waits for it and shares its result,
+//   so only one insert runs however many copies arrive at once
+// - A failed create isn't remembered - the next retry tries again
+// - Keys are kept in a bounded in-memory store for tasks.idempotency.ttl. With tasks.idempotency.persistent
+//   they are also recorded in the database (IdempotencyKeyStore), for retries that reach another instance
+//   or arrive after a restart
+@Service
+public class IdempotencyService {
+
+    // Completed with the recorded create once it commits - a future rather than the create itself, so
+    // requests arriving mid-create have something to wait on. Filled outside Caffeine's compute for the
+    // same reason as TaskCache's loaders
+    private final Cache<String, CompletableFuture<Recorded>> keys;
+
+    // Null unless tasks.idempotency.persistent is on
+    private final IdempotencyKeyStore keyStore;
+
+    private final ObjectMapper objectMapper;
+
+    public IdempotencyService(IdempotencyProperties properties, ObjectProvider<IdempotencyKeyStore> keyStore,
+                              ObjectMapper objectMapper) {
+        this.keys = Caffeine.newBuilder()
+            .maximumSize(properties.maximumSize())
+            .expireAfterWrite(properties.ttl())
+            .build();
+        this.keyStore = keyStore.getIfAvailable();
+        this.objectMapper = objectMapper;
+    }
+
+    // Create the task with create, or answer with the task the key already created
+    public Result createTask(String key, CreateTaskRequestDto request, Supplier<Task> create) {
+        String requestHash = hash(request);
+        CompletableFuture<Recorded> pending = new CompletableFuture<>();
+        CompletableFuture<Recorded> first = keys.asMap().putIfAbsent(key, pending);
+        if (first != null) {
+            return replay(key, requestHash, await(first));
+        }
+
+        Outcome outcome;
+        try {
+            Optional<Recorded> stored = keyStore == null ? Optional.empty() : keyStore.find(key);
+            outcome = stored.isPresent() ? new Outcome(stored.get(), false) : create(key, requestHash, create);
+        } catch (RuntimeException e) {
+            // Forget the key, so the next retry runs the create again, and fail anyone waiting the same way
+            keys.asMap().remove(key, pending);
+            pending.completeExceptionally(e);
+            throw e;
+        }
+        pending.complete(outcome.recorded());
+        return outcome.created()
+            ? new Result(outcome.recorded().task(), false)
+            : replay(key, requestHash, outcome.recorded());
+    }
+
+    // Run the create, recording the key alongside it when keys are persistent
+    // If another instance recorded the key first our create has been rolled back, and theirs is returned
+    private Outcome create(String key, String requestHash, Supplier<Task> create) {
+        if (keyStore == null) {
+            return new Outcome(new Recorded(requestHash, snapshot(create.get())), true);
+        }
+        try {
+            Task task = keyStore.createAndRecord(key, requestHash, create);
+            return new Outcome(new Recorded(requestHash, snapshot(task)), true);
+        } catch (DataIntegrityViolationException e) {
+            // Not a duplicate key after all if there's nothing recorded - something wrong with the task itself
+            Recorded theirs = keyStore.find(key).orElseThrow(() -> e);
+            return new Outcome(theirs, false);
+        }
+    }
+
+    private static Result replay(String key, String requestHash, Recorded recorded) {
+        if (!recorded.requestHash().equals(requestHash)) {
+            throw new IdempotencyKeyReusedException(key);
+        }
+        return new Result(recorded.task(), true);
+    }
+
+    private static Recorded await(CompletableFuture<Recorded> first) {
+        try {
+            return first.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    // A copy of the task as created - the entity itself is shared with the task cache
+    private static Task snapshot(Task task) {
+        return new Task(task.getId(), task.getTitle(), task.getDescription(), task.getStatus(),
+                        task.getDueDateTime(), task.getVersion(), task.isOverdue());
+    }
+
+    // SHA-256 of the request as JSON, so bodies that differ only in formatting or field order still match
+    private String hash(CreateTaskRequestDto request) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(request);
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(json));
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Could not hash create request", e);
+        }
+    }
+
+    // The task to answer with, and whether it was created by an earlier request
+    public record Result(Task task, boolean replayed) {
+    }
+
+    // What a key was first used for: the request's hash and the task it created
+    public record Recorded(String requestHash, Task task) {
+    }
+
+    // Whether this request created the recorded task, or found it already there
+    private record Outcome(Recorded recorded, boolean created) {
+    }
+}
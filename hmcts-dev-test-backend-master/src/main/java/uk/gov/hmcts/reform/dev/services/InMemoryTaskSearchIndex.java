@@ -0,0 +1,252 @@
+package uk.gov.hmcts.reform.dev.services;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import uk.gov.hmcts.reform.dev.config.DatabaseBulkhead;
+import uk.gov.hmcts.reform.dev.events.TaskChangeEvent;
+import uk.gov.hmcts.reform.dev.models.Task;
+import uk.gov.hmcts.reform.dev.models.TaskSearchCursor;
+import uk.gov.hmcts.reform.dev.models.TaskSearchHit;
+import uk.gov.hmcts.reform.dev.repositories.TaskRepository;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+// Full-text search without PostgreSQL, for H2 and tests (tasks.search.mode=memory)
+// - An inverted index from each word to the tasks containing it, loaded from the database at startup and kept
+//   up to date from TaskChangeEvents. Only this instance's changes are seen, so it is no use with more than one
+// - Words are lowercased but not stemmed, and there are no stop words. Every word in the query must match, and a
+//   word starting with - must not. Quotes and OR are ignored
+// - Ranked like ts_rank with its default weights: each title occurrence counts 1.0 and each description
+//   occurrence 0.4
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "tasks.search", name = "mode", havingValue = "memory")
+public class InMemoryTaskSearchIndex implements TaskSearchIndex {
+
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private static final float TITLE_WEIGHT = 1.0f;
+
+    private static final float DESCRIPTION_WEIGHT = 0.4f;
+
+    // Best match first, then by ID, the same order as the database search
+    private static final Comparator<TaskSearchHit> RESULT_ORDER = Comparator
+        .comparingDouble((TaskSearchHit hit) -> -hit.rank())
+        .thenComparing(hit -> hit.task().getId());
+
+    private final TaskRepository taskRepository;
+
+    private final EntityManager entityManager;
+
+    private final TransactionTemplate readOnlyTransaction;
+
+    private final DatabaseBulkhead databaseBulkhead;
+
+    // Guards postings and entries - searches share it, changes take it exclusively
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<String, Set<UUID>> postings = new HashMap<>();
+
+    private final Map<UUID, Entry> entries = new HashMap<>();
+
+    public InMemoryTaskSearchIndex(TaskRepository taskRepository, EntityManager entityManager,
+                                   PlatformTransactionManager transactionManager, DatabaseBulkhead databaseBulkhead) {
+        this.taskRepository = taskRepository;
+        this.entityManager = entityManager;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.databaseBulkhead = databaseBulkhead;
+    }
+
+    // Index every task, streamed and detached one at a time as the export does, under a bulkhead permit taken
+    // before the transaction opens
+    @PostConstruct
+    void load() {
+        Integer loaded = databaseBulkhead.call(() -> readOnlyTransaction.execute(status -> {
+            int count = 0;
+            try (Stream<Task> tasks = taskRepository.streamAll()) {
+                for (Task task : (Iterable<Task>) tasks::iterator) {
+                    entityManager.detach(task);
+                    index(task);
+                    count++;
+                }
+            }
+            return count;
+        }));
+        log.info("Indexed {} tasks for in-memory search", loaded);
+    }
+
+    // Called once the write that produced the change has committed
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onChange(TaskChangeEvent event) {
+        if (event.type() == TaskChangeEvent.Type.DELETED) {
+            remove(event.id());
+        } else if (event.task() != null) {
+            index(event.task());
+        } else {
+            // A batch status update, which bumps the version without reading the task back
+            lock.writeLock().lock();
+            try {
+                Entry entry = entries.get(event.id());
+                if (entry != null) {
+                    Task task = entry.task();
+                    Long version = task.getVersion() == null ? null : task.getVersion() + 1;
+                    Task updated = new Task(task.getId(), task.getTitle(), task.getDescription(), event.status(),
+                                            task.getDueDateTime(), version, task.isOverdue());
+                    entries.put(task.getId(), new Entry(updated, entry.weights()));
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    @Override
+    public List<TaskSearchHit> search(String query, Task.Status status, TaskSearchCursor after, int limit) {
+        Set<String> required = new HashSet<>();
+        Set<String> excluded = new HashSet<>();
+        for (String term : WHITESPACE.split(query.trim())) {
+            if (term.startsWith("-")) {
+                excluded.addAll(words(term.substring(1)));
+            } else {
+                required.addAll(words(term));
+            }
+        }
+        if (required.isEmpty()) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            // Walk the shortest posting list and check each of its tasks against the rest
+            Set<UUID> candidates = null;
+            for (String word : required) {
+                Set<UUID> ids = postings.getOrDefault(word, Set.of());
+                if (candidates == null || ids.size() < candidates.size()) {
+                    candidates = ids;
+                }
+            }
+
+            // Keep the best limit hits, worst at the head so it is the one dropped
+            PriorityQueue<TaskSearchHit> best = new PriorityQueue<>(RESULT_ORDER.reversed());
+            for (UUID id : candidates) {
+                Entry entry = entries.get(id);
+                if (status != null && entry.task().getStatus() != status) {
+                    continue;
+                }
+                TaskSearchHit hit = entry.match(required, excluded);
+                if (hit == null || (after != null && !isAfter(hit, after))) {
+                    continue;
+                }
+                best.add(hit);
+                if (best.size() > limit) {
+                    best.poll();
+                }
+            }
+            List<TaskSearchHit> hits = new ArrayList<>(best);
+            hits.sort(RESULT_ORDER);
+            return hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static boolean isAfter(TaskSearchHit hit, TaskSearchCursor cursor) {
+        return hit.rank() < cursor.rank()
+            || (hit.rank() == cursor.rank() && hit.task().getId().compareTo(cursor.id()) > 0);
+    }
+
+    private void index(Task task) {
+        Map<String, Float> weights = new HashMap<>();
+        words(task.getTitle()).forEach(word -> weights.merge(word, TITLE_WEIGHT, Float::sum));
+        words(task.getDescription()).forEach(word -> weights.merge(word, DESCRIPTION_WEIGHT, Float::sum));
+
+        lock.writeLock().lock();
+        try {
+            removeLocked(task.getId());
+            entries.put(task.getId(), new Entry(task, weights));
+            weights.keySet().forEach(word -> postings.computeIfAbsent(word, w -> new HashSet<>()).add(task.getId()));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void remove(UUID id) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void removeLocked(UUID id) {
+        Entry entry = entries.remove(id);
+        if (entry == null) {
+            return;
+        }
+        entry.weights().keySet().forEach(word -> {
+            Set<UUID> ids = postings.get(word);
+            ids.remove(id);
+            if (ids.isEmpty()) {
+                postings.remove(word);
+            }
+        });
+    }
+
+    // Lowercased words, split on anything that isn't a letter or digit
+    private static List<String> words(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        List<String> words = new ArrayList<>();
+        for (String word : NON_WORD.split(text.toLowerCase(Locale.ROOT))) {
+            if (!word.isEmpty()) {
+                words.add(word);
+            }
+        }
+        return words;
+    }
+
+    private record Entry(Task task, Map<String, Float> weights) {
+
+        // The hit if the task has every required word and none of the excluded ones, otherwise null
+        private TaskSearchHit match(Set<String> required, Set<String> excluded) {
+            float rank = 0;
+            for (String word : required) {
+                Float weight = weights.get(word);
+                if (weight == null) {
+                    return null;
+                }
+                rank += weight;
+            }
+            for (String word : excluded) {
+                if (weights.containsKey(word)) {
+                    return null;
+                }
+            }
+            return new TaskSearchHit(task, rank);
+        }
+    }
+}
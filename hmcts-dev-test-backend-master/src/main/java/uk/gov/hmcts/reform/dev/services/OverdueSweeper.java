@@ -0,0 +1,110 @@
+package uk.gov.hmcts.reform.dev.services;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import uk.gov.hmcts.reform.dev.config.DatabaseBulkhead;
+import uk.gov.hmcts.reform.dev.config.OverdueSweepProperties;
+import uk.gov.hmcts.reform.dev.events.TaskEvictionEvent;
+import uk.gov.hmcts.reform.dev.repositories.TaskRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.BiFunction;
+
+// Keeps Task.overdue in step with the clock, every tasks.overdue.interval
+// Each sweep flags open tasks that have passed their due date, then clears the flag on tasks completed since,
+// one chunk at a time until a chunk comes back short (see TaskOverdueRepositoryImpl). Changed tasks are evicted
+// from the cache and the board is reloaded. Each chunk also publishes a TaskEvictionEvent in its transaction, so
+// other instances evict them too (see PostgresTaskChangeBus). Clients see the flag on their next read - no change
+// events are sent
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "tasks.overdue", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class OverdueSweeper {
+
+    private final OverdueSweepProperties properties;
+
+    private final TaskRepository taskRepository;
+
+    private final TaskCache taskCache;
+
+    // Each chunk's update, evictions and notification to other instances commit together
+    private final TransactionTemplate transactionTemplate;
+
+    // Taken before each chunk's transaction opens, so a sweep shares the pool fairly with requests
+    private final DatabaseBulkhead databaseBulkhead;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final Timer sweepTimer;
+
+    private final DistributionSummary markedRows;
+
+    private final DistributionSummary clearedRows;
+
+    public OverdueSweeper(OverdueSweepProperties properties, TaskRepository taskRepository, TaskCache taskCache,
+                          PlatformTransactionManager transactionManager, DatabaseBulkhead databaseBulkhead,
+                          ApplicationEventPublisher eventPublisher, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.taskRepository = taskRepository;
+        this.taskCache = taskCache;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.databaseBulkhead = databaseBulkhead;
+        this.eventPublisher = eventPublisher;
+        this.sweepTimer = Timer.builder("tasks.overdue.sweep")
+            .description("Time taken by one overdue sweep")
+            .register(meterRegistry);
+        this.markedRows = rowsPerPass(meterRegistry, "mark");
+        this.clearedRows = rowsPerPass(meterRegistry, "clear");
+    }
+
+    private static DistributionSummary rowsPerPass(MeterRegistry meterRegistry, String pass) {
+        return DistributionSummary.builder("tasks.overdue.rows")
+            .description("Tasks changed by one chunk of an overdue sweep")
+            .tag("pass", pass)
+            .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${tasks.overdue.interval:1m}")
+    public void sweep() {
+        sweepTimer.record(() -> {
+            LocalDateTime now = LocalDateTime.now();
+            int marked = pass(taskRepository::markOverdue, now, markedRows);
+            int cleared = pass(taskRepository::clearOverdue, now, clearedRows);
+            if (marked > 0 || cleared > 0) {
+                taskCache.invalidateBoard();
+                log.info("Overdue sweep flagged {} tasks and cleared {}", marked, cleared);
+            }
+        });
+    }
+
+    // Run one kind of chunk until there is nothing left for this instance to do, returns the tasks changed
+    // A short chunk means no more matching rows, or that the rest are locked by another sweeper
+    private int pass(BiFunction<LocalDateTime, Integer, List<UUID>> chunk, LocalDateTime now,
+                     DistributionSummary rows) {
+        int total = 0;
+        List<UUID> changed;
+        do {
+            changed = databaseBulkhead.call(() -> transactionTemplate.execute(status -> {
+                List<UUID> ids = chunk.apply(now, properties.chunkSize());
+                if (!ids.isEmpty()) {
+                    ids.forEach(taskCache::evict);
+                    eventPublisher.publishEvent(new TaskEvictionEvent(ids));
+                }
+                return ids;
+            }));
+            rows.record(changed.size());
+            total += changed.size();
+        } while (changed.size() == properties.chunkSize());
+        return total;
+    }
+}
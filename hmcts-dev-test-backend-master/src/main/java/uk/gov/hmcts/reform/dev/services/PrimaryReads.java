@@ -0,0 +1,20 @@
+package uk.gov.hmcts.reform.dev.services;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.function.Supplier;
+
+// Runs reads whose result is cached on the primary rather than the read replica
+// A cache entry is dropped when a write commits, and the read that refills it comes straight after - a replica
+// that hasn't applied the write yet would hand back the old row, which would then be served until the entry
+// expires. Read-write, so the repository's read-only transactions join it on the primary, as for
+// IdempotencyKeyStore.find. Transactional, so the database bulkhead's permit is taken before the connection
+@Component
+public class PrimaryReads {
+
+    @Transactional
+    public <T> T read(Supplier<T> reader) {
+        return reader.get();
+    }
+}
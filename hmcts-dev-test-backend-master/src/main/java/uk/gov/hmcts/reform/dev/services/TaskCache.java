@@ -0,0 +1,154 @@
+package uk.gov.hmcts.reform.dev.services;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import uk.gov.hmcts.reform.dev.dto.response.TaskPage;
+import uk.gov.hmcts.reform.dev.dto.response.TaskSummary;
+import uk.gov.hmcts.reform.dev.models.Task;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+// Read-through cache in front of TaskRepository, written through by TaskService
+// - tasks: individual tasks by ID
+// - taskBoard: first page of each status column and the board summary, dropped on any write
+// Puts and evictions made inside a transaction are applied once it commits, so a rolled back
+// write never reaches the cache
+@Component
+public class TaskCache {
+
+    public static final String TASKS = "tasks";
+
+    public static final String BOARD = "taskBoard";
+
+    private final Cache tasks;
+
+    private final Cache untransactedTasks;
+
+    private final Cache board;
+
+    // Bumped whenever the board is invalidated, so a page loaded across an invalidation isn't cached
+    private final AtomicLong boardGeneration = new AtomicLong();
+
+    // Bumped on every task put or eviction, when it is made and again once it commits, so a task loaded
+    // across a write isn't cached over it
+    private final AtomicLong taskGeneration = new AtomicLong();
+
+    public TaskCache(CacheManager cacheManager) {
+        this.untransactedTasks = cacheManager.getCache(TASKS);
+        this.tasks = new TransactionAwareCacheDecorator(untransactedTasks);
+        this.board = cacheManager.getCache(BOARD);
+    }
+
+    // The cached task, or null on a miss
+    public Task get(UUID id) {
+        return tasks.get(id, Task.class);
+    }
+
+    // The cached task, or the loader's task, cached unless a write to any task started or committed while
+    // it was loading - the load may have read the row as it was before that write
+    // Loaded outside the cache for the same reason as the board below
+    public Task task(UUID id, Supplier<Task> loader) {
+        Task cached = get(id);
+        if (cached != null) {
+            return cached;
+        }
+        long generation = taskGeneration.get();
+        Task task = loader.get();
+        if (taskGeneration.get() == generation) {
+            untransactedTasks.put(id, task);
+        }
+        return task;
+    }
+
+    // Written by the write itself - applied once it commits
+    public void put(Task task) {
+        tasks.put(task.getId(), task);
+        invalidateTaskLoads();
+    }
+
+    public void evict(UUID id) {
+        tasks.evict(id);
+        invalidateTaskLoads();
+    }
+
+    // Evict straight away rather than on commit - for writes that are about to fail and roll back
+    public void evictNow(UUID id) {
+        untransactedTasks.evictIfPresent(id);
+        taskGeneration.incrementAndGet();
+    }
+
+    // Drop everything - used after writes that touch many tasks at once
+    public void evictAll() {
+        tasks.clear();
+        invalidateTaskLoads();
+        board.clear();
+    }
+
+    // First page of one status column, loaded once and shared until the next write
+    public TaskPage boardPage(Task.Status status, int limit, Supplier<TaskPage> loader) {
+        return loadBoard(new BoardKey(status, limit), TaskPage.class, loader);
+    }
+
+    // The board summary, shared until the next write (or the board cache's expiry, which also bounds
+    // how stale its overdue counts get)
+    public TaskSummary boardSummary(int limit, Supplier<TaskSummary> loader) {
+        return loadBoard(new SummaryKey(limit), TaskSummary.class, loader);
+    }
+
+    // Loaded outside the cache rather than through Cache.get(key, loader): Caffeine runs loaders inside a
+    // ConcurrentHashMap compute, whose synchronized block would pin a virtual thread for the whole query
+    private <T> T loadBoard(Object key, Class<T> type, Supplier<T> loader) {
+        T cached = board.get(key, type);
+        if (cached != null) {
+            return cached;
+        }
+        long generation = boardGeneration.get();
+        T value = loader.get();
+        if (boardGeneration.get() == generation) {
+            board.put(key, value);
+        }
+        return value;
+    }
+
+    // Called on every write - any change can move a task into, out of or within a column
+    // Invalidated now, so loads already under way aren't cached, and again once the write commits
+    public void invalidateBoard() {
+        clearBoard();
+        afterCommit(this::clearBoard);
+    }
+
+    // Stop loads already under way from being cached, and once the write commits, loads that started
+    // before it did
+    private void invalidateTaskLoads() {
+        taskGeneration.incrementAndGet();
+        afterCommit(taskGeneration::incrementAndGet);
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        }
+    }
+
+    private void clearBoard() {
+        boardGeneration.incrementAndGet();
+        board.clear();
+    }
+
+    private record BoardKey(Task.Status status, int limit) {
+    }
+
+    private record SummaryKey(int limit) {
+    }
+}
@@ -0,0 +1,101 @@
+package uk.gov.hmcts.reform.dev.services;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import uk.gov.hmcts.reform.dev.config.ChangeLogProperties;
+import uk.gov.hmcts.reform.dev.dto.response.TaskChangesPage;
+import uk.gov.hmcts.reform.dev.events.TaskChangeEvent;
+import uk.gov.hmcts.reform.dev.exceptions.ChangesExpiredException;
+import uk.gov.hmcts.reform.dev.models.TaskChange;
+import uk.gov.hmcts.reform.dev.models.TransactionHorizon;
+import uk.gov.hmcts.reform.dev.repositories.TaskRepository;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+
+// The task change log: every create, status change and delete, recorded in the transaction that made it and
+// served to downstream consumers by GET /tasks/changes, so they pull what changed rather than re-reading every
+// task. Retention and compaction are done by TaskChangeLogPruner
+// Sequence numbers are drawn as changes are appended, but transactions commit in any order, so 8 can be visible
+// while 7 is still to commit. Consumers are only given changes up to a sequence nothing can commit behind any
+// more: each read notes the last sequence issued so far, then which transactions are running. An append takes
+// its transaction's ID before drawing a sequence, so every sequence up to the one noted belongs to a transaction
+// that was already running - once all of those have finished, changes up to it are final. A change therefore
+// reaches consumers one read after the transactions running alongside it have finished, and writes never wait
+// on each other to keep the log in order
+@Service
+@RequiredArgsConstructor
+public class TaskChangeLog {
+
+    // Sequences noted by reads that are still waiting on transactions - enough for frequent polling under load
+    private static final int MAX_WATERMARKS = 1024;
+
+    private final ChangeLogProperties properties;
+
+    private final TaskRepository taskRepository;
+
+    // Oldest first. Each is safe to read up to once the transactions running when it was noted have finished
+    private final Deque<Watermark> watermarks = new ArrayDeque<>();
+
+    // Every change up to here has committed or never will
+    private long settledThrough;
+
+    public boolean isEnabled() {
+        return properties.enabled();
+    }
+
+    // Record changes in the caller's transaction
+    // Pending entity writes are flushed first, so the task's row lock is held before the sequence is drawn -
+    // changes to one task are then always in the order they committed
+    public void record(List<TaskChangeEvent> changes) {
+        if (!properties.enabled() || changes.isEmpty()) {
+            return;
+        }
+        taskRepository.flush();
+        taskRepository.appendChanges(changes);
+    }
+
+    // Up to limit changes after since, oldest first
+    // Throws ChangesExpiredException if retention has removed changes after since
+    // Read-write, so it runs on the primary - a replica's sequences and snapshot can run ahead of its rows
+    @Transactional
+    public TaskChangesPage changesSince(long since, int limit) {
+        long through = settledThrough();
+        List<TaskChange> changes = through <= since
+            ? List.of()
+            : taskRepository.findChangesSince(since, through, limit + 1);
+        // Checked after reading, so a prune committing in between is caught rather than leaving a silent gap
+        long purgedThrough = taskRepository.findChangesPurgedThrough();
+        if (since < purgedThrough) {
+            throw new ChangesExpiredException(since, purgedThrough);
+        }
+        boolean hasMore = changes.size() > limit;
+        List<TaskChange> page = hasMore ? changes.subList(0, limit) : changes;
+        long next = page.isEmpty() ? since : page.get(page.size() - 1).sequence();
+        return new TaskChangesPage(List.copyOf(page), next, hasMore);
+    }
+
+    // Note the last sequence issued, then the running transactions - in that order, so every transaction
+    // holding a sequence up to it is covered - and move settledThrough past any earlier notes now safe
+    private long settledThrough() {
+        long issued = taskRepository.findLastSequenceIssued();
+        TransactionHorizon horizon = taskRepository.findTransactionHorizon();
+        synchronized (watermarks) {
+            watermarks.addLast(new Watermark(issued, horizon.nextUnassigned()));
+            while (!watermarks.isEmpty() && watermarks.peekFirst().runningBelow() <= horizon.oldestRunning()) {
+                settledThrough = Math.max(settledThrough, watermarks.pollFirst().sequence());
+            }
+            // Each note is safe on its own, so dropping the oldest only means waiting for a later one
+            while (watermarks.size() > MAX_WATERMARKS) {
+                watermarks.pollFirst();
+            }
+            return settledThrough;
+        }
+    }
+
+    // The last sequence issued when noted, and the first transaction ID not yet assigned then
+    private record Watermark(long sequence, long runningBelow) {
+    }
+}
@@ -0,0 +1,79 @@
+package uk.gov.hmcts.reform.dev.services;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import uk.gov.hmcts.reform.dev.config.ChangeLogProperties;
+import uk.gov.hmcts.reform.dev.config.DatabaseBulkhead;
+import uk.gov.hmcts.reform.dev.repositories.TaskRepository;
+
+import java.time.LocalDateTime;
+import java.util.function.IntSupplier;
+
+// Keeps the change log bounded, every tasks.changes.prune-interval
+// - Retention deletes every change up to the last one older than tasks.changes.retention, and records how far
+//   it got, so consumers that hadn't read that far are told to reload rather than silently missing changes
+// - Compaction deletes changes older than tasks.changes.compact-after that a later change to the same task
+//   supersedes. Consumers catching up still end with every task's latest state, in fewer rows
+// Both delete in chunks, each in its own short transaction, skipping rows another instance's pruner has locked
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "tasks.changes", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class TaskChangeLogPruner {
+
+    private final ChangeLogProperties properties;
+
+    private final TaskRepository taskRepository;
+
+    // Taken before each chunk's transaction opens, so pruning shares the pool fairly with requests
+    private final DatabaseBulkhead databaseBulkhead;
+
+    private final Counter purged;
+
+    private final Counter compacted;
+
+    public TaskChangeLogPruner(ChangeLogProperties properties, TaskRepository taskRepository,
+                               DatabaseBulkhead databaseBulkhead, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.taskRepository = taskRepository;
+        this.databaseBulkhead = databaseBulkhead;
+        this.purged = prunedRows(meterRegistry, "retention");
+        this.compacted = prunedRows(meterRegistry, "compaction");
+    }
+
+    private static Counter prunedRows(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("tasks.changes.pruned")
+            .description("Change log rows deleted by retention or compaction")
+            .tag("reason", reason)
+            .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${tasks.changes.prune-interval:1h}")
+    public void prune() {
+        LocalDateTime now = LocalDateTime.now();
+        long through = databaseBulkhead.call(
+            () -> taskRepository.findLastChangeBefore(now.minus(properties.retention())));
+        int expired = through == 0 ? 0 : chunks(() -> taskRepository.purgeChanges(through, properties.chunkSize()));
+        LocalDateTime compactBefore = now.minus(properties.compactAfter());
+        int superseded = chunks(() -> taskRepository.compactChanges(compactBefore, properties.chunkSize()));
+        purged.increment(expired);
+        compacted.increment(superseded);
+        if (expired > 0 || superseded > 0) {
+            log.info("Change log prune removed {} expired and {} superseded changes", expired, superseded);
+        }
+    }
+
+    // Run chunks until one comes back short, returns the rows deleted
+    private int chunks(IntSupplier chunk) {
+        int total = 0;
+        int rows;
+        do {
+            rows = databaseBulkhead.call(chunk::getAsInt);
+            total += rows;
+        } while (rows == properties.chunkSize());
+        return total;
+    }
+}
@@ -0,0 +1,17 @@
+package uk.gov.hmcts.reform.dev.services;
+
+import uk.gov.hmcts.reform.dev.models.Task;
+import uk.gov.hmcts.reform.dev.models.TaskSearchCursor;
+import uk.gov.hmcts.reform.dev.models.TaskSearchHit;
+
+import java.util.List;
+
+// Full-text search over task titles and descriptions, chosen by tasks.search.mode
+// - DatabaseTaskSearchIndex: PostgreSQL's search_vector column and GIN index
+// - InMemoryTaskSearchIndex: an inverted index in the JVM, for H2 and tests
+public interface TaskSearchIndex {
+
+    // Up to limit tasks matching the query, optionally only those with the given status, ordered by rank
+    // descending then ID and starting after the cursor when there is one
+    List<TaskSearchHit> search(String query, Task.Status status, TaskSearchCursor after, int limit);
+}
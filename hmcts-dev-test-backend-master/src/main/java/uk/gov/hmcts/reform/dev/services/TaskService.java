@@ -1,48 +1,404 @@
 package uk.gov.hmcts.reform.dev.services;
 
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.aop.MeterTag;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
 import lombok.AllArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import uk.gov.hmcts.reform.dev.config.MetricsConfig;
+import uk.gov.hmcts.reform.dev.config.TaskStatusTag;
+import uk.gov.hmcts.reform.dev.config.WriteProperties;
+import uk.gov.hmcts.reform.dev.dto.request.TaskField;
+import uk.gov.hmcts.reform.dev.dto.request.TaskQuery;
+import uk.gov.hmcts.reform.dev.dto.response.TaskFieldsPage;
+import uk.gov.hmcts.reform.dev.dto.response.TaskPage;
+import uk.gov.hmcts.reform.dev.dto.response.TaskSearchPage;
+import uk.gov.hmcts.reform.dev.dto.response.TaskSummary;
+import uk.gov.hmcts.reform.dev.events.TaskChangeEvent;
 import uk.gov.hmcts.reform.dev.exceptions.TaskNotFoundException;
+import uk.gov.hmcts.reform.dev.exceptions.TaskVersionConflictException;
 import uk.gov.hmcts.reform.dev.models.Task;
+import uk.gov.hmcts.reform.dev.models.TaskCursor;
+import uk.gov.hmcts.reform.dev.models.TaskSearchCursor;
+import uk.gov.hmcts.reform.dev.models.TaskSearchHit;
+import uk.gov.hmcts.reform.dev.models.TaskStatusCount;
 import uk.gov.hmcts.reform.dev.repositories.TaskRepository;
+import uk.gov.hmcts.reform.dev.repositories.TaskSpecifications;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
+// Every public method is timed as tasks.service, tagged by method and, where there is one, the task status
 @AllArgsConstructor
 @Service
+@Timed(value = MetricsConfig.SERVICE_TIMER, histogram = true)
 public class TaskService {
+    // Largest IN list sent in one statement by the set-based batch operations
+    private static final int IN_CLAUSE_CHUNK_SIZE = 1000;
+
     // Use final fields meaning they must be provided at object creation - Spring handles the rest
     private final TaskRepository taskRepository;
 
+    private final EntityManager entityManager;
+
+    private final WriteProperties writeProperties;
+
+    private final TaskCache taskCache;
+
+    // Changes are published as TaskChangeEvents and reach GET /tasks/events subscribers once committed
+    private final ApplicationEventPublisher eventPublisher;
+
+    // Holds tasks accepted by POST /tasks in write-behind mode until they are written
+    private final TaskWriteBehind taskWriteBehind;
+
+    // Full-text search - in the database or in memory, depending on tasks.search.mode
+    private final TaskSearchIndex taskSearchIndex;
+
+    // What the caches load comes from the primary - see PrimaryReads
+    private final PrimaryReads primaryReads;
+
+    // Changes are also recorded in the change log, in the same transaction, for GET /tasks/changes
+    private final TaskChangeLog taskChangeLog;
+
     // Create a new task
+    @Transactional
     public Task createTask(Task task) {
-        return taskRepository.save(task);
+        Objects.requireNonNull(task, "task");
+        Task saved = taskRepository.save(task);
+        taskCache.put(saved);
+        taskCache.invalidateBoard();
+        changed(List.of(TaskChangeEvent.created(saved)));
+        return saved;
+    }
+
+    // Accept a new task to be written in the background - it has its ID and can be read back straight away
+    // Fails with DatabaseBusyException if the write-behind queue stays full
+    public Task submitTask(Task task) {
+        Objects.requireNonNull(task, "task");
+        return taskWriteBehind.submit(task);
+    }
+
+    // Wait for a task accepted by submitTask to be written, if it hasn't been yet
+    // Called before updating or deleting a single task, outside the write's transaction
+    public void awaitWritten(String id) {
+        taskWriteBehind.awaitWritten(UUID.fromString(id));
+    }
+
+    // As above for the tasks in a batch update or delete
+    public void awaitWritten(Collection<UUID> ids) {
+        taskWriteBehind.awaitWritten(ids);
     }
 
-    // Retrieve a task by ID
+    // Create several tasks in one transaction - inserts are sent as JDBC batches (see hibernate.jdbc.batch_size)
+    @Transactional
+    public List<Task> createTasks(List<Task> tasks) {
+        List<Task> saved = taskRepository.saveAll(tasks);
+        saved.forEach(taskCache::put);
+        taskCache.invalidateBoard();
+        changed(saved.stream().map(TaskChangeEvent::created).toList());
+        return saved;
+    }
+
+    // Retrieve a task by ID, from the cache when we have it, or from the write-behind queue if it hasn't been
+    // written yet
     public Task getTaskById(String id) {
         // Convert the string ID to a UUID
         UUID parsedId = UUID.fromString(id);
-        return taskRepository.findById(parsedId)
+        Task pending = taskWriteBehind.pending(parsedId);
+        if (pending != null) {
+            return pending;
+        }
+        return taskCache.task(parsedId, () -> primaryReads.read(() -> taskRepository.findById(parsedId))
+            .orElseThrow(() -> new TaskNotFoundException(parsedId)));
+    }
+
+    // Retrieve just the current version of a task, used to answer conditional GETs without loading it
+    public long getTaskVersion(String id) {
+        UUID parsedId = UUID.fromString(id);
+        Task cached = taskCache.get(parsedId);
+        if (cached != null && cached.getVersion() != null) {
+            return cached.getVersion();
+        }
+        Task pending = taskWriteBehind.pending(parsedId);
+        if (pending != null) {
+            return pending.getVersion();
+        }
+        // From the primary, so a client that has just written doesn't get a 304 for the version it replaced
+        return primaryReads.read(() -> taskRepository.findVersionById(parsedId))
             .orElseThrow(() -> new TaskNotFoundException(parsedId));
     }
 
-    // Retrieve all tasks
-    public List<Task> getAllTasks() {
-        return taskRepository.findAll();
+    // Retrieve one page of tasks matching the query, ordered by due date then ID
+    // The first page of a status column (what the board loads) is served from the board cache
+    public TaskPage getTasks(
+        @MeterTag(key = MetricsConfig.STATUS_TAG, resolver = TaskStatusTag.class) TaskQuery query) {
+        if (isBoardColumn(query)) {
+            return taskCache.boardPage(query.getStatus(), query.getLimit(),
+                                       () -> primaryReads.read(() -> findTasks(query)));
+        }
+        return findTasks(query);
+    }
+
+    private static boolean isBoardColumn(TaskQuery query) {
+        return query.getStatus() != null
+            && query.getAfter() == null
+            && query.getDueFrom() == null
+            && query.getDueTo() == null
+            && query.getOverdue() == null;
+    }
+
+    private TaskPage findTasks(TaskQuery query) {
+        // Fetch one extra row so we know whether there is a next page without a count query
+        List<Task> tasks = taskRepository.findBy(
+            TaskSpecifications.matching(query),
+            q -> q.sortBy(TaskSpecifications.KEYSET_SORT).limit(query.getLimit() + 1).all()
+        );
+
+        if (tasks.size() <= query.getLimit()) {
+            return new TaskPage(tasks, null);
+        }
+        List<Task> page = List.copyOf(tasks.subList(0, query.getLimit()));
+        return new TaskPage(page, TaskCursor.of(page.get(page.size() - 1)).encode());
+    }
+
+    // As getTasks, but each task carries only the given fields
+    // A board column is projected from its cached page; anything else selects just those columns,
+    // without loading entities
+    public TaskFieldsPage getTaskFields(
+        @MeterTag(key = MetricsConfig.STATUS_TAG, resolver = TaskStatusTag.class) TaskQuery query,
+        Set<TaskField> fields) {
+        if (isBoardColumn(query)) {
+            TaskPage page = getTasks(query);
+            return new TaskFieldsPage(
+                page.tasks().stream().map(task -> TaskField.project(task, fields)).toList(),
+                page.nextCursor());
+        }
+
+        // One extra row to tell whether there is a next page, as in findTasks
+        List<Tuple> rows = taskRepository.findFields(TaskSpecifications.matching(query), fields, query.getLimit() + 1);
+        List<Tuple> page = rows.size() <= query.getLimit() ? rows : rows.subList(0, query.getLimit());
+        List<Map<String, Object>> tasks = page.stream().map(row -> projectRow(row, fields)).toList();
+        if (rows.size() <= query.getLimit()) {
+            return new TaskFieldsPage(tasks, null);
+        }
+        Tuple last = page.get(page.size() - 1);
+        TaskCursor cursor = new TaskCursor(
+            last.get(TaskField.DUE_DATE_TIME.property(), LocalDateTime.class),
+            last.get(TaskField.ID.property(), UUID.class));
+        return new TaskFieldsPage(tasks, cursor.encode());
+    }
+
+    private static Map<String, Object> projectRow(Tuple row, Set<TaskField> fields) {
+        Map<String, Object> projected = new LinkedHashMap<>();
+        fields.forEach(field -> projected.put(field.property(), row.get(field.property())));
+        return projected;
     }
 
-    // Update the status of a task
-    public Task updateTaskStatus(String id, Task.Status status) {
-        Task task = getTaskById(id);
-        task.setStatus(status);
-        return taskRepository.save(task);
+    // One page of tasks whose title or description matches the query, best match first
+    public TaskSearchPage searchTasks(
+        String query,
+        @MeterTag(key = MetricsConfig.STATUS_TAG, resolver = TaskStatusTag.class) Task.Status status,
+        TaskSearchCursor after,
+        int limit) {
+        // One extra hit to tell whether there is a next page, as in findTasks
+        List<TaskSearchHit> hits = taskSearchIndex.search(query, status, after, limit + 1);
+        if (hits.size() <= limit) {
+            return new TaskSearchPage(hits.stream().map(TaskSearchHit::task).toList(), null);
+        }
+        List<TaskSearchHit> page = hits.subList(0, limit);
+        return new TaskSearchPage(
+            page.stream().map(TaskSearchHit::task).toList(),
+            TaskSearchCursor.of(page.get(page.size() - 1)).encode());
     }
 
-    // Delete a task
+    // Counts per status from one GROUP BY, with the first few tasks due in each column from the board pages
+    // Served from the board cache until the next write
+    public TaskSummary getSummary(int limit) {
+        return taskCache.boardSummary(limit, () -> primaryReads.read(() -> loadSummary(limit)));
+    }
+
+    private TaskSummary loadSummary(int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        Map<Task.Status, TaskStatusCount> counts = new EnumMap<>(Task.Status.class);
+        taskRepository.countByStatus(now).forEach(count -> counts.put(count.status(), count));
+
+        Map<Task.Status, TaskSummary.Column> columns = new EnumMap<>(Task.Status.class);
+        long total = 0;
+        long overdue = 0;
+        for (Task.Status status : Task.Status.values()) {
+            TaskStatusCount count = counts.getOrDefault(status, new TaskStatusCount(status, 0, 0));
+            // Nothing to load for an empty column
+            List<Task> nextDue = count.count() == 0
+                ? List.of()
+                : getTasks(TaskQuery.builder().status(status).limit(limit).build()).tasks();
+            columns.put(status, new TaskSummary.Column(count.count(), count.overdue(), nextDue));
+            total += count.count();
+            overdue += count.overdue();
+        }
+        return new TaskSummary(now, total, overdue, columns);
+    }
+
+    // Pass every task (optionally only those with the given status) to the sink, one at a time
+    // Rows are read through a database cursor and detached once written, so memory use doesn't grow with the table
+    @Transactional(readOnly = true)
+    public long exportTasks(
+        @MeterTag(key = MetricsConfig.STATUS_TAG, resolver = TaskStatusTag.class) Task.Status status,
+        Consumer<Task> sink) {
+        long exported = 0;
+        try (Stream<Task> tasks = status == null ? taskRepository.streamAll() : taskRepository.streamByStatus(status)) {
+            for (Task task : (Iterable<Task>) tasks::iterator) {
+                sink.accept(task);
+                entityManager.detach(task);
+                exported++;
+            }
+        }
+        return exported;
+    }
+
+    // Update the status of a task regardless of its current version
+    @Transactional
+    public Task updateTaskStatus(
+        String id,
+        @MeterTag(key = MetricsConfig.STATUS_TAG, resolver = TaskStatusTag.class) Task.Status status) {
+        return updateTaskStatus(id, status, null);
+    }
+
+    // Update the status of a task without loading it first, only if it is still at expectedVersion (when given)
+    // One UPDATE ... RETURNING when tasks.writes.use-returning is on, otherwise an UPDATE followed by a read
+    @Transactional
+    public Task updateTaskStatus(
+        String id,
+        @MeterTag(key = MetricsConfig.STATUS_TAG, resolver = TaskStatusTag.class) Task.Status status,
+        Long expectedVersion) {
+        UUID parsedId = UUID.fromString(id);
+
+        if (writeProperties.useReturning()) {
+            Optional<Task> updated = expectedVersion == null
+                ? taskRepository.updateStatusReturning(parsedId, status.name())
+                : taskRepository.updateStatusByVersionReturning(parsedId, status.name(), expectedVersion);
+            return cacheUpdated(updated.orElseThrow(() -> writeMissed(parsedId, expectedVersion)));
+        }
+
+        int rows = expectedVersion == null
+            ? taskRepository.updateStatusById(parsedId, status)
+            : taskRepository.updateStatusByIdAndVersion(parsedId, status, expectedVersion);
+        if (rows == 0) {
+            throw writeMissed(parsedId, expectedVersion);
+        }
+        return cacheUpdated(taskRepository.findById(parsedId)
+            .orElseThrow(() -> new TaskNotFoundException(parsedId)));
+    }
+
+    // Keep the cache and subscribers in step with a successful update
+    private Task cacheUpdated(Task task) {
+        taskCache.put(task);
+        taskCache.invalidateBoard();
+        changed(List.of(TaskChangeEvent.statusChanged(task)));
+        return task;
+    }
+
+    // Set the status of several tasks with one UPDATE per target status, returns the IDs that were updated
+    // With use-returning the IDs come back from the UPDATE itself, otherwise they are looked up first
+    @Transactional
+    public Set<UUID> updateTaskStatuses(Map<UUID, Task.Status> updates) {
+        // Group the IDs by the status they are moving to
+        Map<Task.Status, Set<UUID>> idsByStatus = new EnumMap<>(Task.Status.class);
+        updates.forEach((id, status) -> idsByStatus.computeIfAbsent(status, s -> new LinkedHashSet<>()).add(id));
+
+        Set<UUID> updated = new HashSet<>();
+        idsByStatus.forEach((status, ids) -> chunked(ids).forEach(chunk -> {
+            if (writeProperties.useReturning()) {
+                updated.addAll(taskRepository.updateStatusByIdInReturning(chunk, status.name()));
+            } else {
+                updated.addAll(taskRepository.findExistingIds(chunk));
+                taskRepository.updateStatusByIdIn(chunk, status);
+            }
+        }));
+        updated.forEach(taskCache::evict);
+        taskCache.invalidateBoard();
+        changed(updated.stream().map(id -> TaskChangeEvent.statusChanged(id, updates.get(id))).toList());
+        return updated;
+    }
+
+    // Delete several tasks with set-based DELETEs, returns the IDs that were deleted - as for updateTaskStatuses
+    @Transactional
+    public Set<UUID> deleteTasks(Collection<UUID> ids) {
+        Set<UUID> deleted = new HashSet<>();
+        chunked(new LinkedHashSet<>(ids)).forEach(chunk -> {
+            if (writeProperties.useReturning()) {
+                deleted.addAll(taskRepository.deleteByIdInReturning(chunk));
+            } else {
+                deleted.addAll(taskRepository.findExistingIds(chunk));
+                taskRepository.deleteByIdIn(chunk);
+            }
+        });
+        deleted.forEach(taskCache::evict);
+        taskCache.invalidateBoard();
+        changed(deleted.stream().map(TaskChangeEvent::deleted).toList());
+        return deleted;
+    }
+
+    // Split IDs into lists small enough for a single IN clause
+    private static List<List<UUID>> chunked(Collection<UUID> ids) {
+        List<UUID> all = List.copyOf(ids);
+        List<List<UUID>> chunks = new ArrayList<>();
+        for (int from = 0; from < all.size(); from += IN_CLAUSE_CHUNK_SIZE) {
+            chunks.add(all.subList(from, Math.min(from + IN_CLAUSE_CHUNK_SIZE, all.size())));
+        }
+        return chunks;
+    }
+
+    // Delete a task regardless of its current version
+    @Transactional
     public void deleteTask(String id) {
-        Task task = getTaskById(id);
-        taskRepository.delete(task);
+        deleteTask(id, null);
+    }
+
+    // Delete a task with a single DELETE, only if it is still at expectedVersion (when given)
+    @Transactional
+    public void deleteTask(String id, Long expectedVersion) {
+        UUID parsedId = UUID.fromString(id);
+        int rows = expectedVersion == null
+            ? taskRepository.deleteTaskById(parsedId)
+            : taskRepository.deleteTaskByIdAndVersion(parsedId, expectedVersion);
+        if (rows == 0) {
+            throw writeMissed(parsedId, expectedVersion);
+        }
+        taskCache.evict(parsedId);
+        taskCache.invalidateBoard();
+        changed(List.of(TaskChangeEvent.deleted(parsedId)));
+    }
+
+    // Record changes in the change log, in the current transaction, and publish them - subscribers get them once
+    // it commits
+    private void changed(List<TaskChangeEvent> changes) {
+        taskChangeLog.record(changes);
+        changes.forEach(eventPublisher::publishEvent);
+    }
+
+    // Work out why a single-row write touched nothing - only conditional writes need the extra existence check
+    // The cached copy is evicted either way, since it is stale or the task is gone
+    private RuntimeException writeMissed(UUID id, Long expectedVersion) {
+        taskCache.evictNow(id);
+        if (expectedVersion != null && taskRepository.existsById(id)) {
+            return new TaskVersionConflictException(id, expectedVersion);
+        }
+        return new TaskNotFoundException(id);
     }
 }
@@ -0,0 +1,366 @@
+package uk.gov.hmcts.reform.dev.services;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.id.uuid.CustomVersionOneStrategy;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import uk.gov.hmcts.reform.dev.config.DatabaseBulkhead;
+import uk.gov.hmcts.reform.dev.config.WriteBehindProperties;
+import uk.gov.hmcts.reform.dev.events.TaskChangeEvent;
+import uk.gov.hmcts.reform.dev.exceptions.DatabaseBusyException;
+import uk.gov.hmcts.reform.dev.models.Task;
+import uk.gov.hmcts.reform.dev.repositories.TaskRepository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+// Write-behind for POST /tasks, when tasks.write-behind.enabled is set
+// - submit gives the task its ID and queues it, and the client is answered with 202 Accepted straight away
+// - One flusher thread takes up to batch-size tasks at a time, waiting at most linger after the first for more,
+//   and inserts each batch as one JDBC batch in one transaction, with its change log rows - one commit for many
+//   creates
+// - The queue is bounded. When it is full submit waits up to offer-timeout for room, then fails with 503
+// - Queued tasks can be read by ID before they are written (see pending). Updates and deletes of one wait
+//   for it to be written first (see awaitWritten)
+// - On shutdown, after the web server has stopped taking requests, whatever is still queued is written before
+//   the connection pool is closed
+// A batch that fails is retried with backoff, so a database outage fills the queue and pushes back on clients
+// rather than losing tasks. A task the database rejects outright is logged and dropped. Only the insert is
+// retried - once a batch has committed, caching it and publishing its events happen once, and a failure there
+// is logged rather than writing the batch again
+@Slf4j
+@Component
+public class TaskWriteBehind implements SmartLifecycle {
+
+    // How often a waiting flusher checks whether it has been stopped
+    private static final long IDLE_POLL_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private static final long FIRST_RETRY_MILLIS = 100;
+
+    private static final long MAX_RETRY_MILLIS = 5_000;
+
+    // Attempts at a failing batch once stopping, before its tasks are given up on
+    private static final int SHUTDOWN_ATTEMPTS = 3;
+
+    private final WriteBehindProperties properties;
+
+    private final TaskRepository taskRepository;
+
+    private final TaskCache taskCache;
+
+    private final TaskChangeLog taskChangeLog;
+
+    // Each batch and its change log rows are written in one transaction
+    private final TransactionTemplate transactionTemplate;
+
+    // Taken before each transaction opens, so the flusher waits its turn for a connection like a request would
+    private final DatabaseBulkhead databaseBulkhead;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final BlockingQueue<Task> queue;
+
+    // Everything submitted and not yet written or dropped, completed once it is
+    private final Map<UUID, Pending> pending = new ConcurrentHashMap<>();
+
+    // The generator behind @UuidGenerator(style = TIME) on Task.id, so queued tasks get the same kind of ID
+    private final CustomVersionOneStrategy idGenerator = new CustomVersionOneStrategy();
+
+    private final Counter written;
+
+    private final Counter dropped;
+
+    private final Counter rejected;
+
+    private final Counter failures;
+
+    private volatile boolean running;
+
+    private Thread flusher;
+
+    public TaskWriteBehind(WriteBehindProperties properties, TaskRepository taskRepository, TaskCache taskCache,
+                           TaskChangeLog taskChangeLog, PlatformTransactionManager transactionManager,
+                           DatabaseBulkhead databaseBulkhead, ApplicationEventPublisher eventPublisher,
+                           MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.taskRepository = taskRepository;
+        this.taskCache = taskCache;
+        this.taskChangeLog = taskChangeLog;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.databaseBulkhead = databaseBulkhead;
+        this.eventPublisher = eventPublisher;
+        this.queue = new ArrayBlockingQueue<>(properties.queueCapacity());
+        Gauge.builder("tasks.writebehind.queued", queue, Collection::size)
+            .description("Tasks accepted and waiting to be written")
+            .register(meterRegistry);
+        this.written = Counter.builder("tasks.writebehind.written")
+            .description("Queued tasks written to the database")
+            .register(meterRegistry);
+        this.dropped = Counter.builder("tasks.writebehind.dropped")
+            .description("Queued tasks the database rejected or that could not be written by shutdown")
+            .register(meterRegistry);
+        this.rejected = Counter.builder("tasks.writebehind.rejected")
+            .description("Creates answered with 503 because the queue stayed full")
+            .register(meterRegistry);
+        this.failures = Counter.builder("tasks.writebehind.failures")
+            .description("Batch writes that failed and were retried")
+            .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return properties.enabled();
+    }
+
+    // Give the task its ID and queue it to be written, waiting up to offer-timeout for room
+    public Task submit(Task task) {
+        if (!running) {
+            throw new IllegalStateException("Write-behind is not running");
+        }
+        task.setId(idGenerator.generateUuid(null));
+        task.setVersion(0L);
+        pending.put(task.getId(), new Pending(task, new CompletableFuture<>()));
+
+        boolean queued;
+        try {
+            queued = queue.offer(task, properties.offerTimeout().toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            queued = false;
+        }
+        if (!queued) {
+            pending.remove(task.getId());
+            rejected.increment();
+            throw new DatabaseBusyException(properties.offerTimeout());
+        }
+        return task;
+    }
+
+    // The queued task with this ID, or null if there isn't one still waiting to be written
+    public Task pending(UUID id) {
+        Pending entry = pending.get(id);
+        return entry == null ? null : entry.task();
+    }
+
+    // If the task is still queued, wait up to await-timeout for it to be written. Must be called outside a
+    // transaction - a caller holding a connection could be what the flusher is waiting for
+    public void awaitWritten(UUID id) {
+        awaitWritten(List.of(id));
+    }
+
+    // As above for several tasks, waiting up to await-timeout in all rather than for each one
+    public void awaitWritten(Collection<UUID> ids) {
+        long deadline = System.nanoTime() + properties.awaitTimeout().toNanos();
+        for (UUID id : ids) {
+            Pending entry = pending.get(id);
+            if (entry == null) {
+                continue;
+            }
+            try {
+                entry.written().get(Math.max(deadline - System.nanoTime(), 0), TimeUnit.NANOSECONDS);
+            } catch (ExecutionException | TimeoutException e) {
+                // Carry on - the write that follows finds the task or reports it not found
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    @Override
+    public void start() {
+        if (!properties.enabled()) {
+            return;
+        }
+        running = true;
+        flusher = new Thread(this::flush, "task-write-behind");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    // Called once the web server has stopped, so nothing more is submitted - waits for the queue to be written
+    @Override
+    public void stop() {
+        running = false;
+        if (flusher == null) {
+            return;
+        }
+        try {
+            flusher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (!pending.isEmpty()) {
+            log.error("{} queued tasks were not written before shutdown: {}", pending.size(), pending.keySet());
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // Stopped after the web server's graceful shutdown (DEFAULT_PHASE - 1024) and before the connection pool
+    // is closed, which only happens once every lifecycle has stopped
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    // The flusher thread - carries on after stop() until the queue is empty
+    private void flush() {
+        List<Task> batch = new ArrayList<>(properties.batchSize());
+        while (running || !queue.isEmpty()) {
+            try {
+                fill(batch);
+            } catch (InterruptedException e) {
+                // Write whatever has been taken so far
+            }
+            if (!batch.isEmpty()) {
+                write(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    // Wait for a first task, then up to linger for the batch to fill
+    private void fill(List<Task> batch) throws InterruptedException {
+        Task first = running ? queue.poll(IDLE_POLL_NANOS, TimeUnit.NANOSECONDS) : queue.poll();
+        if (first == null) {
+            return;
+        }
+        batch.add(first);
+        long deadline = System.nanoTime() + properties.linger().toNanos();
+        while (batch.size() < properties.batchSize()) {
+            queue.drainTo(batch, properties.batchSize() - batch.size());
+            long remaining = deadline - System.nanoTime();
+            if (batch.size() >= properties.batchSize() || remaining <= 0 || !running) {
+                return;
+            }
+            // Wake up now and then to notice stop() rather than sleeping through a long linger
+            Task next = queue.poll(Math.min(remaining, IDLE_POLL_NANOS), TimeUnit.NANOSECONDS);
+            if (next != null) {
+                batch.add(next);
+            }
+        }
+    }
+
+    // Write the batch in one transaction, retrying until it succeeds. If the database rejects something in it,
+    // fall back to one task per transaction so only the offending tasks are dropped
+    private void write(List<Task> batch) {
+        boolean oneAtATime = false;
+        long backoff = FIRST_RETRY_MILLIS;
+        for (int attempt = 1; ; attempt++) {
+            try {
+                if (oneAtATime) {
+                    writeEach(batch);
+                    return;
+                }
+                insert(batch);
+                break;
+            } catch (DataIntegrityViolationException e) {
+                oneAtATime = true;
+            } catch (RuntimeException e) {
+                failures.increment();
+                if (!running && attempt >= SHUTDOWN_ATTEMPTS) {
+                    log.error("Giving up on {} queued tasks at shutdown", batch.size(), e);
+                    batch.forEach(task -> drop(task, e));
+                    return;
+                }
+                log.warn("Writing {} queued tasks failed, retrying in {}ms", batch.size(), backoff, e);
+                sleep(backoff);
+                backoff = Math.min(backoff * 2, MAX_RETRY_MILLIS);
+            }
+        }
+        committed(batch);
+    }
+
+    // Written and rejected tasks are removed from the batch, so a retry after any other failure resumes where
+    // this left off
+    private void writeEach(List<Task> batch) {
+        for (Iterator<Task> tasks = batch.iterator(); tasks.hasNext(); ) {
+            Task task = tasks.next();
+            try {
+                insert(List.of(task));
+            } catch (DataIntegrityViolationException e) {
+                log.error("Dropping queued task {} - the database rejected it", task.getId(), e);
+                drop(task, e);
+                tasks.remove();
+                continue;
+            }
+            tasks.remove();
+            committed(List.of(task));
+        }
+    }
+
+    // Insert the tasks and record their creation in the change log, together
+    // Throws DatabaseBusyException when no permit comes free in time, which is retried like any other failure
+    private void insert(List<Task> tasks) {
+        databaseBulkhead.run(() -> transactionTemplate.executeWithoutResult(status -> {
+            taskRepository.insertAll(tasks);
+            taskChangeLog.record(tasks.stream().map(TaskChangeEvent::created).toList());
+        }));
+    }
+
+    // The tasks are committed - cache them before they stop being pending, so reads by ID never miss them.
+    // Never throws: the tasks are in the database whatever fails here, so they must not be retried or dropped
+    private void committed(List<Task> tasks) {
+        try {
+            tasks.forEach(taskCache::put);
+            taskCache.invalidateBoard();
+        } catch (RuntimeException e) {
+            log.warn("Could not cache {} written tasks, they will be read from the database", tasks.size(), e);
+        }
+        tasks.forEach(task -> {
+            Pending entry = pending.remove(task.getId());
+            if (entry != null) {
+                entry.written().complete(null);
+            }
+        });
+        written.increment(tasks.size());
+        // One listener failing (in cluster mode, the notification to other instances) doesn't stop the rest
+        tasks.forEach(task -> {
+            try {
+                eventPublisher.publishEvent(TaskChangeEvent.created(task));
+            } catch (RuntimeException e) {
+                log.warn("Task {} was written but its change event could not be published", task.getId(), e);
+            }
+        });
+    }
+
+    private void drop(Task task, RuntimeException cause) {
+        dropped.increment();
+        Pending entry = pending.remove(task.getId());
+        if (entry != null) {
+            entry.written().completeExceptionally(cause);
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private record Pending(Task task, CompletableFuture<Void> written) {
+    }
+}
@@ -0,0 +1,13 @@
+-- Idempotency-Key values of POST /tasks requests and the task each one created, recorded in the same
+-- transaction as the task when tasks.idempotency.persistent is on. Rows older than tasks.idempotency.ttl
+-- are ignored, and purged every tasks.idempotency.purge-interval
+
+CREATE TABLE IF NOT EXISTS idempotency_key (
+    idempotency_key VARCHAR(255) NOT NULL PRIMARY KEY,
+    request_hash    VARCHAR(64)  NOT NULL,
+    response_body   TEXT         NOT NULL,
+    created_at      TIMESTAMP(6) NOT NULL
+);
+
+-- The purge deletes by age
+CREATE INDEX IF NOT EXISTS idx_idempotency_key_created_at ON idempotency_key (created_at);
@@ -0,0 +1,11 @@
+-- Full-text search for GET /tasks/search: title (weight A) and description (weight B) as a tsvector the
+-- database generates and stores on every write, so it can never drift from the text, and a GIN index over it.
+-- Adding a stored generated column rewrites the table once
+
+ALTER TABLE task ADD COLUMN IF NOT EXISTS search_vector tsvector
+    GENERATED ALWAYS AS (
+        setweight(to_tsvector('english', coalesce(title, '')), 'A')
+        || setweight(to_tsvector('english', coalesce(description, '')), 'B')
+    ) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_task_search_vector ON task USING GIN (search_vector);
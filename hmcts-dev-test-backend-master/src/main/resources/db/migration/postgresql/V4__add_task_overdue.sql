@@ -0,0 +1,13 @@
+-- Overdue flag set and cleared by the sweeper (OverdueSweeper): true while a task is past its due date and not
+-- completed. Adding a column with a constant default doesn't rewrite the table
+
+ALTER TABLE task ADD COLUMN IF NOT EXISTS overdue BOOLEAN NOT NULL DEFAULT FALSE;
+
+-- Open tasks not flagged yet, by due date - the marking pass reads the front of this and nothing else, so
+-- tasks it has already flagged don't slow it down
+CREATE INDEX IF NOT EXISTS idx_task_due_date_time_not_overdue ON task (due_date_time)
+    WHERE status <> 'COMPLETED' AND NOT overdue;
+
+-- Flagged tasks - GET /tasks?overdue=true in listing order, and the clearing pass
+CREATE INDEX IF NOT EXISTS idx_task_overdue_due_date_time_id ON task (due_date_time, id)
+    WHERE overdue;
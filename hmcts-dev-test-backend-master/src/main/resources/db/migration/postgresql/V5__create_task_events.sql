@@ -0,0 +1,29 @@
+-- The change log behind GET /tasks/changes (see TaskChangeLog). TaskService appends a row for every create,
+-- status change and delete in the same transaction as the change, so downstream consumers can pull what
+-- changed since the last sequence they saw instead of re-reading every task. Rows can commit out of sequence
+-- order, so reads stop short of any sequence a running transaction could still commit (see TaskChangeLog)
+
+CREATE TABLE IF NOT EXISTS task_events (
+    sequence   BIGINT GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
+    task_id    UUID         NOT NULL,
+    type       VARCHAR(20)  NOT NULL,
+    status     VARCHAR(20),
+    -- The task's JSON after the change, when the write had it
+    task       TEXT,
+    created_at TIMESTAMP(6) NOT NULL
+);
+
+-- Compaction looks for later changes to the same task
+CREATE INDEX IF NOT EXISTS idx_task_events_task_id_sequence ON task_events (task_id, sequence);
+
+-- Retention and compaction pick rows by age
+CREATE INDEX IF NOT EXISTS idx_task_events_created_at ON task_events (created_at);
+
+-- Everything up to purged_through has been removed by retention - consumers asking for changes since an
+-- earlier sequence have missed some and must reload
+CREATE TABLE IF NOT EXISTS task_events_horizon (
+    id             SMALLINT NOT NULL PRIMARY KEY CHECK (id = 1),
+    purged_through BIGINT   NOT NULL
+);
+
+INSERT INTO task_events_horizon (id, purged_through) VALUES (1, 0) ON CONFLICT DO NOTHING;
@@ -0,0 +1,71 @@
+package uk.gov.hmcts.reform.dev;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.util.concurrent.TimeUnit;
+
+// The smoke checks against the native binary built by nativeCompile, run with ./gradlew nativeSmoke
+// Starts the binary named by NATIVE_BINARY on a free port with this JVM's environment (the DB_* variables),
+// and stops it afterwards
+@EnabledIfEnvironmentVariable(named = "NATIVE_BINARY", matches = ".+")
+class NativeTaskApiSmokeTest extends TaskApiSmokeChecks {
+
+    private static final long START_TIMEOUT_MILLIS = 30_000;
+
+    private static Process application;
+
+    private static int port;
+
+    @BeforeAll
+    static void startNativeImage() throws IOException, InterruptedException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        application = new ProcessBuilder(System.getenv("NATIVE_BINARY"), "--server.port=" + port)
+            .inheritIO()
+            .start();
+
+        long started = System.currentTimeMillis();
+        while (!answering()) {
+            if (!application.isAlive()) {
+                throw new IllegalStateException("Native image exited during start-up: " + application.exitValue());
+            }
+            if (System.currentTimeMillis() - started > START_TIMEOUT_MILLIS) {
+                throw new IllegalStateException("Native image not up after " + START_TIMEOUT_MILLIS + "ms");
+            }
+            Thread.sleep(50);
+        }
+        System.out.println("Native image ready in " + (System.currentTimeMillis() - started) + "ms");
+    }
+
+    @AfterAll
+    static void stopNativeImage() throws InterruptedException {
+        if (application != null) {
+            application.destroy();
+            application.waitFor(10, TimeUnit.SECONDS);
+        }
+    }
+
+    @Override
+    protected String baseUrl() {
+        return "http://localhost:" + port;
+    }
+
+    // Up once the task API answers, as compare-startup.sh waits for it - health isn't exposed over HTTP
+    private static boolean answering() {
+        try {
+            HttpURLConnection connection =
+                (HttpURLConnection) URI.create("http://localhost:" + port + "/tasks?limit=1").toURL().openConnection();
+            connection.setConnectTimeout(200);
+            return connection.getResponseCode() == 200;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package uk.gov.hmcts.reform.dev;
+
+import io.restassured.RestAssured;
+import io.restassured.http.ContentType;
+import io.restassured.response.Response;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static io.restassured.RestAssured.given;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// The smoke checks, run against the application on the JVM (TaskApiSmokeTest) and as a native image
+// (NativeTaskApiSmokeTest). The round trip goes through JSON binding, JPA and the change log - what a native
+// image is most likely to be missing hints for
+abstract class TaskApiSmokeChecks {
+
+    protected abstract String baseUrl();
+
+    @BeforeEach
+    public void setUp() {
+        RestAssured.baseURI = baseUrl();
+        RestAssured.useRelaxedHTTPSValidation();
+        System.out.println("Test running against: " + baseUrl()); // Keep this for debugging
+    }
+
+    @Test
+    void getAllTasksEndpointIsAvailable() {
+        Response response = given()
+            .contentType(ContentType.JSON)
+            .when()
+            .get("/tasks")
+            .then()
+            .extract()
+            .response();
+
+        assertEquals(200, response.statusCode(), "Expected 200 OK from /tasks endpoint");
+
+        assertTrue(response.asString().startsWith("[") || response.asString().equals("[]"), "Expected JSON array response");
+    }
+
+    @Test
+    void createdTaskCanBeReadBackAndDeleted() {
+        String id = given()
+            .contentType(ContentType.JSON)
+            .body("{\"title\":\"Smoke test\",\"status\":\"PENDING\",\"dueDateTime\":\"2030-01-01T09:00:00\"}")
+            .when()
+            .post("/tasks")
+            .then()
+            .statusCode(201)
+            .extract()
+            .path("id");
+
+        given().when().get("/tasks/" + id).then().statusCode(200);
+        given().when().delete("/tasks/" + id).then().statusCode(204);
+        given().when().get("/tasks/" + id).then().statusCode(404);
+    }
+}
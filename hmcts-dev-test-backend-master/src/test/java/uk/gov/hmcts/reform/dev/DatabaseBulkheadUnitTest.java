@@ -0,0 +1,129 @@
+package uk.gov.hmcts.reform.dev;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.junit.jupiter.api.Test;
+import uk.gov.hmcts.reform.dev.config.DatabaseBulkhead;
+import uk.gov.hmcts.reform.dev.config.DatabaseBulkheadProperties;
+import uk.gov.hmcts.reform.dev.exceptions.DatabaseBusyException;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class DatabaseBulkheadUnitTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    // One permit, one more for exports, and a short wait so the busy case is quick
+    private final DatabaseBulkhead bulkhead = new DatabaseBulkhead(
+        new DatabaseBulkheadProperties(1, Duration.ofMillis(50), 1), meterRegistry);
+
+    @Test
+    void limit_NestedCallOnSameThread_ReusesOuterPermit() throws Throwable {
+        // Arrange - a service call whose body makes a repository call
+        ProceedingJoinPoint repositoryCall = mock(ProceedingJoinPoint.class);
+        when(repositoryCall.proceed()).thenReturn("row");
+        ProceedingJoinPoint serviceCall = mock(ProceedingJoinPoint.class);
+        when(serviceCall.proceed()).thenAnswer(invocation -> bulkhead.limit(repositoryCall));
+
+        // Act & Assert - with a single permit this would time out if the inner call needed its own
+        assertEquals("row", bulkhead.limit(serviceCall));
+        assertThat(meterRegistry.get("tasks.db.bulkhead.available").gauge().value()).isEqualTo(1.0);
+    }
+
+    @Test
+    void limit_NoPermitFreeWithinTimeout_ThrowsDatabaseBusyException() throws Throwable {
+        // Arrange - another thread holds the only permit until released
+        CountDownLatch holding = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ProceedingJoinPoint slowCall = mock(ProceedingJoinPoint.class);
+        when(slowCall.proceed()).thenAnswer(invocation -> {
+            holding.countDown();
+            return release.await(5, TimeUnit.SECONDS);
+        });
+        CompletableFuture<Object> holder = CompletableFuture.supplyAsync(() -> {
+            try {
+                return bulkhead.limit(slowCall);
+            } catch (Throwable e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        assertThat(holding.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // Act & Assert
+        ProceedingJoinPoint call = mock(ProceedingJoinPoint.class);
+        assertThrows(DatabaseBusyException.class, () -> bulkhead.limit(call));
+        assertThat(meterRegistry.get("tasks.db.bulkhead.rejected").counter().count()).isEqualTo(1.0);
+
+        release.countDown();
+        assertThat(getQuietly(holder)).isEqualTo(Boolean.TRUE);
+    }
+
+    @Test
+    void limitExport_ExportInProgress_LeavesOtherPermitsFree() throws Throwable {
+        // Arrange - an export whose body makes a repository call while a request comes in
+        ProceedingJoinPoint request = mock(ProceedingJoinPoint.class);
+        when(request.proceed()).thenReturn("row");
+        Object[] duringExport = new Object[1];
+        ProceedingJoinPoint export = mock(ProceedingJoinPoint.class);
+        when(export.proceed()).thenAnswer(invocation -> {
+            duringExport[0] = CompletableFuture.supplyAsync(() -> {
+                try {
+                    return bulkhead.limit(request);
+                } catch (Throwable e) {
+                    throw new IllegalStateException(e);
+                }
+            }).get(5, TimeUnit.SECONDS);
+            return 1L;
+        });
+
+        // Act
+        bulkhead.limitExport(export);
+
+        // Assert - the request didn't wait for the export's permit
+        assertEquals("row", duringExport[0]);
+        assertThat(meterRegistry.get("tasks.db.bulkhead.exports.available").gauge().value()).isEqualTo(1.0);
+    }
+
+    @Test
+    void call_BackgroundWorkWhilePermitsTaken_ThrowsDatabaseBusyException() throws Throwable {
+        // Arrange - a request holds the only permit while background work tries to start
+        Object[] background = new Object[1];
+        ProceedingJoinPoint request = mock(ProceedingJoinPoint.class);
+        when(request.proceed()).thenAnswer(invocation -> {
+            background[0] = CompletableFuture.supplyAsync(() -> {
+                try {
+                    return bulkhead.call(() -> "chunk");
+                } catch (DatabaseBusyException e) {
+                    return e;
+                }
+            }).get(5, TimeUnit.SECONDS);
+            return null;
+        });
+
+        // Act
+        bulkhead.limit(request);
+
+        // Assert - background work waits its turn like a request, and runs once the permit is back
+        assertThat(background[0]).isInstanceOf(DatabaseBusyException.class);
+        assertEquals("chunk", bulkhead.call(() -> "chunk"));
+    }
+
+    private static Object getQuietly(CompletableFuture<Object> future) throws InterruptedException {
+        try {
+            return future.get(5, TimeUnit.SECONDS);
+        } catch (ExecutionException | TimeoutException e) {
+            throw new AssertionError(e);
+        }
+    }
+}
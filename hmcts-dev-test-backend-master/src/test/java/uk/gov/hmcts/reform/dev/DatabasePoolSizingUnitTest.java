@@ -0,0 +1,36 @@
+package uk.gov.hmcts.reform.dev;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+import uk.gov.hmcts.reform.dev.config.DatabasePoolSizing;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class DatabasePoolSizingUnitTest {
+
+    @Test
+    void poolSize_PlentyOfDatabaseConnections_SizesFromCores() {
+        assertEquals(9, DatabasePoolSizing.poolSize(4, 100, 10, 1));
+    }
+
+    @Test
+    void poolSize_ManyInstances_CapsAtShareOfDatabaseConnections() {
+        // (100 - 10) / 6 instances = 15, fewer than 16 cores would want
+        assertEquals(15, DatabasePoolSizing.poolSize(16, 100, 10, 6));
+    }
+
+    @Test
+    void poolSize_DatabaseConnectionsExhausted_KeepsMinimumOfTwo() {
+        assertEquals(2, DatabasePoolSizing.poolSize(4, 10, 10, 3));
+    }
+
+    @Test
+    void postProcessEnvironment_ExplicitSize_IsNotOverridden() {
+        MockEnvironment environment = new MockEnvironment()
+            .withProperty(DatabasePoolSizing.AUTO_SIZE_PROPERTY, "7");
+
+        new DatabasePoolSizing().postProcessEnvironment(environment, null);
+
+        assertEquals("7", environment.getProperty(DatabasePoolSizing.AUTO_SIZE_PROPERTY));
+    }
+}
@@ -0,0 +1,134 @@
+package uk.gov.hmcts.reform.dev;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import uk.gov.hmcts.reform.dev.config.IdempotencyProperties;
+import uk.gov.hmcts.reform.dev.dto.request.CreateTaskRequestDto;
+import uk.gov.hmcts.reform.dev.exceptions.DatabaseBusyException;
+import uk.gov.hmcts.reform.dev.exceptions.IdempotencyKeyReusedException;
+import uk.gov.hmcts.reform.dev.models.Task;
+import uk.gov.hmcts.reform.dev.services.IdempotencyService;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+
+class IdempotencyServiceUnitTest {
+
+    private static final LocalDateTime DUE = LocalDateTime.of(2025, 7, 2, 13, 30);
+
+    // In-memory keys only - no IdempotencyKeyStore
+    @SuppressWarnings("unchecked")
+    private final IdempotencyService idempotencyService = new IdempotencyService(
+        new IdempotencyProperties(100, Duration.ofMinutes(5), false),
+        mock(ObjectProvider.class),
+        new ObjectMapper().registerModule(new JavaTimeModule()));
+
+    private final AtomicInteger creates = new AtomicInteger();
+
+    @Test
+    void createTask_SameKeyAndBody_CreatesOnceAndReplaysOriginal() {
+        // Act
+        IdempotencyService.Result first = idempotencyService.createTask("key-1", request("Task 1"), this::create);
+        IdempotencyService.Result retry = idempotencyService.createTask("key-1", request("Task 1"), this::create);
+
+        // Assert
+        assertThat(creates).hasValue(1);
+        assertThat(first.replayed()).isFalse();
+        assertThat(retry.replayed()).isTrue();
+        assertThat(retry.task().getId()).isEqualTo(first.task().getId());
+    }
+
+    @Test
+    void createTask_SameKeyDifferentBody_ThrowsIdempotencyKeyReusedException() {
+        idempotencyService.createTask("key-1", request("Task 1"), this::create);
+
+        assertThrows(IdempotencyKeyReusedException.class,
+                     () -> idempotencyService.createTask("key-1", request("Task 2"), this::create));
+        assertThat(creates).hasValue(1);
+    }
+
+    @Test
+    void createTask_FirstAttemptFailed_RetryCreates() {
+        // Arrange - the first create fails before reaching the database
+        Supplier<Task> failing = () -> {
+            throw new DatabaseBusyException(Duration.ofSeconds(5));
+        };
+        assertThrows(DatabaseBusyException.class,
+                     () -> idempotencyService.createTask("key-1", request("Task 1"), failing));
+
+        // Act
+        IdempotencyService.Result retry = idempotencyService.createTask("key-1", request("Task 1"), this::create);
+
+        // Assert - the failure wasn't remembered
+        assertThat(retry.replayed()).isFalse();
+        assertThat(creates).hasValue(1);
+    }
+
+    @Test
+    void createTask_ConcurrentDuplicate_WaitsForFirstAndSharesItsTask() throws Exception {
+        // Arrange - the first create is held mid-insert
+        CountDownLatch inserting = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Supplier<Task> slow = () -> {
+            inserting.countDown();
+            await(release);
+            return create();
+        };
+        CompletableFuture<IdempotencyService.Result> first = CompletableFuture.supplyAsync(
+            () -> idempotencyService.createTask("key-1", request("Task 1"), slow));
+        assertThat(inserting.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // Act - the duplicate arrives while the first is still running
+        CompletableFuture<IdempotencyService.Result> duplicate = CompletableFuture.supplyAsync(
+            () -> idempotencyService.createTask("key-1", request("Task 1"), this::create));
+        release.countDown();
+
+        // Assert - one insert, one task
+        UUID firstId = first.get(5, TimeUnit.SECONDS).task().getId();
+        IdempotencyService.Result shared = duplicate.get(5, TimeUnit.SECONDS);
+        assertThat(creates).hasValue(1);
+        assertThat(shared.replayed()).isTrue();
+        assertThat(shared.task().getId()).isEqualTo(firstId);
+    }
+
+    @Test
+    void createTask_ReplayedTask_IsUnaffectedByLaterChangesToTheEntity() {
+        // Arrange - the saved entity is also what the task cache holds
+        Task saved = create();
+        idempotencyService.createTask("key-1", request("Task 1"), () -> saved);
+        saved.setStatus(Task.Status.COMPLETED);
+
+        IdempotencyService.Result retry = idempotencyService.createTask("key-1", request("Task 1"), this::create);
+
+        assertThat(retry.task().getStatus()).isEqualTo(Task.Status.PENDING);
+    }
+
+    private Task create() {
+        creates.incrementAndGet();
+        return new Task(UUID.randomUUID(), "Task", null, Task.Status.PENDING, DUE, 0L);
+    }
+
+    private static CreateTaskRequestDto request(String title) {
+        return new CreateTaskRequestDto(title, null, Task.Status.PENDING, DUE);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
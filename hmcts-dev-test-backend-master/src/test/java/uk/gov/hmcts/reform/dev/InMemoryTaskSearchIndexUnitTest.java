@@ -0,0 +1,118 @@
+package uk.gov.hmcts.reform.dev;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import uk.gov.hmcts.reform.dev.config.DatabaseBulkhead;
+import uk.gov.hmcts.reform.dev.config.DatabaseBulkheadProperties;
+import uk.gov.hmcts.reform.dev.events.TaskChangeEvent;
+import uk.gov.hmcts.reform.dev.models.Task;
+import uk.gov.hmcts.reform.dev.models.TaskSearchCursor;
+import uk.gov.hmcts.reform.dev.models.TaskSearchHit;
+import uk.gov.hmcts.reform.dev.repositories.TaskRepository;
+import uk.gov.hmcts.reform.dev.services.InMemoryTaskSearchIndex;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class InMemoryTaskSearchIndexUnitTest {
+
+    // Tasks are added through change events here, rather than loaded from the database
+    private final InMemoryTaskSearchIndex index = new InMemoryTaskSearchIndex(
+        mock(TaskRepository.class), mock(EntityManager.class), mock(PlatformTransactionManager.class),
+        new DatabaseBulkhead(new DatabaseBulkheadProperties(4, null, 0), new SimpleMeterRegistry()));
+
+    private Task titleMatch;
+
+    private Task descriptionMatch;
+
+    private Task completedMatch;
+
+    @BeforeEach
+    void setUp() {
+        titleMatch = add("Review hearing bundle", "Check page numbers", Task.Status.PENDING);
+        descriptionMatch = add("Prepare bundle", "Ready for the judge to review", Task.Status.PENDING);
+        completedMatch = add("Review the order", null, Task.Status.COMPLETED);
+        add("Call the applicant", "About the hearing date", Task.Status.IN_PROGRESS);
+    }
+
+    @Nested
+    @DisplayName("matching tests")
+    class MatchingTests {
+        @Test
+        void search_EveryWordMustMatch_RanksTitleMatchesFirst() {
+            // Act
+            List<Task> results = tasks(index.search("Review", null, null, 10));
+
+            // Assert - both title matches outrank the description match
+            assertThat(results).hasSize(3);
+            assertThat(results.subList(0, 2)).containsExactlyInAnyOrder(titleMatch, completedMatch);
+            assertThat(results.get(2)).isEqualTo(descriptionMatch);
+            assertThat(tasks(index.search("review bundle", null, null, 10)))
+                .containsExactly(titleMatch, descriptionMatch);
+        }
+
+        @Test
+        void search_ExcludedWordAndStatus_FilterResults() {
+            assertThat(tasks(index.search("review -judge", null, null, 10)))
+                .containsExactlyInAnyOrder(titleMatch, completedMatch);
+            assertThat(tasks(index.search("review", Task.Status.COMPLETED, null, 10)))
+                .containsExactly(completedMatch);
+        }
+
+        @Test
+        void search_NoWords_ReturnsNothing() {
+            assertThat(index.search("  -review ", null, null, 10)).isEmpty();
+            assertThat(index.search("unknown", null, null, 10)).isEmpty();
+        }
+    }
+
+    @Nested
+    @DisplayName("paging and change tests")
+    class PagingAndChangeTests {
+        @Test
+        void search_AfterCursor_ReturnsTheRestInOrder() {
+            // Arrange
+            List<TaskSearchHit> all = index.search("review", null, null, 10);
+            TaskSearchCursor afterFirst = TaskSearchCursor.of(all.get(0));
+
+            // Act
+            List<TaskSearchHit> rest = index.search("review", null, afterFirst, 10);
+
+            // Assert
+            assertThat(rest).containsExactlyElementsOf(all.subList(1, all.size()));
+        }
+
+        @Test
+        void onChange_DeletedAndStatusChanged_UpdateTheIndex() {
+            // Act
+            index.onChange(TaskChangeEvent.deleted(titleMatch.getId()));
+            index.onChange(TaskChangeEvent.statusChanged(descriptionMatch.getId(), Task.Status.COMPLETED));
+
+            // Assert
+            List<Task> completed = tasks(index.search("review", Task.Status.COMPLETED, null, 10));
+            assertThat(completed).extracting(Task::getId)
+                .containsExactlyInAnyOrder(completedMatch.getId(), descriptionMatch.getId());
+            assertThat(tasks(index.search("hearing", null, null, 10))).extracting(Task::getTitle)
+                .containsExactly("Call the applicant");
+        }
+    }
+
+    private Task add(String title, String description, Task.Status status) {
+        Task task = new Task(UUID.randomUUID(), title, description, status, LocalDateTime.of(2025, 5, 1, 12, 0), 0L);
+        index.onChange(TaskChangeEvent.created(task));
+        return task;
+    }
+
+    private static List<Task> tasks(List<TaskSearchHit> hits) {
+        return hits.stream().map(TaskSearchHit::task).toList();
+    }
+}
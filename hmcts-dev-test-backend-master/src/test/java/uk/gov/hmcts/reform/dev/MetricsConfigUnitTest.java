@@ -0,0 +1,65 @@
+package uk.gov.hmcts.reform.dev;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import uk.gov.hmcts.reform.dev.config.MetricsConfig;
+import uk.gov.hmcts.reform.dev.dto.request.TaskQuery;
+import uk.gov.hmcts.reform.dev.dto.response.TaskPage;
+import uk.gov.hmcts.reform.dev.models.Task;
+import uk.gov.hmcts.reform.dev.services.TaskService;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class MetricsConfigUnitTest {
+
+    private final MetricsConfig metricsConfig = new MetricsConfig();
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    // A TaskService proxied with the timing aspect, as Spring would
+    private TaskService timedTaskService() {
+        registry.config().meterFilter(metricsConfig.taskStatusTagDefault());
+        registry.config().meterFilter(metricsConfig.taskStatusTagLimit());
+        TaskService taskService = mock(TaskService.class);
+        when(taskService.getTasks(any())).thenReturn(new TaskPage(List.of(), null));
+
+        AspectJProxyFactory proxyFactory = new AspectJProxyFactory(taskService);
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAspect(metricsConfig.timedAspect(registry));
+        return proxyFactory.getProxy();
+    }
+
+    @Test
+    void getTasks_StatusFilter_TaggedWithStatus() {
+        timedTaskService().getTasks(TaskQuery.builder().status(Task.Status.PENDING).limit(10).build());
+
+        Timer timer = registry.get(MetricsConfig.SERVICE_TIMER).tag("method", "getTasks").timer();
+        assertThat(timer.getId().getTag(MetricsConfig.STATUS_TAG)).isEqualTo("PENDING");
+        assertThat(timer.count()).isEqualTo(1);
+    }
+
+    @Test
+    void getTasks_NoStatusFilter_TaggedWithAll() {
+        timedTaskService().getTasks(TaskQuery.builder().limit(10).build());
+
+        Timer timer = registry.get(MetricsConfig.SERVICE_TIMER).tag("method", "getTasks").timer();
+        assertThat(timer.getId().getTag(MetricsConfig.STATUS_TAG)).isEqualTo("all");
+    }
+
+    @Test
+    void getTaskById_NoStatusParameter_TaggedWithNone() {
+        timedTaskService().getTaskById("3f0c7a52-9f0e-4c52-a1f4-0f4f6b1b2f7e");
+
+        Timer timer = registry.get(MetricsConfig.SERVICE_TIMER).tag("method", "getTaskById").timer();
+        assertThat(timer.getId().getTag(MetricsConfig.STATUS_TAG)).isEqualTo(MetricsConfig.NO_STATUS);
+        // The task ID never becomes a tag
+        assertThat(timer.getId().getTags()).noneMatch(tag -> tag.getValue().contains("3f0c7a52"));
+    }
+}
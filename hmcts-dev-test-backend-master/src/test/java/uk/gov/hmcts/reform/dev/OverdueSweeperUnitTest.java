@@ -0,0 +1,94 @@
+package uk.gov.hmcts.reform.dev;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+import uk.gov.hmcts.reform.dev.config.DatabaseBulkhead;
+import uk.gov.hmcts.reform.dev.config.DatabaseBulkheadProperties;
+import uk.gov.hmcts.reform.dev.config.OverdueSweepProperties;
+import uk.gov.hmcts.reform.dev.events.TaskEvictionEvent;
+import uk.gov.hmcts.reform.dev.repositories.TaskRepository;
+import uk.gov.hmcts.reform.dev.services.OverdueSweeper;
+import uk.gov.hmcts.reform.dev.services.TaskCache;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class OverdueSweeperUnitTest {
+
+    private final TaskRepository taskRepository = mock(TaskRepository.class);
+
+    private final TaskCache taskCache = mock(TaskCache.class);
+
+    private final ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    // Two tasks per chunk, so a full chunk is easy to arrange. The transaction manager is a mock, so chunks
+    // run as if in a transaction that commits
+    private final OverdueSweeper sweeper = new OverdueSweeper(
+        new OverdueSweepProperties(true, Duration.ofMinutes(1), 2), taskRepository, taskCache,
+        mock(PlatformTransactionManager.class),
+        new DatabaseBulkhead(new DatabaseBulkheadProperties(4, null, 0), new SimpleMeterRegistry()),
+        eventPublisher, meterRegistry);
+
+    @Test
+    void sweep_FullChunks_RunsUntilAChunkComesBackShort() {
+        // Arrange - two full chunks to flag, then one task; one task to clear
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        UUID third = UUID.randomUUID();
+        UUID fourth = UUID.randomUUID();
+        UUID fifth = UUID.randomUUID();
+        UUID completed = UUID.randomUUID();
+        when(taskRepository.markOverdue(any(LocalDateTime.class), eq(2)))
+            .thenReturn(List.of(first, second), List.of(third, fourth), List.of(fifth));
+        when(taskRepository.clearOverdue(any(LocalDateTime.class), eq(2))).thenReturn(List.of(completed));
+
+        // Act
+        sweeper.sweep();
+
+        // Assert - every changed task evicted, the board reloaded once
+        verify(taskRepository, times(3)).markOverdue(any(), anyInt());
+        verify(taskRepository, times(1)).clearOverdue(any(), anyInt());
+        List.of(first, second, third, fourth, fifth, completed).forEach(id -> verify(taskCache).evict(id));
+        verify(taskCache, times(1)).invalidateBoard();
+
+        // One eviction notice per chunk, for other instances' caches
+        verify(eventPublisher).publishEvent(new TaskEvictionEvent(List.of(first, second)));
+        verify(eventPublisher).publishEvent(new TaskEvictionEvent(List.of(third, fourth)));
+        verify(eventPublisher).publishEvent(new TaskEvictionEvent(List.of(fifth)));
+        verify(eventPublisher).publishEvent(new TaskEvictionEvent(List.of(completed)));
+
+        DistributionSummary marked = meterRegistry.get("tasks.overdue.rows").tag("pass", "mark").summary();
+        assertThat(marked.count()).isEqualTo(3);
+        assertThat(marked.totalAmount()).isEqualTo(5.0);
+        assertThat(meterRegistry.get("tasks.overdue.sweep").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void sweep_NothingDue_LeavesBoardCacheAlone() {
+        when(taskRepository.markOverdue(any(LocalDateTime.class), anyInt())).thenReturn(List.of());
+        when(taskRepository.clearOverdue(any(LocalDateTime.class), anyInt())).thenReturn(List.of());
+
+        sweeper.sweep();
+
+        verify(taskCache, never()).invalidateBoard();
+        verifyNoInteractions(eventPublisher);
+    }
+}
@@ -0,0 +1,188 @@
+package uk.gov.hmcts.reform.dev;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+import uk.gov.hmcts.reform.dev.config.ClusterProperties;
+import uk.gov.hmcts.reform.dev.config.DatabaseBulkhead;
+import uk.gov.hmcts.reform.dev.config.DatabaseBulkheadProperties;
+import uk.gov.hmcts.reform.dev.events.PostgresTaskChangeBus;
+import uk.gov.hmcts.reform.dev.events.TaskChangeEvent;
+import uk.gov.hmcts.reform.dev.events.TaskChangeFeed;
+import uk.gov.hmcts.reform.dev.events.TaskEvictionEvent;
+import uk.gov.hmcts.reform.dev.models.Task;
+import uk.gov.hmcts.reform.dev.services.TaskCache;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+class PostgresTaskChangeBusUnitTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+
+    private final TaskCache taskCache = mock(TaskCache.class);
+
+    private final TaskChangeFeed taskChangeFeed = mock(TaskChangeFeed.class);
+
+    private final PostgresTaskChangeBus bus = newBus();
+
+    private PostgresTaskChangeBus newBus() {
+        return new PostgresTaskChangeBus(
+            new ClusterProperties(true, null, null), new DataSourceProperties(), jdbcTemplate,
+            new DatabaseBulkhead(new DatabaseBulkheadProperties(4, null, 0), new SimpleMeterRegistry()),
+            objectMapper, taskCache, taskChangeFeed, new SimpleMeterRegistry());
+    }
+
+    @Nested
+    @DisplayName("sending tests")
+    class SendTests {
+        @Test
+        void onChange_OutsideTransaction_NotifiesStraightAway() {
+            UUID id = UUID.randomUUID();
+
+            bus.onChange(TaskChangeEvent.deleted(id));
+
+            List<String> payloads = sentPayloads();
+            assertThat(payloads.get(0)).contains("\"type\":\"DELETED\"", id.toString());
+        }
+
+        @Test
+        void send_ManyChanges_PacksThemIntoPayloadsUnderTheLimit() {
+            // Arrange - far more than fit in one notification
+            List<TaskChangeEvent> changes = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                changes.add(TaskChangeEvent.created(task(UUID.randomUUID())));
+            }
+
+            // Act
+            bus.send(changes);
+
+            // Assert - split into several, each under PostgreSQL's limit, with every change sent once
+            List<String> payloads = sentPayloads();
+            assertThat(payloads).hasSizeGreaterThan(1).allSatisfy(
+                payload -> assertThat(payload.getBytes(StandardCharsets.UTF_8).length).isLessThan(8000));
+            int sent = payloads.stream().mapToInt(payload -> payload.split("\"type\":\"CREATED\"").length - 1).sum();
+            assertThat(sent).isEqualTo(200);
+        }
+
+        @Test
+        void onEviction_InTransaction_SendsOnlyWhenItCommits() {
+            // Arrange
+            UUID id = UUID.randomUUID();
+            TransactionSynchronizationManager.initSynchronization();
+            TransactionSynchronizationManager.setActualTransactionActive(true);
+            try {
+                // Act - published, then the transaction commits
+                bus.onEviction(new TaskEvictionEvent(List.of(id)));
+                verifyNoInteractions(jdbcTemplate);
+                TransactionSynchronizationUtils.triggerBeforeCommit(false);
+                TransactionSynchronizationUtils.triggerAfterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+            } finally {
+                TransactionSynchronizationManager.setActualTransactionActive(false);
+                TransactionSynchronizationManager.clearSynchronization();
+            }
+
+            // Assert
+            assertThat(sentPayloads()).singleElement().asString().contains("\"evicted\":[\"" + id + "\"]");
+        }
+    }
+
+    @Nested
+    @DisplayName("receiving tests")
+    class ReceiveTests {
+        @Test
+        void receive_ChangeFromAnotherInstance_EvictsAndForwardsToSubscribers() {
+            // Arrange - a notification sent by another instance
+            UUID id = UUID.randomUUID();
+            newBus().send(List.of(TaskChangeEvent.statusChanged(id, Task.Status.COMPLETED)));
+            String payload = sentPayloads().get(0);
+
+            // Act
+            bus.receive(payload);
+
+            // Assert
+            verify(taskCache).evictNow(id);
+            verify(taskCache).invalidateBoard();
+            ArgumentCaptor<TaskChangeEvent> forwarded = ArgumentCaptor.forClass(TaskChangeEvent.class);
+            verify(taskChangeFeed).publish(forwarded.capture());
+            assertThat(forwarded.getValue()).isEqualTo(TaskChangeEvent.statusChanged(id, Task.Status.COMPLETED));
+        }
+
+        @Test
+        void receive_EvictionFromAnotherInstance_EvictsWithoutForwarding() {
+            // Arrange - another instance's overdue sweep changed more tasks than fit in one notification
+            List<UUID> ids = new ArrayList<>();
+            for (int i = 0; i < 500; i++) {
+                ids.add(UUID.randomUUID());
+            }
+            newBus().sendEvictions(ids);
+
+            // Act
+            sentPayloads().forEach(bus::receive);
+
+            // Assert - subscribers aren't sent anything, the flag shows on their next read
+            ids.forEach(id -> verify(taskCache).evictNow(id));
+            verify(taskCache, atLeastOnce()).invalidateBoard();
+            verifyNoInteractions(taskChangeFeed);
+        }
+
+        @Test
+        void receive_OwnNotification_IsIgnored() {
+            bus.send(List.of(TaskChangeEvent.deleted(UUID.randomUUID())));
+
+            bus.receive(sentPayloads().get(0));
+
+            verifyNoInteractions(taskCache, taskChangeFeed);
+        }
+
+        @Test
+        void receive_UnreadablePayload_IsIgnored() {
+            bus.receive("not json");
+
+            verify(taskChangeFeed, never()).publish(any());
+        }
+    }
+
+    @Test
+    void clusterProperties_ChannelNotAnIdentifier_Throws() {
+        assertThrows(IllegalArgumentException.class,
+                     () -> new ClusterProperties(true, "changes; drop table task", null));
+    }
+
+    // Payloads passed to pg_notify, in order - all on the default channel
+    private List<String> sentPayloads() {
+        ArgumentCaptor<String> payload = ArgumentCaptor.forClass(String.class);
+        verify(jdbcTemplate, atLeastOnce())
+            .queryForList(eq("select pg_notify(?, ?)"), eq("task_changes"), payload.capture());
+        return payload.getAllValues();
+    }
+
+    private static Task task(UUID id) {
+        return new Task(id, "Task " + id, "A description long enough to take up some room in the payload",
+                        Task.Status.PENDING, LocalDateTime.of(2025, 5, 1, 12, 0));
+    }
+}
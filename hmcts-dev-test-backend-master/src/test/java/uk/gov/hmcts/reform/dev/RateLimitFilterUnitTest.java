@@ -0,0 +1,200 @@
+package uk.gov.hmcts.reform.dev;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServlet;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.filter.CorsFilter;
+import uk.gov.hmcts.reform.dev.config.CorsConfig;
+import uk.gov.hmcts.reform.dev.config.RateLimitFilter;
+import uk.gov.hmcts.reform.dev.config.RateLimitProperties;
+import uk.gov.hmcts.reform.dev.config.TokenBucket;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class RateLimitFilterUnitTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final AtomicLong now = new AtomicLong();
+
+    // Two reads at once then one a second per client, one write, and one request of each kind in progress
+    // Only client-a and client-b are known keys
+    private final RateLimitFilter filter = new RateLimitFilter(
+        new RateLimitProperties("X-API-Key", Set.of("client-a", "client-b"), 100,
+                                new RateLimitProperties.Limits(2, 1, 1), new RateLimitProperties.Limits(1, 1, 1)),
+        meterRegistry, new ObjectMapper(), now::get);
+
+    @Nested
+    @DisplayName("token bucket tests")
+    class TokenBucketTests {
+        @Test
+        void tryConsume_EmptyBucket_ReturnsTimeUntilNextToken() {
+            TokenBucket bucket = new TokenBucket(1, 2, 0);
+
+            assertThat(bucket.tryConsume(0)).isZero();
+            assertThat(bucket.tryConsume(0)).isCloseTo(TimeUnit.MILLISECONDS.toNanos(500), within(1L));
+            assertThat(bucket.tryConsume(TimeUnit.MILLISECONDS.toNanos(510))).isZero();
+        }
+
+        @Test
+        void tryConsume_LongIdle_RefillsOnlyUpToCapacity() {
+            TokenBucket bucket = new TokenBucket(2, 1, 0);
+
+            long later = TimeUnit.MINUTES.toNanos(1);
+
+            assertThat(bucket.tryConsume(later)).isZero();
+            assertThat(bucket.tryConsume(later)).isZero();
+            assertThat(bucket.tryConsume(later)).isPositive();
+        }
+    }
+
+    @Nested
+    @DisplayName("rate limit tests")
+    class RateTests {
+        @Test
+        void doFilter_ClientOverItsRate_Returns429WithRetryAfter() throws Exception {
+            // Arrange - the client uses up its burst of two reads
+            assertThat(send(get("/tasks", "client-a")).getStatus()).isEqualTo(200);
+            assertThat(send(get("/tasks", "client-a")).getStatus()).isEqualTo(200);
+
+            // Act
+            MockHttpServletResponse response = send(get("/tasks", "client-a"));
+
+            // Assert
+            assertThat(response.getStatus()).isEqualTo(429);
+            assertThat(response.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+            assertThat(response.getContentType()).isEqualTo("application/problem+json");
+            assertThat(meterRegistry.get("tasks.ratelimit.rejected").tag("kind", "read").tag("reason", "rate")
+                           .counter().count()).isEqualTo(1.0);
+        }
+
+        @Test
+        void doFilter_OneClientOverItsRate_OthersUnaffected() throws Exception {
+            send(get("/tasks", "client-a"));
+            send(get("/tasks", "client-a"));
+            assertThat(send(get("/tasks", "client-a")).getStatus()).isEqualTo(429);
+
+            // A different key, and a client without one (told apart by address)
+            assertThat(send(get("/tasks", "client-b")).getStatus()).isEqualTo(200);
+            assertThat(send(get("/tasks", null)).getStatus()).isEqualTo(200);
+        }
+
+        @Test
+        void doFilter_MadeUpKeys_ShareTheAddressBucket() throws Exception {
+            // Arrange - a new unknown key each time, all from the same address
+            send(get("/tasks", "made-up-1"));
+            send(get("/tasks", "made-up-2"));
+
+            // Act & Assert - no fresh bucket for a third key, but a known key from that address has its own
+            assertThat(send(get("/tasks", "made-up-3")).getStatus()).isEqualTo(429);
+            assertThat(send(get("/tasks", null)).getStatus()).isEqualTo(429);
+            assertThat(send(get("/tasks", "client-a")).getStatus()).isEqualTo(200);
+        }
+
+        @Test
+        void doFilter_ReadsUsedUp_WritesStillAllowed() throws Exception {
+            send(get("/tasks", "client-a"));
+            send(get("/tasks", "client-a"));
+
+            MockHttpServletRequest write = new MockHttpServletRequest("PATCH", "/tasks/1");
+            write.addHeader("X-API-Key", "client-a");
+
+            assertThat(send(write).getStatus()).isEqualTo(200);
+        }
+
+        @Test
+        void doFilter_AfterWaiting_AllowsAgain() throws Exception {
+            send(get("/tasks", "client-a"));
+            send(get("/tasks", "client-a"));
+
+            now.addAndGet(TimeUnit.MILLISECONDS.toNanos(1100));
+
+            assertThat(send(get("/tasks", "client-a")).getStatus()).isEqualTo(200);
+        }
+    }
+
+    @Nested
+    @DisplayName("CORS tests")
+    class CorsTests {
+        @Test
+        void doFilter_RejectedBrowserRequest_CarriesCorsHeaders() throws Exception {
+            // Arrange - the board uses up its reads, then asks again through the CORS filter as in the app
+            send(get("/tasks", null));
+            send(get("/tasks", null));
+            MockHttpServletRequest request = get("/tasks", null);
+            request.addHeader(HttpHeaders.ORIGIN, "http://localhost:3000");
+            MockHttpServletResponse response = new MockHttpServletResponse();
+
+            // Act
+            new MockFilterChain(new HttpServlet() {
+            }, new CorsFilter(CorsConfig.corsConfigurationSource()), filter).doFilter(request, response);
+
+            // Assert - the browser may read the status and how long to wait
+            assertThat(response.getStatus()).isEqualTo(429);
+            assertThat(response.getHeader(HttpHeaders.ACCESS_CONTROL_ALLOW_ORIGIN))
+                .isEqualTo("http://localhost:3000");
+            assertThat(response.getHeader(HttpHeaders.ACCESS_CONTROL_EXPOSE_HEADERS)).contains(HttpHeaders.RETRY_AFTER);
+        }
+    }
+
+    @Nested
+    @DisplayName("concurrency limit tests")
+    class ConcurrencyTests {
+        @Test
+        void doFilter_TooManyInProgress_Returns503() throws Exception {
+            // Arrange - a second read arrives while the only read slot is taken
+            MockHttpServletResponse[] second = new MockHttpServletResponse[1];
+            FilterChain slowRead = (request, response) -> second[0] = send(get("/tasks", "client-b"));
+
+            // Act
+            filter.doFilter(get("/tasks", "client-a"), new MockHttpServletResponse(), slowRead);
+
+            // Assert
+            assertThat(second[0].getStatus()).isEqualTo(503);
+            assertThat(second[0].getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+            assertThat(meterRegistry.get("tasks.ratelimit.rejected").tag("kind", "read").tag("reason", "concurrency")
+                           .counter().count()).isEqualTo(1.0);
+        }
+
+        @Test
+        void doFilter_EventStreamOpen_DoesNotTakeASlot() throws Exception {
+            MockHttpServletResponse[] read = new MockHttpServletResponse[1];
+            FilterChain openStream = (request, response) -> read[0] = send(get("/tasks", "client-b"));
+
+            filter.doFilter(get("/tasks/events", "client-a"), new MockHttpServletResponse(), openStream);
+
+            assertThat(read[0].getStatus()).isEqualTo(200);
+        }
+    }
+
+    private MockHttpServletResponse send(MockHttpServletRequest request) {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        try {
+            filter.doFilter(request, response, new MockFilterChain());
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+        return response;
+    }
+
+    private static MockHttpServletRequest get(String uri, String apiKey) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+        if (apiKey != null) {
+            request.addHeader("X-API-Key", apiKey);
+        }
+        return request;
+    }
+}
@@ -0,0 +1,116 @@
+package uk.gov.hmcts.reform.dev;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.AnnotationTransactionAttributeSource;
+import org.springframework.transaction.interceptor.TransactionInterceptor;
+import org.springframework.transaction.support.TransactionTemplate;
+import uk.gov.hmcts.reform.dev.config.ReadReplicaConfig;
+import uk.gov.hmcts.reform.dev.models.Task;
+import uk.gov.hmcts.reform.dev.services.PrimaryReads;
+import uk.gov.hmcts.reform.dev.services.TaskCache;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReadReplicaRoutingUnitTest {
+
+    // Two H2 databases standing in for the primary and the replica, each recording which one it is
+    private final DataSource primary = database("primary");
+
+    private final DataSource replica = database("replica");
+
+    @AfterEach
+    void tearDown() {
+        new JdbcTemplate(primary).execute("SHUTDOWN");
+        new JdbcTemplate(replica).execute("SHUTDOWN");
+    }
+
+    @Test
+    void readOnlyTransaction_ReplicaUp_ReadsFromReplica() {
+        DataSource routing = ReadReplicaConfig.routing(primary, replica, Duration.ofSeconds(30));
+
+        assertThat(whichDatabase(routing, true)).isEqualTo("replica");
+    }
+
+    @Test
+    void readWriteTransaction_ReplicaUp_UsesPrimary() {
+        DataSource routing = ReadReplicaConfig.routing(primary, replica, Duration.ofSeconds(30));
+
+        assertThat(whichDatabase(routing, false)).isEqualTo("primary");
+    }
+
+    @Test
+    void readOnlyTransaction_ReplicaDown_FallsBackToPrimary() {
+        // Nothing listens on port 1
+        DataSource unreachable = new DriverManagerDataSource("jdbc:h2:tcp://localhost:1/missing", "sa", "");
+        DataSource routing = ReadReplicaConfig.routing(primary, unreachable, Duration.ofSeconds(30));
+
+        assertThat(whichDatabase(routing, true)).isEqualTo("primary");
+    }
+
+    @Test
+    void cacheLoad_ReplicaLagging_CachesTheWriteFromPrimary() {
+        // Arrange - a task was just completed on the primary, and the replica hasn't applied it yet
+        UUID id = UUID.randomUUID();
+        new JdbcTemplate(primary).update("INSERT INTO task_status VALUES (?, ?)", id, "COMPLETED");
+        new JdbcTemplate(replica).update("INSERT INTO task_status VALUES (?, ?)", id, "PENDING");
+        DataSource routing = ReadReplicaConfig.routing(primary, replica, Duration.ofSeconds(30));
+        PlatformTransactionManager transactionManager = new DataSourceTransactionManager(routing);
+        TaskCache taskCache = new TaskCache(new ConcurrentMapCacheManager(TaskCache.TASKS, TaskCache.BOARD));
+
+        // Act - the read that refills the cache after the write evicted the task
+        Task loaded = taskCache.task(id, () -> primaryReads(transactionManager).read(
+            () -> findTask(routing, transactionManager, id)));
+
+        // Assert - an ordinary read still sees the replica's stale row, but the cache holds the write
+        assertThat(findTask(routing, transactionManager, id).getStatus()).isEqualTo(Task.Status.PENDING);
+        assertThat(loaded.getStatus()).isEqualTo(Task.Status.COMPLETED);
+        assertThat(taskCache.get(id).getStatus()).isEqualTo(Task.Status.COMPLETED);
+    }
+
+    // PrimaryReads as Spring proxies it
+    private static PrimaryReads primaryReads(PlatformTransactionManager transactionManager) {
+        ProxyFactory factory = new ProxyFactory(new PrimaryReads());
+        factory.setProxyTargetClass(true);
+        factory.addAdvice(new TransactionInterceptor(transactionManager, new AnnotationTransactionAttributeSource()));
+        return (PrimaryReads) factory.getProxy();
+    }
+
+    // Reads a task in a read-only transaction, as TaskRepository does
+    private static Task findTask(DataSource dataSource, PlatformTransactionManager transactionManager, UUID id) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        return transaction.execute(status -> new JdbcTemplate(dataSource).queryForObject(
+            "SELECT status FROM task_status WHERE id = ?",
+            (row, rowNum) -> new Task(id, "Task", null, Task.Status.valueOf(row.getString("status")),
+                                      LocalDateTime.of(2025, 5, 1, 12, 0), 1L),
+            id));
+    }
+
+    private static String whichDatabase(DataSource dataSource, boolean readOnly) {
+        TransactionTemplate transaction = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        transaction.setReadOnly(readOnly);
+        return transaction.execute(
+            status -> new JdbcTemplate(dataSource).queryForObject("SELECT name FROM which_database", String.class));
+    }
+
+    private static DataSource database(String name) {
+        DataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE which_database (name VARCHAR(16))");
+        jdbc.update("INSERT INTO which_database VALUES (?)", name);
+        jdbc.execute("CREATE TABLE task_status (id UUID PRIMARY KEY, status VARCHAR(16))");
+        return dataSource;
+    }
+}
@@ -0,0 +1,88 @@
+package uk.gov.hmcts.reform.dev;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+import uk.gov.hmcts.reform.dev.config.CacheConfig;
+import uk.gov.hmcts.reform.dev.config.TaskCacheProperties;
+import uk.gov.hmcts.reform.dev.models.Task;
+import uk.gov.hmcts.reform.dev.services.TaskCache;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TaskCacheUnitTest {
+
+    private final TaskCache taskCache = new TaskCache(
+        new CacheConfig().cacheManager(new TaskCacheProperties(null, null)));
+
+    private final UUID id = UUID.randomUUID();
+
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void task_Miss_CachesLoadedTask() {
+        Task loaded = task(0L);
+
+        assertThat(taskCache.task(id, () -> loaded)).isEqualTo(loaded);
+
+        assertThat(taskCache.get(id)).isEqualTo(loaded);
+    }
+
+    @Test
+    void task_UpdatedWhileLoading_KeepsTheUpdate() {
+        // Arrange - the load reads version 0, then an update writes version 1 before the load finishes
+        Task stale = task(0L);
+        Task updated = task(1L);
+
+        // Act
+        Task result = taskCache.task(id, () -> {
+            taskCache.put(updated);
+            return stale;
+        });
+
+        // Assert - the caller gets what it read, but the cache isn't rolled back to it
+        assertThat(result).isEqualTo(stale);
+        assertThat(taskCache.get(id)).isEqualTo(updated);
+    }
+
+    @Test
+    void task_DeletedWhileLoading_IsNotCached() {
+        Task result = taskCache.task(id, () -> {
+            taskCache.evict(id);
+            return task(0L);
+        });
+
+        assertThat(result).isNotNull();
+        assertThat(taskCache.get(id)).isNull();
+    }
+
+    @Test
+    void task_LoadStartedBeforeDeleteCommitted_IsNotCached() {
+        // Arrange - a delete has run but not committed, so its eviction is still pending
+        TransactionSynchronizationManager.initSynchronization();
+        taskCache.evict(id);
+
+        // Act - a load starts, reads the row the delete hasn't committed yet, and the delete commits
+        // before the load finishes
+        taskCache.task(id, () -> {
+            TransactionSynchronizationUtils.triggerAfterCommit();
+            return task(0L);
+        });
+
+        // Assert - the deleted task isn't brought back
+        assertThat(taskCache.get(id)).isNull();
+    }
+
+    private Task task(long version) {
+        return new Task(id, "Task", "Description", Task.Status.PENDING, LocalDateTime.of(2025, 5, 1, 12, 0), version);
+    }
+}
@@ -0,0 +1,273 @@
+package uk.gov.hmcts.reform.dev;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import uk.gov.hmcts.reform.dev.config.TaskEventsProperties;
+import uk.gov.hmcts.reform.dev.events.TaskChangeEvent;
+import uk.gov.hmcts.reform.dev.events.TaskChangeFeed;
+import uk.gov.hmcts.reform.dev.models.Task;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TaskChangeFeedUnitTest {
+
+    // Queues drains until the test runs them, so a subscriber can be made to fall behind
+    private final ManualExecutor dispatcher = new ManualExecutor();
+
+    // Two events per subscriber before it has to resync, five kept for resume
+    private final TaskChangeFeed feed = new TaskChangeFeed(
+        new TaskEventsProperties(2, 5, null, null, null),
+        new ObjectMapper().registerModule(new JavaTimeModule()),
+        dispatcher);
+
+    @Nested
+    @DisplayName("new subscriber tests")
+    class NewSubscriberTests {
+        @Test
+        void subscribe_NoLastEventId_SendsReadyThenChangesInOrder() {
+            // Arrange
+            RecordingEmitter emitter = new RecordingEmitter();
+            feed.subscribe(null, emitter);
+            dispatcher.runAll();
+            UUID id = UUID.randomUUID();
+
+            // Act - two changes fit in the subscriber's queue
+            feed.publish(TaskChangeEvent.created(task(id)));
+            feed.publish(TaskChangeEvent.deleted(id));
+            dispatcher.runAll();
+
+            // Assert
+            assertThat(emitter.eventNames()).containsExactly("ready", "created", "deleted");
+            assertThat(emitter.sent.get(1)).contains("\"type\":\"CREATED\"", "\"id\":\"" + id + "\"");
+        }
+
+        @Test
+        void publish_SlowSubscriber_DropsQueueAndSendsResync() {
+            // Arrange - the subscriber doesn't read anything while three changes arrive
+            RecordingEmitter slow = new RecordingEmitter();
+            feed.subscribe(null, slow);
+
+            // Act
+            for (int i = 0; i < 3; i++) {
+                feed.publish(TaskChangeEvent.deleted(UUID.randomUUID()));
+            }
+            dispatcher.runAll();
+
+            // Assert - it is told to reload rather than sent a backlog
+            assertThat(slow.eventNames()).containsExactly("resync");
+            assertThat(feed.subscriberCount()).isEqualTo(1);
+        }
+
+        @Test
+        void sendHeartbeats_SendsCommentToIdleSubscribers() {
+            RecordingEmitter emitter = new RecordingEmitter();
+            feed.subscribe(null, emitter);
+            dispatcher.runAll();
+
+            feed.sendHeartbeats();
+            dispatcher.runAll();
+
+            assertThat(emitter.sent.get(emitter.sent.size() - 1)).startsWith(":heartbeat");
+        }
+
+        @Test
+        void send_ClientGone_RemovesSubscriber() {
+            RecordingEmitter emitter = new RecordingEmitter();
+            emitter.failing = true;
+            feed.subscribe(null, emitter);
+
+            dispatcher.runAll();
+
+            assertThat(feed.subscriberCount()).isZero();
+        }
+    }
+
+    @Nested
+    @DisplayName("stalled subscriber tests")
+    class StalledSubscriberTests {
+        // Every drain on a thread of its own, as in production, and a write that blocks for 50ms is stalled
+        private final TaskChangeFeed threadedFeed = new TaskChangeFeed(
+            new TaskEventsProperties(2, 5, null, null, Duration.ofMillis(50)),
+            new ObjectMapper().registerModule(new JavaTimeModule()),
+            runnable -> Thread.ofVirtual().start(runnable));
+
+        @Test
+        void publish_SubscriberStopsReading_OtherSubscribersStillGetChanges() throws InterruptedException {
+            // Arrange - the first subscriber's writes block, as they would once its socket buffers fill
+            CountDownLatch release = new CountDownLatch(1);
+            RecordingEmitter stuck = new RecordingEmitter();
+            stuck.blockUntil = release;
+            RecordingEmitter reading = new RecordingEmitter();
+            threadedFeed.subscribe(null, stuck);
+            threadedFeed.subscribe(null, reading);
+
+            // Act
+            threadedFeed.publish(TaskChangeEvent.deleted(UUID.randomUUID()));
+
+            // Assert - not held up behind the stuck write
+            assertThat(reading.awaitEvents(2)).isTrue();
+            assertThat(reading.eventNames()).containsExactly("ready", "deleted");
+            release.countDown();
+        }
+
+        @Test
+        void dropStalledSubscribers_WriteBlockedPastTimeout_DropsSubscriber() throws InterruptedException {
+            // Arrange
+            CountDownLatch release = new CountDownLatch(1);
+            RecordingEmitter stuck = new RecordingEmitter();
+            stuck.blockUntil = release;
+            RecordingEmitter reading = new RecordingEmitter();
+            threadedFeed.subscribe(null, stuck);
+            threadedFeed.subscribe(null, reading);
+            assertThat(reading.awaitEvents(1)).isTrue();
+            Thread.sleep(100);
+
+            // Act
+            threadedFeed.dropStalledSubscribers();
+
+            // Assert - only the stuck one goes, and it is sent nothing more
+            assertThat(threadedFeed.subscriberCount()).isEqualTo(1);
+            threadedFeed.publish(TaskChangeEvent.deleted(UUID.randomUUID()));
+            release.countDown();
+            assertThat(reading.awaitEvents(2)).isTrue();
+            assertThat(stuck.sent).hasSizeLessThanOrEqualTo(1);
+        }
+    }
+
+    @Nested
+    @DisplayName("Last-Event-ID resume tests")
+    class ResumeTests {
+        @Test
+        void subscribe_KnownLastEventId_ReplaysMissedChanges() {
+            // Arrange - a first connection sees one change, then drops
+            RecordingEmitter first = new RecordingEmitter();
+            feed.subscribe(null, first);
+            feed.publish(TaskChangeEvent.deleted(UUID.randomUUID()));
+            dispatcher.runAll();
+            String lastEventId = first.lastEventId();
+            feed.publish(TaskChangeEvent.statusChanged(UUID.randomUUID(), Task.Status.COMPLETED));
+
+            // Act
+            RecordingEmitter resumed = new RecordingEmitter();
+            feed.subscribe(lastEventId, resumed);
+            dispatcher.runAll();
+
+            // Assert - only what was missed, no ready
+            assertThat(resumed.eventNames()).containsExactly("status-changed");
+        }
+
+        @Test
+        void subscribe_LastEventIdFromAnotherRun_SendsResync() {
+            RecordingEmitter emitter = new RecordingEmitter();
+
+            feed.subscribe("0-12", emitter);
+            dispatcher.runAll();
+
+            assertThat(emitter.eventNames()).containsExactly("resync");
+        }
+
+        @Test
+        void subscribe_LastEventIdOlderThanHistory_SendsResync() {
+            // Arrange - more changes than the history keeps
+            RecordingEmitter first = new RecordingEmitter();
+            feed.subscribe(null, first);
+            dispatcher.runAll();
+            String lastEventId = first.lastEventId();
+            for (int i = 0; i < 6; i++) {
+                feed.publish(TaskChangeEvent.deleted(UUID.randomUUID()));
+            }
+
+            // Act
+            RecordingEmitter resumed = new RecordingEmitter();
+            feed.subscribe(lastEventId, resumed);
+            dispatcher.runAll();
+
+            // Assert
+            assertThat(resumed.eventNames()).containsExactly("resync");
+        }
+    }
+
+    private static Task task(UUID id) {
+        return new Task(id, "Task", "Description", Task.Status.PENDING, LocalDateTime.of(2025, 5, 1, 12, 0));
+    }
+
+    private static final class ManualExecutor implements Executor {
+        private final Queue<Runnable> tasks = new ArrayDeque<>();
+
+        @Override
+        public void execute(Runnable command) {
+            tasks.add(command);
+        }
+
+        void runAll() {
+            Runnable next;
+            while ((next = tasks.poll()) != null) {
+                next.run();
+            }
+        }
+    }
+
+    // Records each event as the text that would be written to the stream
+    private static final class RecordingEmitter extends SseEmitter {
+        private final List<String> sent = new CopyOnWriteArrayList<>();
+
+        private boolean failing;
+
+        // When set, every write waits for it, like a write to a client that isn't reading
+        private CountDownLatch blockUntil;
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            if (failing) {
+                throw new IOException("Broken pipe");
+            }
+            if (blockUntil != null) {
+                try {
+                    blockUntil.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException(e);
+                }
+            }
+            sent.add(builder.build().stream()
+                         .map(part -> part.getData().toString())
+                         .collect(Collectors.joining()));
+        }
+
+        boolean awaitEvents(int count) throws InterruptedException {
+            long deadline = System.currentTimeMillis() + 5000;
+            while (sent.size() < count && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            return sent.size() >= count;
+        }
+
+        List<String> eventNames() {
+            return sent.stream()
+                .filter(event -> event.contains("\nevent:"))
+                .map(event -> event.substring(event.indexOf("\nevent:") + 7, event.indexOf('\n', event.indexOf("\nevent:") + 1)))
+                .toList();
+        }
+
+        String lastEventId() {
+            String last = sent.get(sent.size() - 1);
+            return last.substring(3, last.indexOf('\n'));
+        }
+    }
+}
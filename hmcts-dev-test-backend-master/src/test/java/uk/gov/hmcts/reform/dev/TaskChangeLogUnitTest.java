@@ -0,0 +1,127 @@
+package uk.gov.hmcts.reform.dev;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import uk.gov.hmcts.reform.dev.config.ChangeLogProperties;
+import uk.gov.hmcts.reform.dev.dto.response.TaskChangesPage;
+import uk.gov.hmcts.reform.dev.events.TaskChangeEvent;
+import uk.gov.hmcts.reform.dev.exceptions.ChangesExpiredException;
+import uk.gov.hmcts.reform.dev.models.Task;
+import uk.gov.hmcts.reform.dev.models.TaskChange;
+import uk.gov.hmcts.reform.dev.models.TransactionHorizon;
+import uk.gov.hmcts.reform.dev.repositories.TaskRepository;
+import uk.gov.hmcts.reform.dev.services.TaskChangeLog;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TaskChangeLogUnitTest {
+
+    private final TaskRepository taskRepository = mock(TaskRepository.class);
+
+    private final TaskChangeLog changeLog = new TaskChangeLog(
+        new ChangeLogProperties(true, null, null, null, 0), taskRepository);
+
+    @Test
+    void record_FlushesPendingWritesBeforeAppending() {
+        List<TaskChangeEvent> changes = List.of(TaskChangeEvent.deleted(UUID.randomUUID()));
+
+        changeLog.record(changes);
+
+        // Assert - entity writes, and so the tasks' row locks, come before the sequence is drawn
+        InOrder order = inOrder(taskRepository);
+        order.verify(taskRepository).flush();
+        order.verify(taskRepository).appendChanges(changes);
+    }
+
+    @Test
+    void record_Disabled_WritesNothing() {
+        TaskChangeLog disabled = new TaskChangeLog(new ChangeLogProperties(false, null, null, null, 0), taskRepository);
+
+        disabled.record(List.of(TaskChangeEvent.deleted(UUID.randomUUID())));
+
+        verify(taskRepository, never()).appendChanges(anyList());
+    }
+
+    @Test
+    void changesSince_MoreThanLimit_ReturnsPageAndNextSequence() {
+        // Arrange - nothing running, so everything issued is settled. One more row than asked for means there is
+        // another page
+        settled(14);
+        when(taskRepository.findChangesSince(10, 14, 3)).thenReturn(List.of(change(11), change(12), change(14)));
+
+        // Act
+        TaskChangesPage page = changeLog.changesSince(10, 2);
+
+        // Assert
+        assertThat(page.changes()).extracting(TaskChange::sequence).containsExactly(11L, 12L);
+        assertThat(page.next()).isEqualTo(12);
+        assertThat(page.hasMore()).isTrue();
+    }
+
+    @Test
+    void changesSince_NothingNew_ReturnsSinceAsNext() {
+        settled(20);
+
+        TaskChangesPage page = changeLog.changesSince(20, 100);
+
+        assertThat(page.changes()).isEmpty();
+        assertThat(page.next()).isEqualTo(20);
+        assertThat(page.hasMore()).isFalse();
+        verify(taskRepository, never()).findChangesSince(anyLong(), anyLong(), anyInt());
+    }
+
+    @Test
+    void changesSince_TransactionStillRunning_ReadsOnlyWhatItCannotCommitBehind() {
+        // Arrange - transaction 100 is running when sequence 7 has been issued, so 7 may still commit
+        when(taskRepository.findLastSequenceIssued()).thenReturn(7L, 9L);
+        when(taskRepository.findTransactionHorizon())
+            .thenReturn(new TransactionHorizon(100, 101), new TransactionHorizon(101, 105));
+        when(taskRepository.findChangesSince(0, 7, 101)).thenReturn(List.of(change(7)));
+
+        // Act - the first read sees 100 running, the second sees it finished but others started since
+        TaskChangesPage first = changeLog.changesSince(0, 100);
+        TaskChangesPage second = changeLog.changesSince(0, 100);
+
+        // Assert - nothing until 100 has finished, then up to 7 but not 9, which the newer transactions may be
+        // committing behind
+        assertThat(first.changes()).isEmpty();
+        assertThat(second.changes()).extracting(TaskChange::sequence).containsExactly(7L);
+        verify(taskRepository, never()).findChangesSince(eq(0L), eq(9L), anyInt());
+    }
+
+    @Test
+    void changesSince_BeforeRetentionHorizon_ThrowsChangesExpiredException() {
+        settled(60);
+        when(taskRepository.findChangesPurgedThrough()).thenReturn(50L);
+
+        ChangesExpiredException thrown = assertThrows(ChangesExpiredException.class,
+                                                      () -> changeLog.changesSince(49, 100));
+
+        assertThat(thrown.getPurgedThrough()).isEqualTo(50);
+    }
+
+    // Nothing running, with sequences issued up to last
+    private void settled(long last) {
+        when(taskRepository.findLastSequenceIssued()).thenReturn(last);
+        when(taskRepository.findTransactionHorizon()).thenReturn(new TransactionHorizon(500, 500));
+    }
+
+    private static TaskChange change(long sequence) {
+        return new TaskChange(sequence, TaskChangeEvent.Type.STATUS_CHANGED, UUID.randomUUID(),
+                              Task.Status.COMPLETED, null, LocalDateTime.of(2025, 5, 1, 12, 0));
+    }
+}
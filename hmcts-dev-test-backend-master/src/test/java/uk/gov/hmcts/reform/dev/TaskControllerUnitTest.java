@@ -4,37 +4,85 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
 
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 
 import org.mockito.InjectMocks;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import uk.gov.hmcts.reform.dev.config.BatchProperties;
+import uk.gov.hmcts.reform.dev.config.PaginationProperties;
+import uk.gov.hmcts.reform.dev.config.SearchProperties;
+import uk.gov.hmcts.reform.dev.config.TaskJsonWriters;
+import uk.gov.hmcts.reform.dev.config.WriteBehindProperties;
 import uk.gov.hmcts.reform.dev.controllers.TaskController;
+import uk.gov.hmcts.reform.dev.dto.request.BatchStatusUpdateDto;
 import uk.gov.hmcts.reform.dev.dto.request.CreateTaskRequestDto;
+import uk.gov.hmcts.reform.dev.dto.request.TaskField;
+import uk.gov.hmcts.reform.dev.dto.request.TaskQuery;
+import uk.gov.hmcts.reform.dev.dto.response.TaskChangesPage;
+import uk.gov.hmcts.reform.dev.dto.response.TaskFieldsPage;
+import uk.gov.hmcts.reform.dev.dto.response.TaskPage;
+import uk.gov.hmcts.reform.dev.dto.response.TaskSearchPage;
+import uk.gov.hmcts.reform.dev.dto.response.TaskSummary;
+import uk.gov.hmcts.reform.dev.events.TaskChangeEvent;
+import uk.gov.hmcts.reform.dev.events.TaskChangeFeed;
+import uk.gov.hmcts.reform.dev.exceptions.ChangesExpiredException;
+import uk.gov.hmcts.reform.dev.exceptions.DatabaseBusyException;
+import uk.gov.hmcts.reform.dev.exceptions.IdempotencyKeyReusedException;
 import uk.gov.hmcts.reform.dev.exceptions.TaskNotFoundException;
+import uk.gov.hmcts.reform.dev.exceptions.TaskVersionConflictException;
 import uk.gov.hmcts.reform.dev.models.Task;
+import uk.gov.hmcts.reform.dev.models.TaskChange;
+import uk.gov.hmcts.reform.dev.models.TaskCursor;
+import uk.gov.hmcts.reform.dev.models.TaskSearchCursor;
+import uk.gov.hmcts.reform.dev.services.IdempotencyService;
+import uk.gov.hmcts.reform.dev.services.TaskChangeLog;
 import uk.gov.hmcts.reform.dev.services.TaskService;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 // This is technically a web integration test rather than a pure unit test,
 // however I think this is preferable to a pure unit test because it tests the controller in a more realistic environment
 @WebMvcTest(controllers = TaskController.class)
 @AutoConfigureMockMvc
+@EnableConfigurationProperties({PaginationProperties.class, BatchProperties.class, WriteBehindProperties.class,
+    SearchProperties.class})
+@Import(TaskJsonWriters.class)
 public class TaskControllerUnitTest {
 
     @Autowired
@@ -44,6 +92,15 @@ public class TaskControllerUnitTest {
     @MockitoBean
     private TaskService taskService;
 
+    @MockitoBean
+    private TaskChangeFeed taskChangeFeed;
+
+    @MockitoBean
+    private IdempotencyService idempotencyService;
+
+    @MockitoBean
+    private TaskChangeLog taskChangeLog;
+
     // Instantiate userService and inject mocks
     @InjectMocks
     private TaskController taskController;
@@ -92,25 +149,243 @@ public class TaskControllerUnitTest {
             // Verify that the service method was never called
             verify(taskService, never()).createTask(any());
         }
+
+        @Test
+        void createTask_shouldReturnOriginalTask_withReplayedHeader_whenIdempotencyKeySeenBefore() throws Exception {
+            // Arrange - the key already created this task
+            CreateTaskRequestDto request = new CreateTaskRequestDto("Task 1", "Description 1", Task.Status.PENDING, LocalDateTime.of(2025, 7, 2, 13, 30));
+            Task original = new Task(UUID.randomUUID(), "Task 1", "Description 1", Task.Status.PENDING, LocalDateTime.of(2025, 7, 2, 13, 30), 0L);
+            when(idempotencyService.createTask(eq("key-1"), argThat((CreateTaskRequestDto dto) -> "Task 1".equals(dto.getTitle())), any()))
+                .thenReturn(new IdempotencyService.Result(original, true));
+
+            // Act & Assert - still 201, with the original task and its ETag
+            mockMvc.perform(post("/tasks")
+                            .header(TaskController.IDEMPOTENCY_KEY_HEADER, "key-1")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andExpect(header().string(TaskController.IDEMPOTENT_REPLAYED_HEADER, "true"))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"0\""))
+                .andExpect(jsonPath("$.id").value(original.getId().toString()));
+
+            verify(taskService, never()).createTask(any());
+        }
+
+        @Test
+        void createTask_shouldReturn422_whenIdempotencyKeyReusedForDifferentRequest() throws Exception {
+            CreateTaskRequestDto request = new CreateTaskRequestDto("Task 2", null, Task.Status.PENDING, LocalDateTime.of(2025, 7, 2, 13, 30));
+            when(idempotencyService.createTask(eq("key-1"), any(), any()))
+                .thenThrow(new IdempotencyKeyReusedException("key-1"));
+
+            mockMvc.perform(post("/tasks")
+                            .header(TaskController.IDEMPOTENCY_KEY_HEADER, "key-1")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isUnprocessableEntity())
+                .andExpect(content().contentType(MediaType.APPLICATION_PROBLEM_JSON))
+                .andExpect(jsonPath("$.idempotencyKey").value("key-1"));
+        }
+
+        @Test
+        void createTask_shouldReturn400_whenIdempotencyKeyBlank() throws Exception {
+            CreateTaskRequestDto request = new CreateTaskRequestDto("Task 1", null, Task.Status.PENDING, LocalDateTime.of(2025, 7, 2, 13, 30));
+
+            mockMvc.perform(post("/tasks")
+                            .header(TaskController.IDEMPOTENCY_KEY_HEADER, " ")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest());
+
+            verify(idempotencyService, never()).createTask(any(), any(), any());
+        }
+    }
+
+    @Nested
+    @DisplayName("write-behind createTask tests")
+    @TestPropertySource(properties = "tasks.write-behind.enabled=true")
+    class WriteBehindCreateTaskTests {
+        @Test
+        void createTask_shouldReturn202_withLocationOfQueuedTask() throws Exception {
+            // Arrange - the service queues the task and hands it back with its ID
+            CreateTaskRequestDto request = new CreateTaskRequestDto("Task 1", "Description 1", Task.Status.PENDING, LocalDateTime.of(2025, 7, 2, 13, 30));
+            Task queued = new Task(UUID.randomUUID(), "Task 1", "Description 1", Task.Status.PENDING, LocalDateTime.of(2025, 7, 2, 13, 30), 0L);
+            when(taskService.submitTask(any())).thenReturn(queued);
+
+            // Act & Assert
+            mockMvc.perform(post("/tasks")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string(HttpHeaders.LOCATION, "http://localhost/tasks/" + queued.getId()))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"0\""))
+                .andExpect(jsonPath("$.id").value(queued.getId().toString()));
+
+            verify(taskService, never()).createTask(any());
+        }
+
+        @Test
+        void createTask_shouldReturn503_whenQueueFull() throws Exception {
+            CreateTaskRequestDto request = new CreateTaskRequestDto("Task 1", null, Task.Status.PENDING, LocalDateTime.of(2025, 7, 2, 13, 30));
+            when(taskService.submitTask(any())).thenThrow(new DatabaseBusyException(Duration.ofMillis(100)));
+
+            mockMvc.perform(post("/tasks")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isServiceUnavailable());
+        }
+
+        @Test
+        void createTask_withIdempotencyKey_shouldStillCreateSynchronously() throws Exception {
+            CreateTaskRequestDto request = new CreateTaskRequestDto("Task 1", null, Task.Status.PENDING, LocalDateTime.of(2025, 7, 2, 13, 30));
+            Task created = new Task(UUID.randomUUID(), "Task 1", null, Task.Status.PENDING, LocalDateTime.of(2025, 7, 2, 13, 30), 0L);
+            when(idempotencyService.createTask(eq("key-1"), any(), any()))
+                .thenReturn(new IdempotencyService.Result(created, false));
+
+            mockMvc.perform(post("/tasks")
+                            .header(TaskController.IDEMPOTENCY_KEY_HEADER, "key-1")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated());
+
+            verify(taskService, never()).submitTask(any());
+        }
+    }
+
+    @Nested
+    @DisplayName("batch endpoint tests")
+    class BatchTests {
+        @Test
+        void createTasks_shouldCreateValidItems_andReportInvalidOnes() throws Exception {
+            // Arrange - the second item is missing its title
+            CreateTaskRequestDto valid1 = new CreateTaskRequestDto("Task 1", null, Task.Status.PENDING, LocalDateTime.of(2025, 7, 2, 13, 30));
+            CreateTaskRequestDto invalid = new CreateTaskRequestDto("", null, Task.Status.PENDING, LocalDateTime.of(2025, 7, 2, 13, 30));
+            CreateTaskRequestDto valid2 = new CreateTaskRequestDto("Task 3", null, Task.Status.COMPLETED, LocalDateTime.of(2025, 7, 3, 13, 30));
+            UUID id1 = UUID.randomUUID();
+            UUID id3 = UUID.randomUUID();
+            when(taskService.createTasks(any())).thenReturn(List.of(
+                new Task(id1, "Task 1", null, Task.Status.PENDING, LocalDateTime.of(2025, 7, 2, 13, 30)),
+                new Task(id3, "Task 3", null, Task.Status.COMPLETED, LocalDateTime.of(2025, 7, 3, 13, 30))
+            ));
+
+            // Act & Assert - results come back in request order
+            mockMvc.perform(post("/tasks/batch")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(List.of(valid1, invalid, valid2))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.succeeded").value(2))
+                .andExpect(jsonPath("$.failed").value(1))
+                .andExpect(jsonPath("$.results[0].outcome").value("CREATED"))
+                .andExpect(jsonPath("$.results[0].id").value(id1.toString()))
+                .andExpect(jsonPath("$.results[1].outcome").value("INVALID"))
+                .andExpect(jsonPath("$.results[1].errors[0]").value("Title is required"))
+                .andExpect(jsonPath("$.results[2].outcome").value("CREATED"))
+                .andExpect(jsonPath("$.results[2].id").value(id3.toString()));
+
+            // Only the valid items reach the service, in a single call
+            verify(taskService, times(1)).createTasks(argThat(tasks -> tasks.size() == 2));
+        }
+
+        @Test
+        void createTasks_shouldReturn400_whenBatchTooLarge() throws Exception {
+            CreateTaskRequestDto item = new CreateTaskRequestDto("Task", null, Task.Status.PENDING, LocalDateTime.of(2025, 7, 2, 13, 30));
+
+            mockMvc.perform(post("/tasks/batch")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(Collections.nCopies(1001, item))))
+                .andExpect(status().isBadRequest());
+
+            verify(taskService, never()).createTasks(any());
+        }
+
+        @Test
+        void updateTaskStatuses_shouldReportUpdatedAndNotFound() throws Exception {
+            // Arrange - only the first ID exists
+            UUID existing = UUID.randomUUID();
+            UUID missing = UUID.randomUUID();
+            when(taskService.updateTaskStatuses(Map.of(existing, Task.Status.COMPLETED, missing, Task.Status.PENDING)))
+                .thenReturn(Set.of(existing));
+
+            // Act & Assert
+            mockMvc.perform(patch("/tasks/batch")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(List.of(
+                                new BatchStatusUpdateDto(existing, Task.Status.COMPLETED),
+                                new BatchStatusUpdateDto(missing, Task.Status.PENDING),
+                                new BatchStatusUpdateDto(null, Task.Status.PENDING)))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.succeeded").value(1))
+                .andExpect(jsonPath("$.results[0].outcome").value("UPDATED"))
+                .andExpect(jsonPath("$.results[1].outcome").value("NOT_FOUND"))
+                .andExpect(jsonPath("$.results[2].outcome").value("INVALID"));
+        }
+
+        @Test
+        void updateTaskStatuses_shouldRejectEveryItemWithARepeatedId() throws Exception {
+            // Arrange - the same ID is given two different statuses
+            UUID repeated = UUID.randomUUID();
+            UUID other = UUID.randomUUID();
+            when(taskService.updateTaskStatuses(Map.of(other, Task.Status.PENDING))).thenReturn(Set.of(other));
+
+            // Act & Assert - neither status is written, the other item still is
+            mockMvc.perform(patch("/tasks/batch")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(List.of(
+                                new BatchStatusUpdateDto(repeated, Task.Status.COMPLETED),
+                                new BatchStatusUpdateDto(other, Task.Status.PENDING),
+                                new BatchStatusUpdateDto(repeated, Task.Status.IN_PROGRESS)))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.succeeded").value(1))
+                .andExpect(jsonPath("$.results[0].outcome").value("INVALID"))
+                .andExpect(jsonPath("$.results[0].errors[0]").value("ID must not appear more than once in the batch"))
+                .andExpect(jsonPath("$.results[1].outcome").value("UPDATED"))
+                .andExpect(jsonPath("$.results[2].outcome").value("INVALID"));
+
+            verify(taskService, times(1)).updateTaskStatuses(Map.of(other, Task.Status.PENDING));
+        }
+
+        @Test
+        void deleteTasks_shouldReportDeletedAndNotFound() throws Exception {
+            // Arrange - only the first ID exists
+            UUID existing = UUID.randomUUID();
+            UUID missing = UUID.randomUUID();
+            when(taskService.deleteTasks(List.of(existing, missing))).thenReturn(Set.of(existing));
+
+            // Act & Assert
+            mockMvc.perform(delete("/tasks/batch")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(List.of(existing, missing))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.succeeded").value(1))
+                .andExpect(jsonPath("$.failed").value(1))
+                .andExpect(jsonPath("$.results[0].outcome").value("DELETED"))
+                .andExpect(jsonPath("$.results[1].outcome").value("NOT_FOUND"));
+
+            // Tasks still in the write-behind queue are waited for before the delete looks for them
+            InOrder order = inOrder(taskService);
+            order.verify(taskService).awaitWritten(List.of(existing, missing));
+            order.verify(taskService).deleteTasks(List.of(existing, missing));
+        }
     }
 
     @Nested
     @DisplayName("getAllTasks tests")
     class GetAllTasksTests {
         @Test
-        void getAllTasks_shouldReturnAllTasks() throws Exception {
+        void getAllTasks_shouldReturnFirstPage() throws Exception {
             // Arrange - create a list of tasks to be returned by the mock service
             Task task1 = new Task(UUID.randomUUID(), "Task 1", "Description 1", Task.Status.PENDING, LocalDateTime.of(2025, 5, 1, 18, 0));
             Task task2 = new Task(UUID.randomUUID(), "Task 2", "Description 2", Task.Status.IN_PROGRESS, LocalDateTime.of(2025, 6, 1, 18, 0));
 
             List<Task> mockTasks = Arrays.asList(task1, task2);
-            when(taskService.getAllTasks()).thenReturn(mockTasks);
+            when(taskService.getTasks(any())).thenReturn(new TaskPage(mockTasks, null));
 
-            // Act & Assert - perform a GET request on the endpoint and check the response returns all tasks as JSON
+            // Act & Assert - perform a GET request on the endpoint and check the response returns the page as JSON
             mockMvc.perform(get("/tasks")
                             .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(header().doesNotExist(TaskController.NEXT_CURSOR_HEADER))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, private"))
                 .andExpect(jsonPath("$[0].title").value("Task 1"))
                 .andExpect(jsonPath("$[0].description").value("Description 1"))
                 .andExpect(jsonPath("$[0].status").value("PENDING"))
@@ -119,7 +394,293 @@ public class TaskControllerUnitTest {
                 .andExpect(jsonPath("$[1].description").value("Description 2"))
                 .andExpect(jsonPath("$[1].status").value("IN_PROGRESS"))
                 .andExpect(jsonPath("$[1].dueDateTime").value("2025-06-01T18:00:00"));
-            verify(taskService, times(1)).getAllTasks();
+
+            // With no parameters the first page is requested with the default page size and no filters
+            verify(taskService, times(1)).getTasks(argThat(query -> query.getAfter() == null
+                && query.getStatus() == null
+                && query.getLimit() == 100));
+        }
+
+        @Test
+        void getAllTasks_shouldPassFiltersAndCursor_andReturnNextCursorHeader() throws Exception {
+            // Arrange - a cursor from a previous page and a service that reports a further page
+            TaskCursor cursor = new TaskCursor(LocalDateTime.of(2025, 5, 1, 18, 0), UUID.randomUUID());
+            when(taskService.getTasks(any())).thenReturn(new TaskPage(List.of(), "next-page"));
+
+            // Act & Assert
+            mockMvc.perform(get("/tasks")
+                            .param("status", "PENDING")
+                            .param("dueFrom", "2025-05-01T00:00:00")
+                            .param("dueTo", "2025-06-01T00:00:00")
+                            .param("cursor", cursor.encode())
+                            .param("limit", "10000"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(TaskController.NEXT_CURSOR_HEADER, "next-page"));
+
+            // Limit is capped at the configured maximum and the cursor is decoded
+            verify(taskService).getTasks(argThat((TaskQuery query) -> cursor.equals(query.getAfter())
+                && query.getStatus() == Task.Status.PENDING
+                && LocalDateTime.of(2025, 5, 1, 0, 0).equals(query.getDueFrom())
+                && LocalDateTime.of(2025, 6, 1, 0, 0).equals(query.getDueTo())
+                && query.getLimit() == 500));
+        }
+
+        @Test
+        void getAllTasks_withOverdue_shouldFilterByFlag() throws Exception {
+            when(taskService.getTasks(any())).thenReturn(new TaskPage(List.of(), null));
+
+            mockMvc.perform(get("/tasks").param("overdue", "true"))
+                .andExpect(status().isOk());
+
+            verify(taskService).getTasks(argThat((TaskQuery query) -> Boolean.TRUE.equals(query.getOverdue())));
+        }
+
+        @Test
+        void getAllTasks_withFields_shouldReturnOnlyThoseFields() throws Exception {
+            // Arrange
+            UUID id = UUID.randomUUID();
+            Map<String, Object> task = new LinkedHashMap<>();
+            task.put("id", id);
+            task.put("title", "Task 1");
+            when(taskService.getTaskFields(any(), any())).thenReturn(new TaskFieldsPage(List.of(task), "next-page"));
+
+            // Act & Assert
+            mockMvc.perform(get("/tasks").param("fields", "id, title"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(TaskController.NEXT_CURSOR_HEADER, "next-page"))
+                .andExpect(jsonPath("$[0].id").value(id.toString()))
+                .andExpect(jsonPath("$[0].title").value("Task 1"))
+                .andExpect(jsonPath("$[0].description").doesNotExist());
+
+            verify(taskService).getTaskFields(any(), eq(EnumSet.of(TaskField.ID, TaskField.TITLE)));
+            verify(taskService, never()).getTasks(any());
+        }
+
+        @Test
+        void getAllTasks_shouldReturn400_whenFieldUnknown() throws Exception {
+            mockMvc.perform(get("/tasks").param("fields", "id,owner"))
+                .andExpect(status().isBadRequest());
+
+            verify(taskService, never()).getTaskFields(any(), any());
+        }
+
+        @Test
+        void getAllTasks_shouldReturn400_whenCursorInvalid() throws Exception {
+            mockMvc.perform(get("/tasks").param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
+
+            verify(taskService, never()).getTasks(any());
+        }
+
+        @Test
+        void getAllTasks_shouldReturn400_whenLimitNotPositive() throws Exception {
+            mockMvc.perform(get("/tasks").param("limit", "0"))
+                .andExpect(status().isBadRequest());
+
+            verify(taskService, never()).getTasks(any());
+        }
+    }
+
+    @Nested
+    @DisplayName("searchTasks tests")
+    class SearchTasksTests {
+        @Test
+        void searchTasks_shouldReturnMatches_withNextCursor() throws Exception {
+            // Arrange
+            Task match = new Task(UUID.randomUUID(), "Review bundle", null, Task.Status.PENDING, LocalDateTime.of(2025, 7, 2, 13, 30));
+            String nextCursor = new TaskSearchCursor(0.6f, match.getId()).encode();
+            when(taskService.searchTasks("review", Task.Status.PENDING, null, 1))
+                .thenReturn(new TaskSearchPage(List.of(match), nextCursor));
+
+            // Act & Assert
+            mockMvc.perform(get("/tasks/search").param("q", "review").param("status", "PENDING").param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(TaskController.NEXT_CURSOR_HEADER, nextCursor))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, private"))
+                .andExpect(jsonPath("$[0].title").value("Review bundle"));
+        }
+
+        @Test
+        void searchTasks_shouldPassDecodedCursor() throws Exception {
+            TaskSearchCursor cursor = new TaskSearchCursor(0.25f, UUID.randomUUID());
+            when(taskService.searchTasks(eq("review"), isNull(), eq(cursor), anyInt()))
+                .thenReturn(new TaskSearchPage(List.of(), null));
+
+            mockMvc.perform(get("/tasks/search").param("q", "review").param("cursor", cursor.encode()))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(TaskController.NEXT_CURSOR_HEADER));
+        }
+
+        @Test
+        void searchTasks_shouldReturn400_whenQueryMissingOrBlank() throws Exception {
+            mockMvc.perform(get("/tasks/search"))
+                .andExpect(status().isBadRequest());
+            mockMvc.perform(get("/tasks/search").param("q", "  "))
+                .andExpect(status().isBadRequest());
+
+            verify(taskService, never()).searchTasks(any(), any(), any(), anyInt());
+        }
+
+        @Test
+        void searchTasks_shouldReturn400_whenCursorInvalid() throws Exception {
+            mockMvc.perform(get("/tasks/search").param("q", "review").param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
+        }
+    }
+
+    @Nested
+    @DisplayName("getTaskSummary tests")
+    class GetTaskSummaryTests {
+        @Test
+        void getTaskSummary_shouldReturnCountsPerStatus() throws Exception {
+            // Arrange
+            Task task = new Task(UUID.randomUUID(), "Task 1", "Description 1", Task.Status.PENDING, LocalDateTime.of(2025, 5, 1, 18, 0));
+            Map<Task.Status, TaskSummary.Column> columns = new EnumMap<>(Task.Status.class);
+            columns.put(Task.Status.PENDING, new TaskSummary.Column(3, 1, List.of(task)));
+            columns.put(Task.Status.IN_PROGRESS, new TaskSummary.Column(0, 0, List.of()));
+            columns.put(Task.Status.COMPLETED, new TaskSummary.Column(2, 0, List.of()));
+            when(taskService.getSummary(5))
+                .thenReturn(new TaskSummary(LocalDateTime.of(2025, 5, 2, 9, 0), 5, 1, columns));
+
+            // Act & Assert - with no limit the default number of tasks per column is asked for
+            mockMvc.perform(get("/tasks/summary"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(5))
+                .andExpect(jsonPath("$.overdue").value(1))
+                .andExpect(jsonPath("$.columns.PENDING.count").value(3))
+                .andExpect(jsonPath("$.columns.PENDING.overdue").value(1))
+                .andExpect(jsonPath("$.columns.PENDING.nextDue[0].title").value("Task 1"))
+                .andExpect(jsonPath("$.columns.COMPLETED.count").value(2));
+        }
+
+        @Test
+        void getTaskSummary_shouldCapLimit() throws Exception {
+            when(taskService.getSummary(anyInt())).thenReturn(
+                new TaskSummary(LocalDateTime.now(), 0, 0, new EnumMap<>(Task.Status.class)));
+
+            mockMvc.perform(get("/tasks/summary").param("limit", "10000"))
+                .andExpect(status().isOk());
+
+            verify(taskService).getSummary(500);
+        }
+    }
+
+    @Nested
+    @DisplayName("exportTasks tests")
+    class ExportTasksTests {
+        @Test
+        void exportTasks_shouldStreamOneJsonObjectPerLine() throws Exception {
+            // Arrange - the mock service hands two tasks to the export sink
+            Task task1 = new Task(UUID.randomUUID(), "Task 1", "Description 1", Task.Status.PENDING, LocalDateTime.of(2025, 5, 1, 18, 0));
+            Task task2 = new Task(UUID.randomUUID(), "Task 2", "Description 2", Task.Status.PENDING, LocalDateTime.of(2025, 6, 1, 18, 0));
+            when(taskService.exportTasks(eq(Task.Status.PENDING), any())).thenAnswer(invocation -> {
+                Consumer<Task> sink = invocation.getArgument(1);
+                sink.accept(task1);
+                sink.accept(task2);
+                return 2L;
+            });
+
+            // Act - the export is written asynchronously so dispatch the async result
+            MvcResult result = mockMvc.perform(get("/tasks/export").param("status", "PENDING"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+            // Assert - each task is a complete JSON object on its own line
+            String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-store"))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+            String[] lines = body.split("\n");
+            assertThat(body).endsWith("\n");
+            assertThat(lines).hasSize(2);
+            assertThat(objectMapper.readValue(lines[0], Task.class).getTitle()).isEqualTo("Task 1");
+            assertThat(objectMapper.readValue(lines[1], Task.class).getTitle()).isEqualTo("Task 2");
+        }
+
+        @Test
+        void exportTasks_shouldReturnEmptyBody_whenNoTasks() throws Exception {
+            when(taskService.exportTasks(isNull(), any())).thenReturn(0L);
+
+            MvcResult result = mockMvc.perform(get("/tasks/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+            mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().string(""));
+        }
+    }
+
+    @Nested
+    @DisplayName("streamTaskEvents tests")
+    class StreamTaskEventsTests {
+        @Test
+        void streamTaskEvents_shouldOpenEventStream_resumingFromLastEventId() throws Exception {
+            when(taskChangeFeed.subscribe("abc-42")).thenReturn(new SseEmitter());
+
+            mockMvc.perform(get("/tasks/events").header("Last-Event-ID", "abc-42"))
+                .andExpect(request().asyncStarted())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.TEXT_EVENT_STREAM));
+
+            verify(taskChangeFeed).subscribe("abc-42");
+            verifyNoInteractions(taskService);
+        }
+
+        @Test
+        void streamTaskEvents_shouldStartFreshStream_withoutLastEventId() throws Exception {
+            when(taskChangeFeed.subscribe(null)).thenReturn(new SseEmitter());
+
+            mockMvc.perform(get("/tasks/events"))
+                .andExpect(request().asyncStarted());
+
+            verify(taskChangeFeed).subscribe(null);
+        }
+    }
+
+    @Nested
+    @DisplayName("getTaskChanges tests")
+    class GetTaskChangesTests {
+        @Test
+        void getTaskChanges_shouldReturnChangesWithRecordedTaskJson() throws Exception {
+            // Arrange
+            UUID id = UUID.randomUUID();
+            TaskChange change = new TaskChange(7, TaskChangeEvent.Type.CREATED, id, Task.Status.PENDING,
+                                               "{\"id\":\"" + id + "\",\"title\":\"Review bundle\"}",
+                                               LocalDateTime.of(2025, 7, 2, 13, 30));
+            when(taskChangeLog.isEnabled()).thenReturn(true);
+            when(taskChangeLog.changesSince(6, 1)).thenReturn(new TaskChangesPage(List.of(change), 7, true));
+
+            // Act & Assert
+            mockMvc.perform(get("/tasks/changes").param("since", "6").param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-store"))
+                .andExpect(jsonPath("$.changes[0].sequence").value(7))
+                .andExpect(jsonPath("$.changes[0].type").value("CREATED"))
+                .andExpect(jsonPath("$.changes[0].task.title").value("Review bundle"))
+                .andExpect(jsonPath("$.next").value(7))
+                .andExpect(jsonPath("$.hasMore").value(true));
+        }
+
+        @Test
+        void getTaskChanges_shouldReturn410_whenChangesExpired() throws Exception {
+            when(taskChangeLog.isEnabled()).thenReturn(true);
+            when(taskChangeLog.changesSince(eq(3L), anyInt())).thenThrow(new ChangesExpiredException(3, 40));
+
+            mockMvc.perform(get("/tasks/changes").param("since", "3"))
+                .andExpect(status().isGone())
+                .andExpect(jsonPath("$.purgedThrough").value(40));
+        }
+
+        @Test
+        void getTaskChanges_shouldReturn404_whenChangeLogDisabled() throws Exception {
+            mockMvc.perform(get("/tasks/changes"))
+                .andExpect(status().isNotFound());
+
+            verify(taskChangeLog, never()).changesSince(anyLong(), anyInt());
         }
     }
 
@@ -144,16 +705,76 @@ public class TaskControllerUnitTest {
                 .andExpect(jsonPath("$.dueDateTime").value("2025-01-01T01:00:00"));
         }
 
+        @Test
+        void getTaskById_shouldReturnVersionAsETag() throws Exception {
+            UUID testId = UUID.randomUUID();
+            Task task = new Task(testId, "Task 1", "Description 1", Task.Status.PENDING, LocalDateTime.of(2025, 1, 1, 1, 0), 3L);
+            when(taskService.getTaskById(testId.toString())).thenReturn(task);
+
+            mockMvc.perform(get("/tasks/{id}", testId))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"3\""))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, private"));
+        }
+
+        @Test
+        void getTaskById_shouldReturn304_withoutLoadingTask_whenIfNoneMatchIsCurrent() throws Exception {
+            // Arrange - the stored version matches the client's ETag
+            UUID testId = UUID.randomUUID();
+            when(taskService.getTaskVersion(testId.toString())).thenReturn(3L);
+
+            // Act & Assert - no body is sent
+            mockMvc.perform(get("/tasks/{id}", testId)
+                            .header(HttpHeaders.IF_NONE_MATCH, "\"3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"3\""))
+                .andExpect(content().string(""));
+
+            // The task itself is never loaded
+            verify(taskService, never()).getTaskById(any());
+        }
+
+        @Test
+        void getTaskById_shouldReturnTask_whenIfNoneMatchIsStale() throws Exception {
+            // Arrange - the task has moved on to version 4
+            UUID testId = UUID.randomUUID();
+            Task task = new Task(testId, "Task 1", "Description 1", Task.Status.PENDING, LocalDateTime.of(2025, 1, 1, 1, 0), 4L);
+            when(taskService.getTaskVersion(testId.toString())).thenReturn(4L);
+            when(taskService.getTaskById(testId.toString())).thenReturn(task);
+
+            // Act & Assert
+            mockMvc.perform(get("/tasks/{id}", testId)
+                            .header(HttpHeaders.IF_NONE_MATCH, "\"3\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"4\""))
+                .andExpect(jsonPath("$.title").value("Task 1"));
+        }
+
         @Test
         void getTaskById_shouldReturn404_whenNotFound() throws Exception {
             // Arrange - create a UUID that does not exist in the mock service
             UUID testId = UUID.randomUUID();
             when(taskService.getTaskById(testId.toString())).thenThrow(new TaskNotFoundException(testId));
 
-            // Act & Assert - perform a GET request on the endpoint and check the response returns 404
+            // Act & Assert - perform a GET request on the endpoint and check the response is a 404 problem detail
             mockMvc.perform(get("/tasks/{id}", testId)
                             .contentType(MediaType.APPLICATION_JSON))
-                .andExpect(status().isNotFound());
+                .andExpect(status().isNotFound())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_PROBLEM_JSON))
+                .andExpect(jsonPath("$.status").value(404))
+                .andExpect(jsonPath("$.taskId").value(testId.toString()));
+        }
+
+        @Test
+        void getTaskById_shouldReturn503_whenDatabaseBusy() throws Exception {
+            // Arrange - the database bulkhead gave up waiting for a permit
+            UUID testId = UUID.randomUUID();
+            when(taskService.getTaskById(testId.toString())).thenThrow(new DatabaseBusyException(Duration.ofSeconds(5)));
+
+            // Act & Assert - the client is told to retry shortly
+            mockMvc.perform(get("/tasks/{id}", testId))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"));
         }
     }
 
@@ -170,7 +791,7 @@ public class TaskControllerUnitTest {
             Task updatedTask = new Task(testId, "Task 1", "Description 1", Task.Status.IN_PROGRESS, LocalDateTime.of(2025, 1, 1, 1, 0));
 
             // Mock the service to return the updated task
-            when(taskService.updateTaskStatus(testId.toString(), Task.Status.IN_PROGRESS)).thenReturn(updatedTask);
+            when(taskService.updateTaskStatus(testId.toString(), Task.Status.IN_PROGRESS, null)).thenReturn(updatedTask);
 
             // Act & Assert
             mockMvc.perform(patch("/tasks/{id}", testId)
@@ -188,7 +809,7 @@ public class TaskControllerUnitTest {
         void updateTaskStatus_shouldReturn404_whenNotFound() throws Exception {
             // Arrange - create a UUID that does not exist in the mock service
             UUID testId = UUID.randomUUID();
-            when(taskService.updateTaskStatus(testId.toString(), Task.Status.IN_PROGRESS)).thenThrow(new TaskNotFoundException(testId));
+            when(taskService.updateTaskStatus(testId.toString(), Task.Status.IN_PROGRESS, null)).thenThrow(new TaskNotFoundException(testId));
 
             // Act & Assert - perform a PATCH request on the endpoint and check the response returns 404
             mockMvc.perform(post("/tasks/{id}/status", testId)
@@ -196,6 +817,47 @@ public class TaskControllerUnitTest {
                             .content("{\"status\":\"IN_PROGRESS\"}"))
                 .andExpect(status().isNotFound());
         }
+        @Test
+        void updateTaskStatus_shouldPassIfMatchVersion_andReturnNewETag() throws Exception {
+            UUID testId = UUID.randomUUID();
+            Task updatedTask = new Task(testId, "Task 1", "Description 1", Task.Status.COMPLETED, LocalDateTime.of(2025, 1, 1, 1, 0), 4L);
+            when(taskService.updateTaskStatus(testId.toString(), Task.Status.COMPLETED, 3L)).thenReturn(updatedTask);
+
+            mockMvc.perform(patch("/tasks/{id}", testId)
+                                .header(HttpHeaders.IF_MATCH, "\"3\"")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content("{\"status\":\"COMPLETED\"}"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"4\""));
+        }
+
+        @Test
+        void updateTaskStatus_shouldReturn412_whenVersionConflicts() throws Exception {
+            UUID testId = UUID.randomUUID();
+            when(taskService.updateTaskStatus(testId.toString(), Task.Status.COMPLETED, 3L))
+                .thenThrow(new TaskVersionConflictException(testId, 3L));
+
+            mockMvc.perform(patch("/tasks/{id}", testId)
+                                .header(HttpHeaders.IF_MATCH, "\"3\"")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content("{\"status\":\"COMPLETED\"}"))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_PROBLEM_JSON))
+                .andExpect(jsonPath("$.expectedVersion").value(3));
+        }
+
+        @Test
+        void updateTaskStatus_shouldReturn400_whenIfMatchIsNotASingleETag() throws Exception {
+            UUID testId = UUID.randomUUID();
+
+            mockMvc.perform(patch("/tasks/{id}", testId)
+                                .header(HttpHeaders.IF_MATCH, "\"3\", \"4\"")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content("{\"status\":\"COMPLETED\"}"))
+                .andExpect(status().isBadRequest());
+
+            verify(taskService, never()).updateTaskStatus(any(), any(), any());
+        }
     }
 
     @Nested
@@ -212,19 +874,29 @@ public class TaskControllerUnitTest {
                 .andExpect(status().isNoContent());
 
             // Verify that the service method deleteTask was called once
-            verify(taskService, times(1)).deleteTask(testId.toString());
+            verify(taskService, times(1)).deleteTask(testId.toString(), null);
         }
 
         @Test
         void deleteTask_shouldReturn404_whenNotFound() throws Exception {
             // Arrange - create a UUID that does not exist in the mock service
             UUID testId = UUID.randomUUID();
-            doThrow(new TaskNotFoundException(testId)).when(taskService).deleteTask(testId.toString());
+            doThrow(new TaskNotFoundException(testId)).when(taskService).deleteTask(testId.toString(), null);
 
             // Act & Assert - perform a DELETE request on the endpoint and check the response returns 404
             mockMvc.perform(delete("/tasks/{id}", testId)
                             .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isNotFound());
         }
+
+        @Test
+        void deleteTask_shouldReturn412_whenVersionConflicts() throws Exception {
+            UUID testId = UUID.randomUUID();
+            doThrow(new TaskVersionConflictException(testId, 2L)).when(taskService).deleteTask(testId.toString(), 2L);
+
+            mockMvc.perform(delete("/tasks/{id}", testId)
+                            .header(HttpHeaders.IF_MATCH, "\"2\""))
+                .andExpect(status().isPreconditionFailed());
+        }
     }
 }
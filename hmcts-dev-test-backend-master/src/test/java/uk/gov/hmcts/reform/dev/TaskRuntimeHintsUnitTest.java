@@ -0,0 +1,28 @@
+package uk.gov.hmcts.reform.dev;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+import uk.gov.hmcts.reform.dev.config.TaskRuntimeHints;
+import uk.gov.hmcts.reform.dev.events.TaskChangeEvent;
+import uk.gov.hmcts.reform.dev.models.Task;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TaskRuntimeHintsUnitTest {
+
+    private final RuntimeHints hints = new RuntimeHints();
+
+    @Test
+    void registerHints_CoversJsonWrittenOutsideControllersAndTheMigrations() {
+        // Act
+        new TaskRuntimeHints().registerHints(hints, getClass().getClassLoader());
+
+        // Assert
+        assertThat(RuntimeHintsPredicates.reflection().onType(Task.class)).accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onType(TaskChangeEvent.class)).accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onType(TaskChangeEvent.Type.class)).accepts(hints);
+        assertThat(RuntimeHintsPredicates.resource().forResource("db/migration/postgresql/V1__create_task.sql"))
+            .accepts(hints);
+    }
+}
@@ -1,5 +1,7 @@
 package uk.gov.hmcts.reform.dev;
 
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
@@ -9,19 +11,48 @@ import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.jpa.domain.Specification;
+import uk.gov.hmcts.reform.dev.config.WriteProperties;
+import uk.gov.hmcts.reform.dev.dto.request.TaskField;
+import uk.gov.hmcts.reform.dev.dto.request.TaskQuery;
+import uk.gov.hmcts.reform.dev.dto.response.TaskFieldsPage;
+import uk.gov.hmcts.reform.dev.dto.response.TaskPage;
+import uk.gov.hmcts.reform.dev.dto.response.TaskSearchPage;
+import uk.gov.hmcts.reform.dev.dto.response.TaskSummary;
+import uk.gov.hmcts.reform.dev.events.TaskChangeEvent;
 import uk.gov.hmcts.reform.dev.exceptions.TaskNotFoundException;
+import uk.gov.hmcts.reform.dev.exceptions.TaskVersionConflictException;
 import uk.gov.hmcts.reform.dev.models.Task;
+import uk.gov.hmcts.reform.dev.models.TaskCursor;
+import uk.gov.hmcts.reform.dev.models.TaskSearchCursor;
+import uk.gov.hmcts.reform.dev.models.TaskSearchHit;
+import uk.gov.hmcts.reform.dev.models.TaskStatusCount;
 import uk.gov.hmcts.reform.dev.repositories.TaskRepository;
+import uk.gov.hmcts.reform.dev.services.PrimaryReads;
+import uk.gov.hmcts.reform.dev.services.TaskCache;
+import uk.gov.hmcts.reform.dev.services.TaskChangeLog;
+import uk.gov.hmcts.reform.dev.services.TaskSearchIndex;
 import uk.gov.hmcts.reform.dev.services.TaskService;
+import uk.gov.hmcts.reform.dev.services.TaskWriteBehind;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 @ExtendWith(MockitoExtension.class)
 class TaskServiceUnitTest {
@@ -30,28 +61,269 @@ class TaskServiceUnitTest {
     @Mock
     private TaskRepository taskRepository;
 
+    @Mock
+    private EntityManager entityManager;
+
+    // Unstubbed this reports useReturning() as false, i.e. UPDATE then read
+    @Mock
+    private WriteProperties writeProperties;
+
+    // Unstubbed every lookup is a cache miss
+    @Mock
+    private TaskCache taskCache;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    // Unstubbed nothing is waiting in the write-behind queue
+    @Mock
+    private TaskWriteBehind taskWriteBehind;
+
+    @Mock
+    private TaskSearchIndex taskSearchIndex;
+
+    @Mock
+    private TaskChangeLog taskChangeLog;
+
+    // Outside Spring there's no transaction to start, so reads just run
+    @Spy
+    private PrimaryReads primaryReads = new PrimaryReads();
+
     // Instantiate userService and inject mocks
     @InjectMocks
     private TaskService taskService;
 
     @Nested
-    @DisplayName("getAllTasks tests")
-    class GetAllTasksTests {
+    @DisplayName("getTasks tests")
+    class GetTasksTests {
         @Test
-        void getAllTasks_shouldReturnAllTasks() {
-            // Arrange
+        void getTasks_lastPage_ReturnsTasksWithoutCursor() {
+            // Arrange - fewer rows than the limit means there is no further page
             Task task1 = new Task(UUID.randomUUID(), "Task 1", "Description 1", Task.Status.PENDING, LocalDateTime.now());
             Task task2 = new Task(UUID.randomUUID(), "Task 2", "Description 2", Task.Status.IN_PROGRESS, LocalDateTime.now());
             List<Task> mockTasks = Arrays.asList(task1, task2);
 
-            when(taskRepository.findAll()).thenReturn(mockTasks);
+            when(taskRepository.findBy(ArgumentMatchers.<Specification<Task>>any(), any())).thenReturn(mockTasks);
 
             // Act
-            List<Task> result = taskService.getAllTasks();
+            TaskPage result = taskService.getTasks(TaskQuery.builder().limit(10).build());
 
             // Assert
-            assertThat(result).isEqualTo(mockTasks);
-            verify(taskRepository, times(1)).findAll();
+            assertThat(result.tasks()).isEqualTo(mockTasks);
+            assertThat(result.hasNext()).isFalse();
+            verify(taskRepository, never()).findAll();
+        }
+
+        @Test
+        void getTasks_moreRowsThanLimit_TrimsPageAndReturnsCursorForLastTask() {
+            // Arrange - the repository is asked for limit + 1 rows, the extra one signals a next page
+            Task task1 = new Task(UUID.randomUUID(), "Task 1", "Description 1", Task.Status.PENDING, LocalDateTime.of(2025, 1, 1, 9, 0));
+            Task task2 = new Task(UUID.randomUUID(), "Task 2", "Description 2", Task.Status.PENDING, LocalDateTime.of(2025, 1, 2, 9, 0));
+            Task task3 = new Task(UUID.randomUUID(), "Task 3", "Description 3", Task.Status.PENDING, LocalDateTime.of(2025, 1, 3, 9, 0));
+
+            when(taskRepository.findBy(ArgumentMatchers.<Specification<Task>>any(), any()))
+                .thenReturn(Arrays.asList(task1, task2, task3));
+
+            // Act
+            TaskPage result = taskService.getTasks(TaskQuery.builder().limit(2).build());
+
+            // Assert
+            assertThat(result.tasks()).containsExactly(task1, task2);
+            assertThat(TaskCursor.decode(result.nextCursor())).isEqualTo(TaskCursor.of(task2));
+        }
+
+        @Test
+        void getTasks_LastTaskOnPageHasNoDueDate_ReturnsCursorThatDecodes() {
+            // Arrange - tasks without a due date sort last, so one can end a page
+            Task dated = new Task(UUID.randomUUID(), "Task 1", "Description 1", Task.Status.PENDING, LocalDateTime.of(2025, 1, 1, 9, 0));
+            Task undated = new Task(UUID.randomUUID(), "Task 2", "Description 2", Task.Status.PENDING, null);
+            Task next = new Task(UUID.randomUUID(), "Task 3", "Description 3", Task.Status.PENDING, null);
+            when(taskRepository.findBy(ArgumentMatchers.<Specification<Task>>any(), any()))
+                .thenReturn(Arrays.asList(dated, undated, next));
+
+            // Act
+            TaskPage result = taskService.getTasks(TaskQuery.builder().limit(2).build());
+
+            // Assert
+            assertThat(TaskCursor.decode(result.nextCursor())).isEqualTo(new TaskCursor(null, undated.getId()));
+        }
+
+        @Test
+        void getTasks_FirstPageOfStatusColumn_LoadsThroughBoardCache() {
+            // Arrange - the board cache misses and falls through to the repository
+            Task task = new Task(UUID.randomUUID(), "Task 1", "Description 1", Task.Status.PENDING, LocalDateTime.now());
+            when(taskCache.boardPage(eq(Task.Status.PENDING), eq(10), ArgumentMatchers.<Supplier<TaskPage>>any()))
+                .thenAnswer(invocation -> invocation.<Supplier<TaskPage>>getArgument(2).get());
+            when(taskRepository.findBy(ArgumentMatchers.<Specification<Task>>any(), any())).thenReturn(List.of(task));
+
+            // Act
+            TaskPage result = taskService.getTasks(TaskQuery.builder().status(Task.Status.PENDING).limit(10).build());
+
+            // Assert
+            assertThat(result.tasks()).containsExactly(task);
+        }
+
+        @Test
+        void getTasks_LaterPageOfStatusColumn_BypassesBoardCache() {
+            // Arrange
+            Task task = new Task(UUID.randomUUID(), "Task 1", "Description 1", Task.Status.PENDING, LocalDateTime.now());
+            when(taskRepository.findBy(ArgumentMatchers.<Specification<Task>>any(), any())).thenReturn(List.of(task));
+
+            // Act
+            taskService.getTasks(TaskQuery.builder().status(Task.Status.PENDING).after(TaskCursor.of(task)).limit(10).build());
+
+            // Assert
+            verify(taskCache, never()).boardPage(any(), anyInt(), any());
+        }
+    }
+
+    @Nested
+    @DisplayName("getTaskFields tests")
+    class GetTaskFieldsTests {
+        @Test
+        void getTaskFields_MoreRowsThanLimit_ReturnsRequestedFieldsAndCursorFromKeysetColumns() {
+            // Arrange - the keyset columns come back even though only the title was asked for
+            LocalDateTime due = LocalDateTime.of(2025, 1, 1, 9, 0);
+            UUID firstId = UUID.randomUUID();
+            Tuple first = row(firstId, due, "Task 1");
+            Tuple second = row(UUID.randomUUID(), due.plusDays(1), "Task 2");
+            Set<TaskField> fields = EnumSet.of(TaskField.TITLE);
+            when(taskRepository.findFields(ArgumentMatchers.<Specification<Task>>any(), eq(fields), eq(2)))
+                .thenReturn(List.of(first, second));
+
+            // Act
+            TaskFieldsPage result = taskService.getTaskFields(TaskQuery.builder().limit(1).build(), fields);
+
+            // Assert
+            assertThat(result.tasks()).containsExactly(Map.of("title", "Task 1"));
+            assertThat(TaskCursor.decode(result.nextCursor())).isEqualTo(new TaskCursor(due, firstId));
+            verify(taskRepository, never()).findBy(ArgumentMatchers.<Specification<Task>>any(), any());
+        }
+
+        @Test
+        void getTaskFields_FirstPageOfStatusColumn_ProjectsCachedBoardPage() {
+            // Arrange
+            Task task = new Task(UUID.randomUUID(), "Task 1", "Description 1", Task.Status.PENDING, LocalDateTime.now());
+            when(taskCache.boardPage(eq(Task.Status.PENDING), eq(10), ArgumentMatchers.<Supplier<TaskPage>>any()))
+                .thenReturn(new TaskPage(List.of(task), null));
+
+            // Act
+            TaskFieldsPage result = taskService.getTaskFields(
+                TaskQuery.builder().status(Task.Status.PENDING).limit(10).build(),
+                EnumSet.of(TaskField.ID, TaskField.STATUS));
+
+            // Assert
+            assertThat(result.tasks()).containsExactly(Map.of("id", task.getId(), "status", Task.Status.PENDING));
+            verify(taskRepository, never()).findFields(any(), any(), anyInt());
+        }
+
+        private static Tuple row(UUID id, LocalDateTime dueDateTime, String title) {
+            Tuple row = mock(Tuple.class);
+            lenient().when(row.get("id", UUID.class)).thenReturn(id);
+            lenient().when(row.get("dueDateTime", LocalDateTime.class)).thenReturn(dueDateTime);
+            lenient().when(row.get("title")).thenReturn(title);
+            return row;
+        }
+    }
+
+    @Nested
+    @DisplayName("searchTasks tests")
+    class SearchTasksTests {
+        @Test
+        void searchTasks_moreHitsThanLimit_TrimsPageAndReturnsCursorForLastHit() {
+            // Arrange - the index is asked for limit + 1 hits, the extra one signals a next page
+            Task task1 = new Task(UUID.randomUUID(), "Review bundle", null, Task.Status.PENDING, LocalDateTime.now());
+            Task task2 = new Task(UUID.randomUUID(), "Bundle", "Review it", Task.Status.PENDING, LocalDateTime.now());
+            Task task3 = new Task(UUID.randomUUID(), "Other", "Review later", Task.Status.PENDING, LocalDateTime.now());
+            when(taskSearchIndex.search("review", null, null, 3)).thenReturn(List.of(
+                new TaskSearchHit(task1, 1.0f), new TaskSearchHit(task2, 0.4f), new TaskSearchHit(task3, 0.4f)));
+
+            // Act
+            TaskSearchPage result = taskService.searchTasks("review", null, null, 2);
+
+            // Assert
+            assertThat(result.tasks()).containsExactly(task1, task2);
+            assertThat(TaskSearchCursor.decode(result.nextCursor())).isEqualTo(new TaskSearchCursor(0.4f, task2.getId()));
+        }
+
+        @Test
+        void searchTasks_lastPage_ReturnsNoCursor() {
+            Task task = new Task(UUID.randomUUID(), "Review bundle", null, Task.Status.PENDING, LocalDateTime.now());
+            TaskSearchCursor after = new TaskSearchCursor(1.5f, UUID.randomUUID());
+            when(taskSearchIndex.search("review", Task.Status.PENDING, after, 11))
+                .thenReturn(List.of(new TaskSearchHit(task, 1.0f)));
+
+            TaskSearchPage result = taskService.searchTasks("review", Task.Status.PENDING, after, 10);
+
+            assertThat(result.tasks()).containsExactly(task);
+            assertThat(result.hasNext()).isFalse();
+        }
+    }
+
+    @Nested
+    @DisplayName("getSummary tests")
+    class GetSummaryTests {
+        @Test
+        void getSummary_CountsPerStatus_FillsMissingColumnsAndTotals() {
+            // Arrange - no completed tasks, so the GROUP BY has no row for that column
+            Task pending = new Task(UUID.randomUUID(), "Task 1", "Description 1", Task.Status.PENDING, LocalDateTime.now());
+            when(taskCache.boardSummary(eq(3), ArgumentMatchers.<Supplier<TaskSummary>>any()))
+                .thenAnswer(invocation -> invocation.<Supplier<TaskSummary>>getArgument(1).get());
+            when(taskCache.boardPage(any(), eq(3), ArgumentMatchers.<Supplier<TaskPage>>any()))
+                .thenAnswer(invocation -> invocation.<Supplier<TaskPage>>getArgument(2).get());
+            when(taskRepository.countByStatus(any())).thenReturn(List.of(
+                new TaskStatusCount(Task.Status.PENDING, 4, 1),
+                new TaskStatusCount(Task.Status.IN_PROGRESS, 2, 2)));
+            when(taskRepository.findBy(ArgumentMatchers.<Specification<Task>>any(), any())).thenReturn(List.of(pending));
+
+            // Act
+            TaskSummary summary = taskService.getSummary(3);
+
+            // Assert
+            assertThat(summary.total()).isEqualTo(6);
+            assertThat(summary.overdue()).isEqualTo(3);
+            assertThat(summary.columns().get(Task.Status.PENDING).nextDue()).containsExactly(pending);
+            assertThat(summary.columns().get(Task.Status.COMPLETED))
+                .isEqualTo(new TaskSummary.Column(0, 0, List.of()));
+            // One page query per non-empty column only
+            verify(taskRepository, times(2)).findBy(ArgumentMatchers.<Specification<Task>>any(), any());
+        }
+    }
+
+    @Nested
+    @DisplayName("exportTasks tests")
+    class ExportTasksTests {
+        @Test
+        void exportTasks_NoStatus_StreamsAllTasksAndDetachesEach() {
+            // Arrange
+            Task task1 = new Task(UUID.randomUUID(), "Task 1", "Description 1", Task.Status.PENDING, LocalDateTime.now());
+            Task task2 = new Task(UUID.randomUUID(), "Task 2", "Description 2", Task.Status.COMPLETED, LocalDateTime.now());
+            when(taskRepository.streamAll()).thenReturn(Stream.of(task1, task2));
+            List<Task> exported = new ArrayList<>();
+
+            // Act
+            long count = taskService.exportTasks(null, exported::add);
+
+            // Assert - every task reaches the sink and none are left in the persistence context
+            assertEquals(2, count);
+            assertThat(exported).containsExactly(task1, task2);
+            verify(entityManager).detach(task1);
+            verify(entityManager).detach(task2);
+            verify(taskRepository, never()).findAll();
+        }
+
+        @Test
+        void exportTasks_WithStatus_StreamsOnlyThatStatus() {
+            // Arrange
+            Task task = new Task(UUID.randomUUID(), "Task 1", "Description 1", Task.Status.PENDING, LocalDateTime.now());
+            when(taskRepository.streamByStatus(Task.Status.PENDING)).thenReturn(Stream.of(task));
+
+            // Act
+            long count = taskService.exportTasks(Task.Status.PENDING, t -> { });
+
+            // Assert
+            assertEquals(1, count);
+            verify(taskRepository, never()).streamAll();
         }
     }
 
@@ -81,6 +353,10 @@ class TaskServiceUnitTest {
             assertEquals(savedTask.getTitle(), result.getTitle());
             assertEquals(savedTask.getDescription(), result.getDescription());
             verify(taskRepository, times(1)).save(inputTask);
+            verify(taskCache).put(savedTask);
+            verify(taskCache).invalidateBoard();
+            verify(eventPublisher).publishEvent(TaskChangeEvent.created(savedTask));
+            verify(taskChangeLog).record(List.of(TaskChangeEvent.created(savedTask)));
         }
 
         @Test
@@ -91,34 +367,202 @@ class TaskServiceUnitTest {
         }
     }
 
+    @Nested
+    @DisplayName("batch operation tests")
+    class BatchTests {
+        @Test
+        public void createTasks_SavesAllTasksTogether() {
+            // Arrange
+            List<Task> tasks = List.of(new Task(), new Task());
+            when(taskRepository.saveAll(tasks)).thenReturn(tasks);
+
+            // Act
+            List<Task> result = taskService.createTasks(tasks);
+
+            // Assert - one saveAll rather than one save per task
+            assertThat(result).hasSize(2);
+            verify(taskRepository, times(1)).saveAll(tasks);
+            verify(taskRepository, never()).save(any());
+        }
+
+        @Test
+        public void updateTaskStatuses_IssuesOneUpdatePerStatus_AndReturnsExistingIds() {
+            // Arrange - two tasks move to COMPLETED, one (which doesn't exist) to PENDING
+            UUID completed1 = UUID.randomUUID();
+            UUID completed2 = UUID.randomUUID();
+            UUID missing = UUID.randomUUID();
+            Map<UUID, Task.Status> updates = new LinkedHashMap<>();
+            updates.put(completed1, Task.Status.COMPLETED);
+            updates.put(missing, Task.Status.PENDING);
+            updates.put(completed2, Task.Status.COMPLETED);
+
+            when(taskRepository.findExistingIds(List.of(completed1, completed2))).thenReturn(List.of(completed1, completed2));
+            when(taskRepository.findExistingIds(List.of(missing))).thenReturn(List.of());
+
+            // Act
+            Set<UUID> result = taskService.updateTaskStatuses(updates);
+
+            // Assert - no per-task reads or saves
+            assertThat(result).containsExactlyInAnyOrder(completed1, completed2);
+            verify(eventPublisher).publishEvent(TaskChangeEvent.statusChanged(completed1, Task.Status.COMPLETED));
+            verify(eventPublisher).publishEvent(TaskChangeEvent.statusChanged(completed2, Task.Status.COMPLETED));
+            verify(eventPublisher, never()).publishEvent(TaskChangeEvent.statusChanged(missing, Task.Status.PENDING));
+            verify(taskRepository).updateStatusByIdIn(List.of(completed1, completed2), Task.Status.COMPLETED);
+            verify(taskRepository).updateStatusByIdIn(List.of(missing), Task.Status.PENDING);
+            verify(taskRepository, never()).findById(any());
+            verify(taskRepository, never()).save(any());
+        }
+
+        @Test
+        public void deleteTasks_IssuesSetBasedDelete_AndReturnsExistingIds() {
+            // Arrange - duplicates are only deleted once
+            UUID existing = UUID.randomUUID();
+            UUID missing = UUID.randomUUID();
+            when(taskRepository.findExistingIds(List.of(existing, missing))).thenReturn(List.of(existing));
+
+            // Act
+            Set<UUID> result = taskService.deleteTasks(List.of(existing, missing, existing));
+
+            // Assert
+            assertThat(result).containsExactly(existing);
+            verify(taskRepository, times(1)).deleteByIdIn(List.of(existing, missing));
+            verify(taskChangeLog).record(List.of(TaskChangeEvent.deleted(existing)));
+            verify(taskRepository, never()).delete(any());
+        }
+
+        @Test
+        public void updateTaskStatuses_WithReturning_ReportsOnlyTheRowsTheUpdateChanged() {
+            // Arrange - the second task is deleted by someone else before the UPDATE reaches it
+            when(writeProperties.useReturning()).thenReturn(true);
+            UUID updated = UUID.randomUUID();
+            UUID deletedMeanwhile = UUID.randomUUID();
+            Map<UUID, Task.Status> updates = new LinkedHashMap<>();
+            updates.put(updated, Task.Status.COMPLETED);
+            updates.put(deletedMeanwhile, Task.Status.COMPLETED);
+            when(taskRepository.updateStatusByIdInReturning(List.of(updated, deletedMeanwhile), "COMPLETED"))
+                .thenReturn(List.of(updated));
+
+            // Act
+            Set<UUID> result = taskService.updateTaskStatuses(updates);
+
+            // Assert - one statement, and no separate lookup that could disagree with it
+            assertThat(result).containsExactly(updated);
+            verify(eventPublisher, never()).publishEvent(TaskChangeEvent.statusChanged(deletedMeanwhile,
+                                                                                       Task.Status.COMPLETED));
+            verify(taskRepository, never()).findExistingIds(any());
+            verify(taskRepository, never()).updateStatusByIdIn(any(), any());
+        }
+
+        @Test
+        public void deleteTasks_WithReturning_ReportsOnlyTheRowsTheDeleteRemoved() {
+            // Arrange - an overlapping batch delete already removed the second task
+            when(writeProperties.useReturning()).thenReturn(true);
+            UUID deleted = UUID.randomUUID();
+            UUID alreadyGone = UUID.randomUUID();
+            when(taskRepository.deleteByIdInReturning(List.of(deleted, alreadyGone))).thenReturn(List.of(deleted));
+
+            // Act
+            Set<UUID> result = taskService.deleteTasks(List.of(deleted, alreadyGone));
+
+            // Assert
+            assertThat(result).containsExactly(deleted);
+            verify(taskChangeLog).record(List.of(TaskChangeEvent.deleted(deleted)));
+            verify(taskRepository, never()).findExistingIds(any());
+            verify(taskRepository, never()).deleteByIdIn(any());
+        }
+    }
+
     @Nested
     @DisplayName("getTaskById tests")
     class GetTaskByIdTests {
+        @Test
+        public void getTaskVersion_ExistingTask_ReturnsVersionOnly() {
+            // Arrange
+            UUID testId = UUID.randomUUID();
+            when(taskRepository.findVersionById(testId)).thenReturn(Optional.of(5L));
+
+            // Act & Assert - the task itself is not loaded
+            assertEquals(5L, taskService.getTaskVersion(testId.toString()));
+            verify(taskRepository, never()).findById(any());
+        }
+
+        @Test
+        public void getTaskVersion_NonExistingTask_ThrowsTaskNotFoundException() {
+            // Arrange
+            UUID testId = UUID.randomUUID();
+            when(taskRepository.findVersionById(testId)).thenReturn(Optional.empty());
+
+            // Act & Assert
+            String testIdString = testId.toString();
+            assertThrows(TaskNotFoundException.class, () -> taskService.getTaskVersion(testIdString));
+        }
+
         @Test
         public void getTaskById_ExistingTask_ReturnsTask() {
             // Arrange
             UUID testId = UUID.randomUUID();
             Task expectedTask = new Task(testId, "Test Task", "Test Description", Task.Status.PENDING, LocalDateTime.now());
             when(taskRepository.findById(testId)).thenReturn(Optional.of(expectedTask));
+            loadThroughCache(testId);
 
             // Act
             String testIdString = testId.toString();
             Task result = taskService.getTaskById(testIdString);
 
-            // Assert
+            // Assert - loaded through the cache, which decides whether it can keep it
             assertNotNull(result);
             assertEquals(expectedTask.getId(), result.getId());
             assertEquals(expectedTask.getTitle(), result.getTitle());
             verify(taskRepository, times(1)).findById(testId);
+            verify(taskCache, never()).put(any());
         }
 
         @Test
-        public void getTaskById_NonExistingTask_ThrowsTaskNotFoundException() {
+        public void getTaskById_CachedTask_ReturnsWithoutQuerying() {
             // Arrange
-            UUID taskId = UUID.randomUUID();
+            UUID testId = UUID.randomUUID();
+            Task cachedTask = new Task(testId, "Test Task", "Test Description", Task.Status.PENDING, LocalDateTime.now());
+            when(taskCache.task(eq(testId), ArgumentMatchers.<Supplier<Task>>any())).thenReturn(cachedTask);
+
+            // Act
+            Task result = taskService.getTaskById(testId.toString());
+
+            // Assert
+            assertEquals(cachedTask, result);
+            verifyNoInteractions(taskRepository);
+        }
 
+        @Test
+        public void getTaskVersion_CachedTask_ReturnsCachedVersion() {
+            // Arrange
+            UUID testId = UUID.randomUUID();
+            Task cachedTask = new Task(testId, "Test Task", "Test Description", Task.Status.PENDING, LocalDateTime.now(), 4L);
+            when(taskCache.get(testId)).thenReturn(cachedTask);
+
+            // Act & Assert
+            assertEquals(4L, taskService.getTaskVersion(testId.toString()));
+            verifyNoInteractions(taskRepository);
+        }
 
+        @Test
+        public void getTaskById_QueuedTask_ReturnsItBeforeItIsWritten() {
+            // Arrange - accepted in write-behind mode, not in the cache or the database yet
+            UUID testId = UUID.randomUUID();
+            Task queuedTask = new Task(testId, "Test Task", "Test Description", Task.Status.PENDING, LocalDateTime.now(), 0L);
+            when(taskWriteBehind.pending(testId)).thenReturn(queuedTask);
+
+            // Act & Assert
+            assertEquals(queuedTask, taskService.getTaskById(testId.toString()));
+            assertEquals(0L, taskService.getTaskVersion(testId.toString()));
+            verifyNoInteractions(taskRepository);
+        }
+
+        @Test
+        public void getTaskById_NonExistingTask_ThrowsTaskNotFoundException() {
+            // Arrange
+            UUID taskId = UUID.randomUUID();
             when(taskRepository.findById(taskId)).thenReturn(Optional.empty());
+            loadThroughCache(taskId);
 
             // Act & Assert
             String taskIdString = taskId.toString();
@@ -126,6 +570,8 @@ class TaskServiceUnitTest {
                                                            () -> taskService.getTaskById(taskIdString));
 
             assertEquals(taskId, exception.getTaskId());
+            // Not-found is an expected outcome, so no stack trace is captured
+            assertEquals(0, exception.getStackTrace().length);
             verify(taskRepository, times(1)).findById(taskId);
         }
 
@@ -147,32 +593,52 @@ class TaskServiceUnitTest {
     @DisplayName("updateTaskStatus tests")
     class UpdateTaskStatusTests {
         @Test
-        public void updateTaskStatus_ValidIdAndStatus_ReturnsUpdatedTask() {
-            // Arrange
+        public void updateTaskStatus_ValidIdAndStatus_UpdatesWithoutLoadingFirst() {
+            // Arrange - the row is updated in place, then read back for the response
             UUID testId = UUID.randomUUID();
-            Task existingTask = new Task(testId, "Test Task", "Test Description", Task.Status.PENDING, LocalDateTime.now());
+            Task updatedTask = new Task(testId, "Test Task", "Test Description", Task.Status.COMPLETED, LocalDateTime.now());
             Task.Status newStatus = Task.Status.COMPLETED;
-            when(taskRepository.findById(testId)).thenReturn(Optional.of(existingTask));
-            when(taskRepository.save(existingTask)).thenReturn(existingTask);
+            when(taskRepository.updateStatusById(testId, newStatus)).thenReturn(1);
+            when(taskRepository.findById(testId)).thenReturn(Optional.of(updatedTask));
 
             // Act
             String testIdString = testId.toString();
             Task result = taskService.updateTaskStatus(testIdString, newStatus);
 
-            // Assert
+            // Assert - no read-modify-write through save()
             assertNotNull(result);
             assertEquals(newStatus, result.getStatus());
-            verify(taskRepository, times(1)).findById(testId);
-            verify(taskRepository, times(1)).save(existingTask);
+            verify(taskRepository, times(1)).updateStatusById(testId, newStatus);
+            verify(taskRepository, never()).save(any());
+            verify(taskCache).put(updatedTask);
+            verify(taskCache).invalidateBoard();
+            verify(eventPublisher).publishEvent(TaskChangeEvent.statusChanged(updatedTask));
         }
 
         @Test
-        public void updateTaskStatus_NonExistingTask_ThrowsTaskNotFoundException() {
+        public void updateTaskStatus_ReturningMode_UsesSingleStatement() {
             // Arrange
+            UUID testId = UUID.randomUUID();
+            Task updatedTask = new Task(testId, "Test Task", "Test Description", Task.Status.IN_PROGRESS, LocalDateTime.now());
+            when(writeProperties.useReturning()).thenReturn(true);
+            when(taskRepository.updateStatusReturning(testId, "IN_PROGRESS")).thenReturn(Optional.of(updatedTask));
+
+            // Act
+            Task result = taskService.updateTaskStatus(testId.toString(), Task.Status.IN_PROGRESS);
+
+            // Assert - the UPDATE ... RETURNING row is the response, nothing else is queried
+            assertEquals(updatedTask, result);
+            verify(taskRepository, never()).findById(any());
+            verify(taskRepository, never()).updateStatusById(any(), any());
+        }
+
+        @Test
+        public void updateTaskStatus_NonExistingTask_ThrowsTaskNotFoundException() {
+            // Arrange - no row updated
             UUID taskId = UUID.randomUUID();
             Task.Status newStatus = Task.Status.COMPLETED;
 
-            when(taskRepository.findById(taskId)).thenReturn(Optional.empty());
+            when(taskRepository.updateStatusById(taskId, newStatus)).thenReturn(0);
 
             // Act & Assert
             String taskIdString = taskId.toString();
@@ -180,7 +646,56 @@ class TaskServiceUnitTest {
                                                            () -> taskService.updateTaskStatus(taskIdString, newStatus));
 
             assertEquals(taskId, exception.getTaskId());
-            verify(taskRepository, times(1)).findById(taskId);
+            verify(taskRepository, never()).findById(any());
+        }
+
+        @Test
+        public void updateTaskStatus_ReturningModeNonExistingTask_ThrowsTaskNotFoundException() {
+            // Arrange - RETURNING produced no row
+            UUID taskId = UUID.randomUUID();
+            when(writeProperties.useReturning()).thenReturn(true);
+            when(taskRepository.updateStatusReturning(taskId, "COMPLETED")).thenReturn(Optional.empty());
+
+            // Act & Assert
+            String taskIdString = taskId.toString();
+            TaskNotFoundException exception = assertThrows(TaskNotFoundException.class,
+                                                           () -> taskService.updateTaskStatus(taskIdString, Task.Status.COMPLETED));
+
+            assertEquals(taskId, exception.getTaskId());
+        }
+
+        @Test
+        public void updateTaskStatus_StaleVersion_ThrowsTaskVersionConflictException() {
+            // Arrange - the conditional UPDATE misses but the task still exists
+            UUID taskId = UUID.randomUUID();
+            when(taskRepository.updateStatusByIdAndVersion(taskId, Task.Status.COMPLETED, 3L)).thenReturn(0);
+            when(taskRepository.existsById(taskId)).thenReturn(true);
+
+            // Act & Assert
+            String taskIdString = taskId.toString();
+            TaskVersionConflictException exception = assertThrows(
+                TaskVersionConflictException.class,
+                () -> taskService.updateTaskStatus(taskIdString, Task.Status.COMPLETED, 3L));
+
+            assertEquals(taskId, exception.getTaskId());
+            assertEquals(3L, exception.getExpectedVersion());
+            // The cached copy is stale, and must go even though the transaction rolls back
+            verify(taskCache).evictNow(taskId);
+            verify(taskCache, never()).put(any());
+            verifyNoInteractions(eventPublisher);
+        }
+
+        @Test
+        public void updateTaskStatus_VersionGivenButTaskMissing_ThrowsTaskNotFoundException() {
+            // Arrange - the conditional UPDATE misses because there is no such task
+            UUID taskId = UUID.randomUUID();
+            when(taskRepository.updateStatusByIdAndVersion(taskId, Task.Status.COMPLETED, 3L)).thenReturn(0);
+            when(taskRepository.existsById(taskId)).thenReturn(false);
+
+            // Act & Assert
+            String taskIdString = taskId.toString();
+            assertThrows(TaskNotFoundException.class,
+                         () -> taskService.updateTaskStatus(taskIdString, Task.Status.COMPLETED, 3L));
         }
 
         @Test
@@ -194,6 +709,7 @@ class TaskServiceUnitTest {
                          () -> taskService.updateTaskStatus(invalidId, newStatus));
 
             // Verify repository was never called with invalid ID
+            verify(taskRepository, never()).updateStatusById(any(), any());
             verify(taskRepository, never()).findById(any());
         }
     }
@@ -202,27 +718,29 @@ class TaskServiceUnitTest {
     @DisplayName("deleteTask tests")
     class DeleteTaskTests {
         @Test
-        public void deleteTask_ExistingTask_DeletesTask() {
+        public void deleteTask_ExistingTask_DeletesWithSingleStatement() {
             // Arrange
             UUID testId = UUID.randomUUID();
-            Task existingTask = new Task(testId, "Test Task", "Test Description", Task.Status.PENDING, LocalDateTime.now());
-            when(taskRepository.findById(testId)).thenReturn(Optional.of(existingTask));
+            when(taskRepository.deleteTaskById(testId)).thenReturn(1);
 
             // Act
             String testIdString = testId.toString();
             taskService.deleteTask(testIdString);
 
-            // Assert
-            verify(taskRepository, times(1)).findById(testId);
-            verify(taskRepository, times(1)).delete(existingTask);
+            // Assert - no SELECT before the DELETE
+            verify(taskRepository, times(1)).deleteTaskById(testId);
+            verify(taskRepository, never()).findById(any());
+            verify(taskCache).evict(testId);
+            verify(taskCache).invalidateBoard();
+            verify(eventPublisher).publishEvent(TaskChangeEvent.deleted(testId));
         }
 
         @Test
         public void deleteTask_NonExistingTask_ThrowsTaskNotFoundException() {
-            // Arrange
+            // Arrange - no row deleted
             UUID taskId = UUID.randomUUID();
 
-            when(taskRepository.findById(taskId)).thenReturn(Optional.empty());
+            when(taskRepository.deleteTaskById(taskId)).thenReturn(0);
 
             // Act & Assert
             String taskIdString = taskId.toString();
@@ -230,7 +748,33 @@ class TaskServiceUnitTest {
                                                            () -> taskService.deleteTask(taskIdString));
 
             assertEquals(taskId, exception.getTaskId());
-            verify(taskRepository, times(1)).findById(taskId);
+            verify(taskRepository, times(1)).deleteTaskById(taskId);
+        }
+
+        @Test
+        public void deleteTask_CurrentVersion_DeletesConditionally() {
+            // Arrange
+            UUID testId = UUID.randomUUID();
+            when(taskRepository.deleteTaskByIdAndVersion(testId, 2L)).thenReturn(1);
+
+            // Act
+            taskService.deleteTask(testId.toString(), 2L);
+
+            // Assert
+            verify(taskRepository, never()).deleteTaskById(any());
+            verify(taskRepository, never()).existsById(any());
+        }
+
+        @Test
+        public void deleteTask_StaleVersion_ThrowsTaskVersionConflictException() {
+            // Arrange
+            UUID testId = UUID.randomUUID();
+            when(taskRepository.deleteTaskByIdAndVersion(testId, 2L)).thenReturn(0);
+            when(taskRepository.existsById(testId)).thenReturn(true);
+
+            // Act & Assert
+            String testIdString = testId.toString();
+            assertThrows(TaskVersionConflictException.class, () -> taskService.deleteTask(testIdString, 2L));
         }
 
         @Test
@@ -243,7 +787,13 @@ class TaskServiceUnitTest {
                          () -> taskService.deleteTask(invalidId));
 
             // Verify repository was never called with invalid ID
-            verify(taskRepository, never()).findById(any());
+            verify(taskRepository, never()).deleteTaskById(any());
         }
     }
+
+    // A cache miss - the cache runs the service's loader
+    private void loadThroughCache(UUID id) {
+        when(taskCache.task(eq(id), ArgumentMatchers.<Supplier<Task>>any()))
+            .thenAnswer(invocation -> invocation.<Supplier<Task>>getArgument(1).get());
+    }
 }
@@ -0,0 +1,164 @@
+package uk.gov.hmcts.reform.dev;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import uk.gov.hmcts.reform.dev.config.DatabaseBulkhead;
+import uk.gov.hmcts.reform.dev.config.DatabaseBulkheadProperties;
+import uk.gov.hmcts.reform.dev.config.WriteBehindProperties;
+import uk.gov.hmcts.reform.dev.exceptions.DatabaseBusyException;
+import uk.gov.hmcts.reform.dev.models.Task;
+import uk.gov.hmcts.reform.dev.repositories.TaskRepository;
+import uk.gov.hmcts.reform.dev.services.TaskCache;
+import uk.gov.hmcts.reform.dev.services.TaskChangeLog;
+import uk.gov.hmcts.reform.dev.services.TaskWriteBehind;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class TaskWriteBehindUnitTest {
+
+    private final TaskRepository taskRepository = mock(TaskRepository.class);
+
+    private final TaskCache taskCache = mock(TaskCache.class);
+
+    private final ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+
+    // Copies of every batch passed to insertAll, in order
+    private final List<List<Task>> inserted = new ArrayList<>();
+
+    private TaskWriteBehind writeBehind;
+
+    @AfterEach
+    void tearDown() {
+        writeBehind.stop();
+    }
+
+    @Test
+    void stop_QueuedTasks_WritesThemInBatchesBeforeReturning() {
+        // Arrange - a long linger, so nothing is written until batches fill or we stop
+        start(new WriteBehindProperties(true, 100, 3, Duration.ofSeconds(10), null, null));
+        recordInserts();
+        List<Task> submitted = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            submitted.add(writeBehind.submit(task("Task " + i)));
+        }
+        assertThat(writeBehind.pending(submitted.get(0).getId())).isSameAs(submitted.get(0));
+
+        // Act
+        writeBehind.stop();
+
+        // Assert - every task written once, at most three to a transaction, and no longer pending
+        assertThat(inserted).allSatisfy(batch -> assertThat(batch).hasSizeLessThanOrEqualTo(3));
+        assertThat(inserted.stream().flatMap(List::stream)).containsExactlyElementsOf(submitted);
+        assertThat(submitted).allSatisfy(task -> {
+            assertThat(task.getVersion()).isZero();
+            assertThat(writeBehind.pending(task.getId())).isNull();
+            verify(taskCache).put(task);
+        });
+    }
+
+    @Test
+    void submit_QueueStaysFull_ThrowsDatabaseBusyException() throws InterruptedException {
+        // Arrange - the flusher is stuck writing the first task, and the second fills the queue
+        start(new WriteBehindProperties(true, 1, 1, Duration.ZERO, Duration.ofMillis(20), null));
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            writing.countDown();
+            return release.await(5, TimeUnit.SECONDS);
+        }).when(taskRepository).insertAll(anyList());
+        writeBehind.submit(task("Task 1"));
+        assertThat(writing.await(5, TimeUnit.SECONDS)).isTrue();
+        writeBehind.submit(task("Task 2"));
+
+        // Act & Assert
+        Task rejected = task("Task 3");
+        assertThrows(DatabaseBusyException.class, () -> writeBehind.submit(rejected));
+        assertThat(writeBehind.pending(rejected.getId())).isNull();
+        release.countDown();
+    }
+
+    @Test
+    void stop_DatabaseRejectsOneTask_DropsOnlyThatTask() {
+        // Arrange - any insert that includes the bad task violates a constraint
+        start(new WriteBehindProperties(true, 100, 10, Duration.ofSeconds(10), null, null));
+        doAnswer(invocation -> {
+            List<Task> batch = invocation.getArgument(0);
+            if (batch.stream().anyMatch(task -> "Bad".equals(task.getTitle()))) {
+                throw new DataIntegrityViolationException("constraint");
+            }
+            inserted.add(List.copyOf(batch));
+            return null;
+        }).when(taskRepository).insertAll(anyList());
+        Task good = writeBehind.submit(task("Good"));
+        Task bad = writeBehind.submit(task("Bad"));
+
+        // Act
+        writeBehind.stop();
+
+        // Assert
+        assertThat(inserted).containsExactly(List.of(good));
+        assertThat(writeBehind.pending(bad.getId())).isNull();
+        verify(taskCache, never()).put(bad);
+    }
+
+    @Test
+    void stop_EventListenerFailsAfterCommit_WritesTheBatchOnce() {
+        // Arrange - publishing fails after the insert has committed, as a cluster notification would with the
+        // database gone
+        start(new WriteBehindProperties(true, 100, 10, Duration.ofSeconds(10), null, null));
+        recordInserts();
+        doThrow(new IllegalStateException("notify failed")).when(eventPublisher).publishEvent(any(Object.class));
+        Task first = writeBehind.submit(task("First"));
+        Task second = writeBehind.submit(task("Second"));
+
+        // Act
+        writeBehind.stop();
+
+        // Assert - not inserted again or dropped, and every task's event was still tried
+        assertThat(inserted).containsExactly(List.of(first, second));
+        assertThat(writeBehind.pending(first.getId())).isNull();
+        verify(taskCache).put(first);
+        verify(taskCache).put(second);
+        verify(eventPublisher, times(2)).publishEvent(any(Object.class));
+    }
+
+    private void start(WriteBehindProperties properties) {
+        writeBehind = new TaskWriteBehind(properties, taskRepository, taskCache, mock(TaskChangeLog.class),
+                                          mock(PlatformTransactionManager.class),
+                                          new DatabaseBulkhead(new DatabaseBulkheadProperties(4, null, 0),
+                                                               new SimpleMeterRegistry()),
+                                          eventPublisher, new SimpleMeterRegistry());
+        writeBehind.start();
+    }
+
+    private void recordInserts() {
+        doAnswer(invocation -> {
+            inserted.add(List.copyOf(invocation.getArgument(0)));
+            return null;
+        }).when(taskRepository).insertAll(anyList());
+    }
+
+    private static Task task(String title) {
+        return new Task(null, title, null, Task.Status.PENDING, LocalDateTime.of(2025, 5, 1, 12, 0));
+    }
+}
@@ -9,6 +9,7 @@ import { Button } from "./ui/button";
 import { GripVertical } from "lucide-react";
 import { ScrollArea, ScrollBar } from "./ui/scroll-area";
 import { CreateTaskForm } from "./forms/createTaskForm";
+import type { ColumnSummary } from "../services/taskService";
 
 export interface Column {
   id: UniqueIdentifier;
@@ -25,10 +26,11 @@ export interface ColumnDragData {
 interface BoardColumnProps {
   column: Column;
   tasks: Task[];
+  summary?: ColumnSummary;
   isOverlay?: boolean;
 }
 
-export function BoardColumn({ column, tasks, isOverlay }: BoardColumnProps) {
+export function BoardColumn({ column, tasks, summary, isOverlay }: BoardColumnProps) {
   const tasksIds = useMemo(() => {
     return tasks.map((task) => task.id);
   }, [tasks]);
@@ -88,6 +90,12 @@ export function BoardColumn({ column, tasks, isOverlay }: BoardColumnProps) {
           <GripVertical />
         </Button>
         <span className="ml-auto"> {column.title}</span>
+        {summary && (
+          <span className="ml-2 text-sm font-normal text-primary/70">
+            {summary.count}
+            {summary.overdue > 0 && <span className="ml-1 text-red-600">({summary.overdue} overdue)</span>}
+          </span>
+        )}
       </CardHeader>
       <ScrollArea>
         <CardContent className="flex flex-grow flex-col gap-2 p-2">
@@ -25,7 +25,8 @@ import { hasDraggableData } from "./utils";
 import { coordinateGetter } from "./multipleContainersKeyboardPreset";
 
 import { useEffect } from "react";
-import { getAllTasks, updateTaskStatus } from "../services/taskService";
+import { getAllTasks, getTaskSummary, subscribeToTaskChanges, updateTaskStatus } from "../services/taskService";
+import type { ColumnSummary } from "../services/taskService";
 
 const defaultCols = [
   {
@@ -51,6 +52,8 @@ export function KanbanBoard() {
 
   const [tasks, setTasks] = useState<Task[]>([]);
 
+  const [summary, setSummary] = useState<Partial<Record<ColumnId, ColumnSummary>>>({});
+
   const [activeColumn, setActiveColumn] = useState<Column | null>(null);
 
   const [activeTask, setActiveTask] = useState<Task | null>(null);
@@ -73,10 +76,40 @@ export function KanbanBoard() {
       }
     }
 
-    fetchTasks();
+    // Column counts and overdue counts come from the server's summary, refreshed once a burst of changes settles
+    let summaryTimer: ReturnType<typeof setTimeout> | undefined;
+    function scheduleSummary() {
+      clearTimeout(summaryTimer);
+      summaryTimer = setTimeout(fetchSummary, 250);
+    }
+
+    async function fetchSummary() {
+      try {
+        const columnSummary = await getTaskSummary();
+        if (isMounted) {
+          setSummary(columnSummary);
+        }
+      } catch (error) {
+        console.error("Error fetching task summary:", error);
+      }
+    }
+
+    // The board is loaded when the change stream is ready (and again if it falls behind),
+    // then kept up to date by the changes the server pushes rather than by polling
+    const unsubscribe = subscribeToTaskChanges(() => {
+      fetchTasks();
+      fetchSummary();
+    }, (update) => {
+      if (isMounted) {
+        setTasks(update);
+        scheduleSummary();
+      }
+    });
 
     return () => {
       isMounted = false; // Cleanup to prevent memory leaks
+      clearTimeout(summaryTimer);
+      unsubscribe();
     };
   }, []);
 
@@ -209,6 +242,7 @@ export function KanbanBoard() {
               key={col.id}
               column={col}
               tasks={tasks.filter((task) => task.columnId === col.id)}
+              summary={summary[col.id]}
             />
           ))}
         </SortableContext>
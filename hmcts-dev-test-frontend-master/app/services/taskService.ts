@@ -10,6 +10,31 @@ interface ServerTask {
 	dueDateTime: string;
 }
 
+// Form of a change pushed by the server on GET /tasks/events
+interface ServerTaskChange {
+	type: 'CREATED' | 'STATUS_CHANGED' | 'DELETED';
+	id: string;
+	status?: ServerTask['status'];
+	task?: ServerTask;
+}
+
+// Form of GET /tasks/summary - counts per status, how many are overdue and the first tasks due in each
+interface ServerTaskSummary {
+	asOf: string;
+	total: number;
+	overdue: number;
+	columns: Record<ServerTask['status'], { count: number; overdue: number; nextDue: ServerTask[] }>;
+}
+
+// Counts for one column of the board (see getTaskSummary function)
+export interface ColumnSummary {
+	count: number;
+	overdue: number;
+}
+
+// Function that applies a change to the tasks on the board (see subscribeToTaskChanges function)
+export type TaskUpdater = (tasks: Task[]) => Task[];
+
 // Object used to convert server task status to column id (see convertServerTaskToTask function)
 const statusMap: Record<ServerTask['status'], ColumnId> = {
 	PENDING: 'pending',
@@ -35,12 +60,50 @@ function convertServerTaskToTask(serverTask: ServerTask): Task {
 	};
 }
 
+// Most times a read is retried after the server asks the app to slow down (see fetchWithBackoff function)
+const MAX_RETRIES = 5;
+
+// Longest wait between retries, whatever Retry-After says
+const MAX_RETRY_DELAY_MS = 30_000;
+
+// Fetches a URL, waiting and trying again when the server answers 429 Too Many Requests or 503 Service Unavailable
+// Waits as long as the Retry-After header asks (in seconds), or doubles the wait each time if there isn't one
+// Only used for reads, which are safe to send again
+async function fetchWithBackoff(url: string): Promise<Response> {
+	let delayMs = 1000;
+	for (let attempt = 0; ; attempt++) {
+		const response = await fetch(url);
+		if ((response.status !== 429 && response.status !== 503) || attempt >= MAX_RETRIES) {
+			return response;
+		}
+		const retryAfter = Number(response.headers.get('Retry-After'));
+		const waitMs = Math.min(retryAfter > 0 ? retryAfter * 1000 : delayMs, MAX_RETRY_DELAY_MS);
+		await new Promise((resolve) => setTimeout(resolve, waitMs));
+		delayMs = Math.min(delayMs * 2, MAX_RETRY_DELAY_MS);
+	}
+}
+
 // RETRIEVE ALL TASKS
+// The server returns tasks a page at a time and sends the cursor for the next page in the X-Next-Cursor header
 export async function getAllTasks(): Promise<Task[]> {
 	try {
-		const response = await fetch(`http://localhost:${process.env.NEXT_PUBLIC_PORT}/tasks`);
-		const serverTasks: ServerTask[] = await response.json();
-		return serverTasks.map(convertServerTaskToTask);
+		const tasks: Task[] = [];
+		let cursor: string | null = null;
+		do {
+			const params = new URLSearchParams({ limit: '500' });
+			if (cursor) {
+				params.set('cursor', cursor);
+			}
+			// A large board takes many pages, so it may run into the server's rate limit part way through
+			const response = await fetchWithBackoff(`http://localhost:${process.env.NEXT_PUBLIC_PORT}/tasks?${params}`);
+			if (!response.ok) {
+				throw new Error('Failed to fetch tasks');
+			}
+			const serverTasks: ServerTask[] = await response.json();
+			tasks.push(...serverTasks.map(convertServerTaskToTask));
+			cursor = response.headers.get('X-Next-Cursor');
+		} while (cursor);
+		return tasks;
 	} catch (error: unknown) {
 		if (error instanceof Error) {
 			throw new Error("Failed to fetch tasks: " + error.message);
@@ -50,6 +113,30 @@ export async function getAllTasks(): Promise<Task[]> {
 	}
 }
 
+// RETRIEVE THE BOARD SUMMARY
+// Per column counts from one small server-side query, rather than counting a full download of the tasks
+export async function getTaskSummary(): Promise<Record<ColumnId, ColumnSummary>> {
+	try {
+		const response = await fetchWithBackoff(`http://localhost:${process.env.NEXT_PUBLIC_PORT}/tasks/summary?limit=1`);
+		if (!response.ok) {
+			throw new Error('Failed to fetch task summary');
+		}
+		const summary: ServerTaskSummary = await response.json();
+		const columns = {} as Record<ColumnId, ColumnSummary>;
+		(Object.keys(statusMap) as ServerTask['status'][]).forEach((status) => {
+			const column = summary.columns[status];
+			columns[statusMap[status]] = { count: column?.count ?? 0, overdue: column?.overdue ?? 0 };
+		});
+		return columns;
+	} catch (error: unknown) {
+		if (error instanceof Error) {
+			throw new Error("Failed to fetch task summary: " + error.message);
+		} else {
+			throw new Error("Failed to fetch task summary: An unknown error occurred");
+		}
+	}
+}
+
 // CREATE A NEW TASK
 export async function createTask(task: createTaskDto): Promise<Task> {
 	try {
@@ -122,3 +209,63 @@ export async function deleteTask(taskId: string): Promise<void> {
 		}
 	}
 }
+
+// SUBSCRIBE TO TASK CHANGES
+// Opens the server's change stream instead of polling. onReload is called when the stream is ready and whenever the
+// server says changes were missed - the caller should load the whole board then. Every change after that is passed
+// to onChange as a function to apply to the current tasks. The browser reconnects on its own and resumes where it left off
+// Returns a function that closes the stream
+export function subscribeToTaskChanges(onReload: () => void, onChange: (update: TaskUpdater) => void): () => void {
+	const source = new EventSource(`http://localhost:${process.env.NEXT_PUBLIC_PORT}/tasks/events`);
+	let ready = false;
+
+	const reload = () => {
+		ready = true;
+		onReload();
+	};
+	source.addEventListener('ready', reload);
+	source.addEventListener('resync', reload);
+
+	const applyChange = (event: MessageEvent<string>) => {
+		const change: ServerTaskChange = JSON.parse(event.data);
+		onChange((tasks) => applyTaskChange(tasks, change));
+	};
+	source.addEventListener('created', applyChange);
+	source.addEventListener('status-changed', applyChange);
+	source.addEventListener('deleted', applyChange);
+
+	// The browser gave up without the stream ever opening (e.g. an older server) - load the board once instead
+	source.onerror = () => {
+		if (source.readyState === EventSource.CLOSED && !ready) {
+			reload();
+		}
+	};
+
+	return () => source.close();
+}
+
+// Applies one change from the server to the tasks on the board, keeping the board's order
+function applyTaskChange(tasks: Task[], change: ServerTaskChange): Task[] {
+	switch (change.type) {
+		case 'CREATED':
+		case 'STATUS_CHANGED': {
+			const existing = tasks.find((task) => task.id === change.id);
+			if (change.task) {
+				const updated = convertServerTaskToTask(change.task);
+				return existing
+					? tasks.map((task) => (task.id === change.id ? updated : task))
+					: [...tasks, updated];
+			}
+			// Batch status updates only carry the new status
+			if (existing && change.status) {
+				const columnId = statusMap[change.status];
+				return tasks.map((task) => (task.id === change.id ? { ...task, columnId } : task));
+			}
+			return tasks;
+		}
+		case 'DELETED':
+			return tasks.filter((task) => task.id !== change.id);
+		default:
+			return tasks;
+	}
+}